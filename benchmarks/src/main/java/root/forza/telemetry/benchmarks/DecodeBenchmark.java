@@ -0,0 +1,88 @@
+package root.forza.telemetry.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import root.forza.telemetry.ForzaTelemetryApi;
+import root.forza.telemetry.ForzaTelemetryFrame;
+import root.forza.telemetry.ForzaTelemetryView;
+
+import java.util.concurrent.TimeUnit;
+
+//Cost of turning one packet into values. Run with -prof gc to see the allocation rate per packet.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecodeBenchmark {
+    private byte[] bytes;
+    private ForzaTelemetryFrame frame;
+    private ForzaTelemetryView view;
+    private ForzaTelemetryApi api;
+
+    @Setup
+    public void setup() throws Exception {
+        bytes = SamplePacket.load();
+        frame = new ForzaTelemetryFrame();
+        view = new ForzaTelemetryView();
+        api = new ForzaTelemetryApi(bytes);
+    }
+
+    //What every listener paid per packet before the frame existed, the baseline for everything below
+    @Benchmark
+    public Object legacyConstructor() throws Exception {
+        return new LegacyTelemetryApi(bytes);
+    }
+
+    //The compatibility layer: ForzaTelemetryApi decoded through a frame, what onDataReceived listeners pay now
+    @Benchmark
+    public ForzaTelemetryApi apiConstructor() throws Exception {
+        return new ForzaTelemetryApi(bytes);
+    }
+
+    @Benchmark
+    public ForzaTelemetryFrame frameNew() {
+        return new ForzaTelemetryFrame(bytes);
+    }
+
+    @Benchmark
+    public ForzaTelemetryFrame frameReused() {
+        return frame.decode(bytes, bytes.length);
+    }
+
+    //The typical dashboard: a handful of fields through the boxed compatibility getters
+    @Benchmark
+    public void apiFiveGetters(Blackhole bh) {
+        bh.consume(api.getCurrentEngineRpm());
+        bh.consume(api.getSpeedKph());
+        bh.consume(api.getPositionX());
+        bh.consume(api.getPositionY());
+        bh.consume(api.getPositionZ());
+    }
+
+    //Same handful of fields, decoded on demand straight from the packet
+    @Benchmark
+    public void viewFiveFields(Blackhole bh) {
+        view.wrap(bytes, bytes.length);
+        bh.consume(view.getCurrentEngineRpm());
+        bh.consume(view.getSpeedKph());
+        bh.consume(view.getPositionX());
+        bh.consume(view.getPositionY());
+        bh.consume(view.getPositionZ());
+    }
+
+    @Benchmark
+    public String apiToString() {
+        return api.toString();
+    }
+}
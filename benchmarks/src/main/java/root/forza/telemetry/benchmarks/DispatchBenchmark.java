@@ -0,0 +1,100 @@
+package root.forza.telemetry.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import root.forza.telemetry.ForzaDispatcher;
+import root.forza.telemetry.ForzaInterface;
+import root.forza.telemetry.ForzaTelemetryApi;
+import root.forza.telemetry.ForzaTelemetryFrame;
+import root.forza.telemetry.ForzaTelemetryView;
+import root.forza.telemetry.VehicleData;
+
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+//Session state machine plus callback for one packet, per listener style, without any socket involved
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+    private ByteBuffer packet;
+    private SocketAddress sender;
+    private ForzaDispatcher apiDispatcher;
+    private ForzaDispatcher frameDispatcher;
+    private ForzaDispatcher viewDispatcher;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        packet = ByteBuffer.wrap(SamplePacket.load());
+        sender = new InetSocketAddress(InetAddress.getLoopbackAddress(), 5300);
+        apiDispatcher = new ForzaDispatcher(new Listener(bh));
+        frameDispatcher = new ForzaDispatcher(new Listener(bh) {
+            @Override
+            public void onFrame(ForzaTelemetryFrame frame) {
+                bh.consume(frame.getCurrentEngineRpm());
+            }
+        });
+        viewDispatcher = new ForzaDispatcher(new Listener(bh) {
+            @Override
+            public void onView(ForzaTelemetryView view) {
+                bh.consume(view.getCurrentEngineRpm());
+            }
+        });
+    }
+
+    @Benchmark
+    public void onDataReceived() {
+        apiDispatcher.onPacket(packet, sender);
+    }
+
+    @Benchmark
+    public void onFrame() {
+        frameDispatcher.onPacket(packet, sender);
+    }
+
+    @Benchmark
+    public void onView() {
+        viewDispatcher.onPacket(packet, sender);
+    }
+
+    static class Listener implements ForzaInterface {
+        private final Blackhole bh;
+
+        Listener(Blackhole bh) {
+            this.bh = bh;
+        }
+
+        @Override
+        public void onDataReceived(ForzaTelemetryApi api) {
+            bh.consume(api.getCurrentEngineRpm());
+        }
+
+        @Override
+        public void onConnected(ForzaTelemetryApi api, DatagramPacket packet) {}
+
+        @Override
+        public void onGamePaused() {}
+
+        @Override
+        public void onGameUnpaused() {}
+
+        @Override
+        public void onCarChanged(ForzaTelemetryApi api, VehicleData data) {}
+    }
+}
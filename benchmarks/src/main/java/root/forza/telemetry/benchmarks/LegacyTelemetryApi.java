@@ -0,0 +1,243 @@
+package root.forza.telemetry.benchmarks;
+
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.text.DecimalFormat;
+
+//Copy of the decoder ForzaTelemetryApi used before ForzaTelemetryFrame existed: boxed fields read one after the
+//other through the generic getFromBuffer, plus a DecimalFormat per packet. Only kept as the benchmark baseline.
+class LegacyTelemetryApi {
+    public static final int PACKET_SIZE = 323;
+    private final boolean isRaceOn;
+    private final Long timeStampMS;
+    private final Float engineMaxRpm;
+    private final Float engineIdleRpm;
+    private final Float currentEngineRpm;
+    private final Float accelerationX;
+    private final Float accelerationY;
+    private final Float accelerationZ;
+    private final Float velocityX;
+    private final Float velocityY;
+    private final Float velocityZ;
+    private final Float angularVelocityX;
+    private final Float angularVelocityY;
+    private final Float angularVelocityZ;
+    private final Float yaw;
+    private final Float pitch;
+    private final Float roll;
+    private final Float normalizedSuspensionTravelFrontLeft;
+    private final Float normalizedSuspensionTravelFrontRight;
+    private final Float normalizedSuspensionTravelRearLeft;
+    private final Float normalizedSuspensionTravelRearRight;
+    private final Float tireSlipRatioFrontLeft;
+    private final Float tireSlipRatioFrontRight;
+    private final Float tireSlipRatioRearLeft;
+    private final Float tireSlipRatioRearRight;
+    private final Float wheelRotationSpeedFrontLeft;
+    private final Float wheelRotationSpeedFrontRight;
+    private final Float wheelRotationSpeedRearLeft;
+    private final Float wheelRotationSpeedRearRight;
+    private final Integer wheelOnRumbleStripFrontLeft;
+    private final Integer wheelOnRumbleStripFrontRight;
+    private final Integer wheelOnRumbleStripRearLeft;
+    private final Integer wheelOnRumbleStripRearRight;
+    private final Float wheelInPuddleDepthFrontLeft;
+    private final Float wheelInPuddleDepthFrontRight;
+    private final Float wheelInPuddleDepthRearLeft;
+    private final Float wheelInPuddleDepthRearRight;
+    private final Float surfaceRumbleFrontLeft;
+    private final Float surfaceRumbleFrontRight;
+    private final Float surfaceRumbleRearLeft;
+    private final Float surfaceRumbleRearRight;
+    private final Float tireSlipAngleFrontLeft;
+    private final Float tireSlipAngleFrontRight;
+    private final Float tireSlipAngleRearLeft;
+    private final Float tireSlipAngleRearRight;
+    private final Float tireCombinedSlipFrontLeft;
+    private final Float tireCombinedSlipFrontRight;
+    private final Float tireCombinedSlipRearLeft;
+    private final Float tireCombinedSlipRearRight;
+    private final Float suspensionTravelMetersFrontLeft;
+    private final Float suspensionTravelMetersFrontRight;
+    private final Float suspensionTravelMetersRearLeft;
+    private final Float suspensionTravelMetersRearRight;
+    private final Integer carClass;
+    private final Integer carPerformanceIndex;
+    private final Integer drivetrainType;
+    private final Integer numOfCylinders;
+    private final Integer carType;
+    private final Long objectHit;
+
+    //private final Byte unknown3;
+    //private final Byte unknown4;
+    //private final Byte unknown5;
+    //private final Byte unknown6;
+    //private final Byte unknown7;
+    //private final Byte unknown8;
+    private final Integer ordinal;
+    private final Float positionX;
+    private final Float positionY;
+    private final Float positionZ;
+    private final Float speed;
+    private final Float power;
+    private final Float torque;
+    private final Float tireTempFrontLeft;
+    private final Float tireTempFrontRight;
+    private final Float tireTempRearLeft;
+    private final Float tireTempRearRight;
+    private final Float boost;
+    private final Float fuel;
+    private final Float distanceTraveled;
+    private final Float bestLap;
+    private final Float lastLap;
+    private final Float currentLap;
+    private final Float currentRaceTime;
+    private final Short lapNumber;
+    private final Byte racePosition;
+    private final Byte throttle;
+    private final Byte brake;
+    private final Byte clutch;
+    private final Byte handbrake;
+    private final Byte gear;
+    private final Byte steer;
+    private final Byte normalizedDrivingLine;
+    private final Byte normalizedAIBrakeDifference;
+
+    DecimalFormat df;
+
+    LegacyTelemetryApi(byte[] bytes) throws Exception {
+        //Check that all 323 bytes were received
+        if (bytes.length < PACKET_SIZE) {
+            try {
+                throw new Exception("Invalid byte length");
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        //Set decimal formatting
+        df = new DecimalFormat("###.##");
+        df.setRoundingMode(RoundingMode.DOWN);
+        //Wrap bytes in a ByteBuffer for faster parsing. The encoding is in Little Endian
+        ByteBuffer bb = ByteBuffer.wrap(bytes);
+        bb.order(ByteOrder.LITTLE_ENDIAN);
+
+        //Set data by going through the bytebuffer
+        isRaceOn = getFromBuffer(bb, int.class) == 1;
+        timeStampMS = getFromBuffer(bb, long.class);
+        engineMaxRpm = getFromBuffer(bb, float.class);
+        engineIdleRpm = getFromBuffer(bb, float.class);
+        currentEngineRpm = getFromBuffer(bb, float.class);
+        accelerationX = getFromBuffer(bb, float.class);
+        accelerationY = getFromBuffer(bb, float.class);
+        accelerationZ = getFromBuffer(bb, float.class);
+        velocityX = getFromBuffer(bb, float.class);
+        velocityY = getFromBuffer(bb, float.class);
+        velocityZ = getFromBuffer(bb, float.class);
+        angularVelocityX = getFromBuffer(bb, float.class);
+        angularVelocityY = getFromBuffer(bb, float.class);
+        angularVelocityZ = getFromBuffer(bb, float.class);
+        yaw = getFromBuffer(bb, float.class);
+        pitch = getFromBuffer(bb, float.class);
+        roll = getFromBuffer(bb, float.class);
+        normalizedSuspensionTravelFrontLeft = getFromBuffer(bb, float.class);
+        normalizedSuspensionTravelFrontRight = getFromBuffer(bb, float.class);
+        normalizedSuspensionTravelRearLeft = getFromBuffer(bb, float.class);
+        normalizedSuspensionTravelRearRight = getFromBuffer(bb, float.class);
+        tireSlipRatioFrontLeft = getFromBuffer(bb, float.class);
+        tireSlipRatioFrontRight = getFromBuffer(bb, float.class);
+        tireSlipRatioRearLeft = getFromBuffer(bb, float.class);
+        tireSlipRatioRearRight = getFromBuffer(bb, float.class);
+        wheelRotationSpeedFrontLeft = getFromBuffer(bb, float.class);
+        wheelRotationSpeedFrontRight = getFromBuffer(bb, float.class);
+        wheelRotationSpeedRearLeft = getFromBuffer(bb, float.class);
+        wheelRotationSpeedRearRight = getFromBuffer(bb, float.class);
+        wheelOnRumbleStripFrontLeft = getFromBuffer(bb, int.class);
+        wheelOnRumbleStripFrontRight = getFromBuffer(bb, int.class);
+        wheelOnRumbleStripRearLeft = getFromBuffer(bb, int.class);
+        wheelOnRumbleStripRearRight = getFromBuffer(bb, int.class);
+        wheelInPuddleDepthFrontLeft = getFromBuffer(bb, float.class);
+        wheelInPuddleDepthFrontRight = getFromBuffer(bb, float.class);
+        wheelInPuddleDepthRearLeft = getFromBuffer(bb, float.class);
+        wheelInPuddleDepthRearRight = getFromBuffer(bb, float.class);
+        surfaceRumbleFrontLeft = getFromBuffer(bb, float.class);
+        surfaceRumbleFrontRight = getFromBuffer(bb, float.class);
+        surfaceRumbleRearLeft = getFromBuffer(bb, float.class);
+        surfaceRumbleRearRight = getFromBuffer(bb, float.class);
+        tireSlipAngleFrontLeft = getFromBuffer(bb, float.class);
+        tireSlipAngleFrontRight = getFromBuffer(bb, float.class);
+        tireSlipAngleRearLeft = getFromBuffer(bb, float.class);
+        tireSlipAngleRearRight = getFromBuffer(bb, float.class);
+        tireCombinedSlipFrontLeft = getFromBuffer(bb, float.class);
+        tireCombinedSlipFrontRight = getFromBuffer(bb, float.class);
+        tireCombinedSlipRearLeft = getFromBuffer(bb, float.class);
+        tireCombinedSlipRearRight = getFromBuffer(bb, float.class);
+        suspensionTravelMetersFrontLeft = getFromBuffer(bb, float.class);
+        suspensionTravelMetersFrontRight = getFromBuffer(bb, float.class);
+        suspensionTravelMetersRearLeft = getFromBuffer(bb, float.class);
+        suspensionTravelMetersRearRight = getFromBuffer(bb, float.class);
+        ordinal = getFromBuffer(bb, int.class);
+        carClass = getFromBuffer(bb, int.class);
+        carPerformanceIndex = getFromBuffer(bb, int.class);
+        drivetrainType = getFromBuffer(bb, int.class);
+        numOfCylinders = getFromBuffer(bb, int.class);
+        carType = getFromBuffer(bb, int.class);
+        objectHit = getFromBuffer(bb);
+        positionX = getFromBuffer(bb, float.class);
+        positionY = getFromBuffer(bb, float.class);
+        positionZ = getFromBuffer(bb, float.class);
+        speed = getFromBuffer(bb, float.class);
+        power = getFromBuffer(bb, float.class);
+        torque = getFromBuffer(bb, float.class);
+        tireTempFrontLeft = getFromBuffer(bb, float.class);
+        tireTempFrontRight = getFromBuffer(bb, float.class);
+        tireTempRearLeft = getFromBuffer(bb, float.class);
+        tireTempRearRight = getFromBuffer(bb, float.class);
+        boost = getFromBuffer(bb, float.class);
+        fuel = getFromBuffer(bb, float.class);
+        distanceTraveled = getFromBuffer(bb, float.class);
+        bestLap = getFromBuffer(bb, float.class);
+        lastLap = getFromBuffer(bb, float.class);
+        currentLap = getFromBuffer(bb, float.class);
+        currentRaceTime = getFromBuffer(bb, float.class);
+        lapNumber = getFromBuffer(bb, short.class);
+        racePosition = getFromBuffer(bb, byte.class);
+        throttle = getFromBuffer(bb, byte.class);
+        brake = getFromBuffer(bb, byte.class);
+        clutch = getFromBuffer(bb, byte.class);
+        handbrake = getFromBuffer(bb, byte.class);
+        gear = getFromBuffer(bb, byte.class);
+        steer = getFromBuffer(bb, byte.class);
+        normalizedDrivingLine = getFromBuffer(bb, byte.class);
+        normalizedAIBrakeDifference = getFromBuffer(bb, byte.class);
+    }
+
+    //Method to check if selected type length is not overflowing the length of the bytebuffer
+    private static boolean checkBuffer(ByteBuffer buffer, int size) {
+        return buffer.hasRemaining() && buffer.remaining() >= size;
+    }
+
+    //Return data if requirements are met, sets default value to 0 otherwise
+    @SuppressWarnings("unchecked")
+    private static <T> T getFromBuffer(ByteBuffer buffer, Class<T> type) throws Exception {
+        switch (type.getName()) {
+            case "int":
+                return (T) (checkBuffer(buffer, 4) ? (Object) buffer.getInt() : 0);
+            case "long":
+                return (T) (checkBuffer(buffer, 4) ? (Object) Integer.toUnsignedLong(buffer.getInt()) : 0L);
+            case "byte":
+                return (T) (checkBuffer(buffer, 1) ? (Object) buffer.get() : 0);
+            case "float":
+                return (T) (checkBuffer(buffer, 4) ? (Object) buffer.getFloat() : 0f);
+            case "short":
+                return (T) (checkBuffer(buffer, 2) ? (Object) buffer.getShort() : 0);
+        }
+        throw new Exception("Invalid Type");
+    }
+
+    //Object hit workaround. Unknown what this is yet. Forza Mystery!
+    @SuppressWarnings("unchecked")
+    private static <T> T getFromBuffer(ByteBuffer buffer) {
+        return (T) (checkBuffer(buffer, 8) ? (Object) buffer.getLong() : 0L);
+    }
+}
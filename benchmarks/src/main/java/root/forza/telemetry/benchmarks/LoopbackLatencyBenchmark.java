@@ -0,0 +1,119 @@
+package root.forza.telemetry.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import root.forza.telemetry.ForzaDispatcher;
+import root.forza.telemetry.ForzaInterface;
+import root.forza.telemetry.ForzaNioReceiver;
+import root.forza.telemetry.ForzaSocketReceiver;
+import root.forza.telemetry.ForzaTelemetryApi;
+import root.forza.telemetry.ForzaTelemetryView;
+import root.forza.telemetry.VehicleData;
+
+import java.io.Closeable;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
+
+//Send to callback latency over a loopback UDP socket, for the blocking socket and the selector receiver
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoopbackLatencyBenchmark {
+    @Param({"socket", "nio"})
+    public String receiver;
+
+    @Param("45399")
+    public int port;
+
+    private final Listener listener = new Listener();
+    private Closeable running;
+    private Thread thread;
+    private DatagramChannel sender;
+    private ByteBuffer packet;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ForzaDispatcher dispatcher = new ForzaDispatcher(listener);
+        Runnable loop;
+        if (receiver.equals("nio")) {
+            ForzaNioReceiver nio = new ForzaNioReceiver().register(port, dispatcher);
+            running = nio;
+            loop = nio;
+        } else {
+            ForzaSocketReceiver socket = new ForzaSocketReceiver(port, dispatcher);
+            running = socket;
+            loop = socket;
+        }
+        thread = new Thread(loop, "forza-benchmark-receiver");
+        thread.setDaemon(true);
+        thread.start();
+        sender = DatagramChannel.open();
+        sender.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        packet = ByteBuffer.wrap(SamplePacket.load());
+        //Wait until the receiver is bound and the session is connected
+        while (listener.received == 0) {
+            packet.clear();
+            sender.write(packet);
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        sender.close();
+        running.close();
+        thread.join(1000);
+    }
+
+    @Benchmark
+    public long sendToCallback() throws Exception {
+        long before = listener.received;
+        packet.clear();
+        sender.write(packet);
+        long now;
+        while ((now = listener.received) == before) Thread.onSpinWait();
+        return now;
+    }
+
+    static class Listener implements ForzaInterface {
+        volatile long received;
+
+        @Override
+        public void onView(ForzaTelemetryView view) {
+            received++;
+        }
+
+        @Override
+        public void onDataReceived(ForzaTelemetryApi api) {}
+
+        @Override
+        public void onConnected(ForzaTelemetryApi api, DatagramPacket packet) {}
+
+        @Override
+        public void onGamePaused() {}
+
+        @Override
+        public void onGameUnpaused() {}
+
+        @Override
+        public void onCarChanged(ForzaTelemetryApi api, VehicleData data) {}
+    }
+}
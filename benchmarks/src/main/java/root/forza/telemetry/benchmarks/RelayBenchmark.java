@@ -0,0 +1,74 @@
+package root.forza.telemetry.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import root.forza.telemetry.ForzaRelay;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Time the receive thread spends relaying one packet to every destination over loopback, no listener attached
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RelayBenchmark {
+    @Param({"1", "3", "8"})
+    public int destinations;
+
+    private final List<DatagramChannel> sinks = new ArrayList<>();
+    private final ByteBuffer drain = ByteBuffer.allocate(1024);
+    private ForzaRelay relay;
+    private ByteBuffer packet;
+    private SocketAddress sender;
+
+    @Setup
+    public void setup() throws Exception {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (int i = 0; i < destinations; i++) {
+            DatagramChannel sink = DatagramChannel.open();
+            sink.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            sink.configureBlocking(false);
+            sinks.add(sink);
+            addresses.add((InetSocketAddress) sink.getLocalAddress());
+        }
+        relay = new ForzaRelay(addresses);
+        packet = ByteBuffer.wrap(SamplePacket.load());
+        sender = new InetSocketAddress(InetAddress.getLoopbackAddress(), 5300);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        relay.close();
+        for (DatagramChannel sink : sinks) sink.close();
+    }
+
+    @Benchmark
+    public long relay() throws Exception {
+        relay.onPacket(packet, sender);
+        //Keeps the sink buffers from filling up, otherwise the kernel drops and the sends get cheaper
+        for (DatagramChannel sink : sinks) {
+            drain.clear();
+            sink.receive(drain);
+        }
+        return relay.getSent();
+    }
+}
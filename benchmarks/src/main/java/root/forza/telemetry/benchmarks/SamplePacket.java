@@ -0,0 +1,25 @@
+package root.forza.telemetry.benchmarks;
+
+import root.forza.telemetry.ForzaTelemetryApi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+//Loads metadata/sample_bytes.txt, a Java array dump of one real packet, padded to the full packet size
+final class SamplePacket {
+    private SamplePacket() {}
+
+    static byte[] load() {
+        try (InputStream in = SamplePacket.class.getResourceAsStream("/sample_bytes.txt")) {
+            if (in == null) throw new IllegalStateException("sample_bytes.txt is missing from the classpath");
+            String[] values = new String(in.readAllBytes(), StandardCharsets.US_ASCII).replaceAll("[\\[\\]\\s]", "").split(",");
+            byte[] bytes = new byte[ForzaTelemetryApi.PACKET_SIZE];
+            for (int i = 0; i < values.length && i < bytes.length; i++) bytes[i] = Byte.parseByte(values[i]);
+            return bytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package root.forza.telemetry;
+
+//carType field of the packet, the car's category in the Autoshow
+public enum CarCategory {
+    MODERN_SUPER_CARS(11, "Modern Super Cars"),
+    RETRO_SUPER_CARS(12, "Retro Super Cars"),
+    HYPER_CARS(13, "Hyper Cars"),
+    RETRO_SALOONS(14, "Retro Saloons"),
+    VANS_AND_UTILITY(16, "Vans & Utility"),
+    RETRO_SPORTS_CARS(17, "Retro Sports Cars"),
+    MODERN_SPORTS_CARS(18, "Modern Sports Cars"),
+    SUPER_SALOONS(19, "Super Saloons"),
+    CLASSIC_RACERS(20, "Classic Racers"),
+    CULT_CARS(21, "Cult Cars"),
+    RARE_CLASSICS(22, "Rare Classics"),
+    SUPER_HOT_HATCH(25, "Super Hot Hatch"),
+    RODS_AND_CUSTOMS(29, "Rods & Customs"),
+    RETRO_MUSCLE(30, "Retro Muscle"),
+    MODERN_MUSCLE(31, "Modern Muscle"),
+    RETRO_RALLY(32, "Retro Rally"),
+    CLASSIC_RALLY(33, "Classic Rally"),
+    RALLY_MONSTERS(34, "Rally Monsters"),
+    MODERN_RALLY(35, "Modern Rally"),
+    GT_CARS(36, "GT Cars"),
+    SUPER_GT(37, "Super GT"),
+    EXTREME_OFFROAD(38, "Extreme Offroad"),
+    SPORTS_UTILITY_HEROES(39, "Sports Utility Heroes"),
+    OFFROAD(40, "Offroad"),
+    OFFROAD_BUGGIES(41, "Offroad Buggies"),
+    CLASSIC_SPORTS_CARS(42, "Classic Sports Cars"),
+    TRACK_TOYS(43, "Track Toys"),
+    VINTAGE_RACERS(44, "Vintage Racers"),
+    TRUCKS(45, "Trucks"),
+    UNKNOWN(-1, "Unknown");
+
+    private static final CarCategory[] BY_CODE = new CarCategory[64];
+    //"Unknown (code)" strings, built once per code so an unknown car does not allocate every packet
+    private static final String[] UNKNOWN_NAMES = new String[256];
+
+    static {
+        for (CarCategory category : values()) {
+            if (category.code >= 0) BY_CODE[category.code] = category;
+        }
+    }
+
+    private final int code;
+    private final String displayName;
+
+    CarCategory(int code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    public static CarCategory fromCode(int code) {
+        CarCategory category = code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        return category != null ? category : UNKNOWN;
+    }
+
+    //Display name of any code, "Unknown (code)" when it is not a known category. Codes outside 0-255 come from
+    //garbage packets and are not cached, they all share the plain "Unknown"
+    public static String getDisplayName(int code) {
+        CarCategory category = fromCode(code);
+        if (category != UNKNOWN) return category.displayName;
+        if (code >= 0 && code < UNKNOWN_NAMES.length) {
+            //Racy but harmless, at worst two equal strings are built
+            String name = UNKNOWN_NAMES[code];
+            if (name == null) UNKNOWN_NAMES[code] = name = "Unknown (" + code + ")";
+            return name;
+        }
+        return UNKNOWN.displayName;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
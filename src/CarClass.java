@@ -0,0 +1,35 @@
+package root.forza.telemetry;
+
+//carClass field of the packet. Display names are the letters shown in game
+public enum CarClass {
+    D(0, "D"),
+    C(1, "C"),
+    B(2, "B"),
+    A(3, "A"),
+    S1(4, "S1"),
+    S2(5, "S2"),
+    X(6, "X"),
+    UNKNOWN(-1, "-");
+
+    private static final CarClass[] BY_CODE = {D, C, B, A, S1, S2, X};
+
+    private final int code;
+    private final String displayName;
+
+    CarClass(int code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    public static CarClass fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : UNKNOWN;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,31 @@
+package root.forza.telemetry;
+
+//drivetrainType field of the packet
+public enum Drivetrain {
+    FWD(0, "FWD"),
+    RWD(1, "RWD"),
+    AWD(2, "AWD"),
+    UNKNOWN(-1, "-");
+
+    private static final Drivetrain[] BY_CODE = {FWD, RWD, AWD};
+
+    private final int code;
+    private final String displayName;
+
+    Drivetrain(int code, String displayName) {
+        this.code = code;
+        this.displayName = displayName;
+    }
+
+    public static Drivetrain fromCode(int code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : UNKNOWN;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
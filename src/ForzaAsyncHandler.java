@@ -0,0 +1,84 @@
+package root.forza.telemetry;
+
+import java.io.Closeable;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.LockSupport;
+
+//Decouples the socket from the listeners. The receive thread only copies the packet into a ForzaRingBuffer,
+//a separate dispatch thread drains it and runs the downstream handler, so a slow listener no longer stalls receive().
+//The dispatch thread is started with the first packet and stopped by close().
+public class ForzaAsyncHandler implements ForzaPacketHandler, Runnable, Closeable {
+    private final ForzaRingBuffer ring;
+    private final ForzaPacketHandler downstream;
+    private final ByteBuffer buffer = ByteBuffer.allocate(ForzaRingBuffer.SLOT_SIZE);
+    private volatile Thread consumer;
+    private volatile boolean waiting, closed;
+
+    public ForzaAsyncHandler(ForzaPacketHandler downstream, int capacity, ForzaRingBuffer.OverflowPolicy policy) {
+        this.downstream = downstream;
+        this.ring = new ForzaRingBuffer(capacity, policy);
+    }
+
+    public ForzaAsyncHandler(ForzaInterface listener, int capacity, ForzaRingBuffer.OverflowPolicy policy) {
+        this(new ForzaDispatcher(listener), capacity, policy);
+    }
+
+    @Override
+    public void onPacket(ByteBuffer packet, SocketAddress sender) {
+        if (closed) return;
+        if (consumer == null) start();
+        ring.offer(packet, sender);
+        if (waiting) LockSupport.unpark(consumer);
+    }
+
+    private synchronized void start() {
+        if (consumer != null) return;
+        Thread thread = new Thread(this, "forza-dispatch");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        long deadline = NO_DEADLINE;
+        while (!closed) {
+            SocketAddress sender = ring.poll(buffer);
+            if (sender == null) {
+                waiting = true;
+                //Re-check after publishing the flag so a packet offered in between is not left waiting.
+                //Sleeps until onPacket or close() unparks it, or until the downstream deadline, e.g. a batch
+                //reaching its latency bound
+                if (ring.isEmpty()) {
+                    if (deadline == NO_DEADLINE) LockSupport.park(this);
+                    else LockSupport.parkNanos(this, Math.max(0, deadline - System.nanoTime()));
+                }
+                waiting = false;
+            } else {
+                try {
+                    downstream.onPacket(buffer, sender);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+            try {
+                deadline = downstream.tick(System.nanoTime());
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public ForzaRingBuffer getRingBuffer() {
+        return ring;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        ring.close();
+        Thread thread = consumer;
+        if (thread != null) LockSupport.unpark(thread);
+    }
+}
@@ -0,0 +1,127 @@
+package root.forza.telemetry;
+
+import java.net.DatagramPacket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//Dispatcher variant that collects frames into a ForzaTelemetryBatch and hands them out through onDataBatch.
+//Every sender has its own batch, so consoles sharing a port are never mixed within one (see getSender()).
+//A batch is delivered when it is full, when its first frame is maxLatencyMs old (checked on every packet and by
+//the receiver's tick() when no packet comes) and right before that sender's onGamePaused / onCarChanged so
+//callbacks stay in order.
+public class ForzaBatchDispatcher implements ForzaPacketHandler {
+    private final ForzaTelemetryView view = new ForzaTelemetryView();
+    private final ForzaInterface listener;
+    private final int batchSize;
+    private final long maxLatencyNanos;
+    //One per sender, dropped once the sender's session is gone and its batch delivered
+    private final Map<SocketAddress, Collector> collectors = new HashMap<>();
+    private final ForzaSessionTable sessions;
+    private final long sweepIntervalNanos;
+    private long lastSweepNanos = System.nanoTime();
+
+    public ForzaBatchDispatcher(ForzaInterface listener, int batchSize, long maxLatencyMs) {
+        this(listener, batchSize, maxLatencyMs, ForzaSessionTable.DEFAULT_IDLE_TIMEOUT_MS);
+    }
+
+    public ForzaBatchDispatcher(ForzaInterface listener, int batchSize, long maxLatencyMs, long idleTimeoutMs) {
+        this.listener = listener;
+        this.batchSize = batchSize;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMs);
+        this.sweepIntervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs) / 4, TimeUnit.MILLISECONDS.toNanos(100));
+        this.sessions = new ForzaSessionTable(sender -> collectors.computeIfAbsent(sender, Collector::new), idleTimeoutMs);
+    }
+
+    @Override
+    public void onPacket(ByteBuffer packet, SocketAddress sender) {
+        sessions.get(sender).accept(view.wrap(packet), sender);
+        long now = System.nanoTime();
+        Collector collector = collectors.get(sender);
+        if (collector != null && collector.batch.size() > 0
+                && (collector.batch.isFull() || now - collector.firstFrameNanos >= maxLatencyNanos)) {
+            collector.flush();
+        }
+        if (now - lastSweepNanos >= sweepIntervalNanos) {
+            lastSweepNanos = now;
+            collectors.values().removeIf(c -> c.batch.size() == 0 && !sessions.contains(c.sender));
+        }
+    }
+
+    @Override
+    public long tick(long nowNanos) {
+        long deadline = NO_DEADLINE;
+        for (Collector collector : collectors.values()) {
+            if (collector.batch.size() == 0) continue;
+            if (nowNanos - collector.firstFrameNanos >= maxLatencyNanos) collector.flush();
+            else deadline = Math.min(deadline, collector.firstFrameNanos + maxLatencyNanos);
+        }
+        return deadline;
+    }
+
+    public ForzaSessionTable getSessions() {
+        return sessions;
+    }
+
+    @Override
+    public void flush() {
+        for (Collector collector : collectors.values()) collector.flush();
+    }
+
+    //Session callbacks are forwarded as is, only the per packet data is collected
+    private final class Collector implements ForzaInterface {
+        private final SocketAddress sender;
+        private final ForzaTelemetryBatch batch;
+        private long firstFrameNanos;
+
+        Collector(SocketAddress sender) {
+            this.sender = sender;
+            this.batch = new ForzaTelemetryBatch(batchSize, sender);
+        }
+
+        void flush() {
+            if (batch.size() == 0) return;
+            try {
+                listener.onDataBatch(batch, batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+
+        @Override
+        public void onView(ForzaTelemetryView view) {
+            if (batch.isFull()) flush();
+            if (batch.size() == 0) firstFrameNanos = System.nanoTime();
+            batch.add(view);
+        }
+
+        @Override
+        public void onDataReceived(ForzaTelemetryApi api) {
+            listener.onDataReceived(api);
+        }
+
+        @Override
+        public void onConnected(ForzaTelemetryApi api, DatagramPacket packet) {
+            listener.onConnected(api, packet);
+        }
+
+        @Override
+        public void onGamePaused() {
+            flush();
+            listener.onGamePaused();
+        }
+
+        @Override
+        public void onGameUnpaused() {
+            listener.onGameUnpaused();
+        }
+
+        @Override
+        public void onCarChanged(ForzaTelemetryApi api, VehicleData data) {
+            flush();
+            listener.onCarChanged(api, data);
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package root.forza.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+//Streams frames as JSON to browser overlays and other tools over Server-Sent Events or WebSocket, one thread and
+//one Selector for every client. A client picks its fields and a maximum rate in the URL:
+//  GET /stream?fields=speed,currentEngineRpm,gear&hz=20   (EventSource, or a WebSocket upgrade of the same URL)
+//  GET /fields                                             (JSON array of every field name, see ForzaField)
+//Clients asking for the same fields over the same protocol share a projection, each frame is encoded once per
+//projection and the same bytes are written to all of them. The listener side only copies the frame and wakes
+//the selector, so it is safe to add inline. A client whose socket can't keep up skips frames until it has
+//caught up, it never holds up the others. Only the newest frame is kept, rates above the game's are not possible.
+//A connection that has not sent its request and received the response within HANDSHAKE_TIMEOUT_MS is dropped.
+public class ForzaBroadcastServer implements ForzaInterface, Runnable, Closeable {
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int MAX_REQUEST_SIZE = 8192;
+    //Frames arrive every ~17 ms, without some slack a 20 Hz client would only be due every fourth frame
+    private static final long RATE_SLACK_NANOS = TimeUnit.MILLISECONDS.toNanos(4);
+    static final long HANDSHAKE_TIMEOUT_MS = 5_000;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Map<String, Projection> projections = new HashMap<>();
+    private final List<Client> clients = new ArrayList<>();
+    //Connections in accept order, so the oldest handshake deadline is always at the head
+    private final ArrayDeque<Client> handshakes = new ArrayDeque<>();
+    //Written by the listener thread under the lock, copied out by the server thread
+    private final ForzaTelemetryFrame published = new ForzaTelemetryFrame();
+    private final ForzaTelemetryFrame frame = new ForzaTelemetryFrame();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(MAX_REQUEST_SIZE);
+    private long publishedSequence, sentSequence;
+    private volatile int clientCount;
+    private volatile long dropped;
+    private volatile boolean closed;
+    //Set once run() owns the selector, from then on it closes every socket when it ends
+    private boolean running;
+
+    public ForzaBroadcastServer(int port) throws IOException {
+        this(new InetSocketAddress(port));
+    }
+
+    public ForzaBroadcastServer(InetSocketAddress address) throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        try {
+            server.bind(address);
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            server.close();
+            selector.close();
+            throw e;
+        }
+    }
+
+    //Runs the server on a daemon thread, stopped by close()
+    public ForzaBroadcastServer start() {
+        Thread thread = new Thread(this, "forza-broadcast");
+        thread.setDaemon(true);
+        thread.start();
+        return this;
+    }
+
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    @Override
+    public void onFrame(ForzaTelemetryFrame frame) {
+        synchronized (published) {
+            frame.copyTo(published);
+            publishedSequence++;
+        }
+        selector.wakeup();
+    }
+
+    @Override
+    public void onDataReceived(ForzaTelemetryApi api) {
+        onFrame(api.getFrame());
+    }
+
+    @Override
+    public void onConnected(ForzaTelemetryApi api, DatagramPacket packet) {}
+
+    @Override
+    public void onGamePaused() {}
+
+    @Override
+    public void onGameUnpaused() {}
+
+    @Override
+    public void onCarChanged(ForzaTelemetryApi api, VehicleData data) {}
+
+    @Override
+    public void run() {
+        synchronized (this) {
+            if (closed) return;
+            running = true;
+        }
+        try {
+            while (!closed) {
+                Client oldest = handshakes.peek();
+                if (oldest == null) {
+                    selector.select();
+                } else {
+                    selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(oldest.handshakeDeadline - System.nanoTime())));
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (!key.isValid()) continue;
+                        if (key.isAcceptable()) accept();
+                        else if (key.isReadable()) read((Client) key.attachment());
+                        else if (key.isWritable()) flush((Client) key.attachment());
+                    } catch (IOException e) {
+                        //The client went away
+                        disconnect((Client) key.attachment());
+                    }
+                }
+                broadcast();
+                expireHandshakes();
+            }
+        } catch (ClosedSelectorException ignored) {
+            //close() was called from another thread
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            shutdown();
+        }
+    }
+
+    private void expireHandshakes() {
+        long now = System.nanoTime();
+        Client client;
+        while ((client = handshakes.peek()) != null) {
+            //Streaming once the response is out, a frame is only queued after it
+            if (client.disconnected || (client.projection != null && (client.pending == null || client.lastFrame >= 0))) {
+                handshakes.poll();
+            } else if (now - client.handshakeDeadline >= 0) {
+                handshakes.poll();
+                disconnect(client);
+            } else {
+                return;
+            }
+        }
+    }
+
+    //Every socket still registered, also connections that never finished their request or their error response
+    private void shutdown() {
+        try {
+            for (SelectionKey key : new ArrayList<>(selector.keys())) {
+                try {
+                    key.channel().close();
+                } catch (IOException ignored) {
+                }
+            }
+        } catch (ClosedSelectorException ignored) {
+        }
+        clients.clear();
+        handshakes.clear();
+        projections.clear();
+        clientCount = 0;
+        try {
+            server.close();
+            selector.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Client client = new Client(channel);
+            client.key = channel.register(selector, SelectionKey.OP_READ, client);
+            client.handshakeDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(HANDSHAKE_TIMEOUT_MS);
+            handshakes.add(client);
+        }
+    }
+
+    private void read(Client client) throws IOException {
+        readBuffer.clear();
+        int read = client.channel.read(readBuffer);
+        if (read < 0) {
+            disconnect(client);
+            return;
+        }
+        readBuffer.flip();
+        if (client.projection != null) {
+            //WebSocket close frame; anything else the client sends is of no interest
+            if (client.projection.websocket && readBuffer.hasRemaining() && (readBuffer.get(0) & 0x0f) == 0x8) disconnect(client);
+            return;
+        }
+        //Already answered and about to be closed
+        if (client.request == null) return;
+        if (client.request.length() + readBuffer.remaining() > MAX_REQUEST_SIZE) {
+            respond(client, "431 Request Header Fields Too Large", "text/plain", "Request too large");
+            return;
+        }
+        client.request.append(StandardCharsets.ISO_8859_1.decode(readBuffer));
+        if (client.request.indexOf("\r\n\r\n") >= 0) handle(client);
+    }
+
+    private void handle(Client client) throws IOException {
+        String[] lines = client.request.toString().split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length < 2 || !requestLine[0].equals("GET")) {
+            respond(client, "405 Method Not Allowed", "text/plain", "Only GET is supported");
+            return;
+        }
+        Map<String, String> headers = new HashMap<>();
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon > 0) headers.put(lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT), lines[i].substring(colon + 1).trim());
+        }
+        String target = requestLine[1];
+        int question = target.indexOf('?');
+        String path = question < 0 ? target : target.substring(0, question);
+        Map<String, String> query = parseQuery(question < 0 ? "" : target.substring(question + 1));
+        if (path.equals("/fields")) {
+            StringBuilder sb = new StringBuilder("[");
+            for (ForzaField field : ForzaField.values()) sb.append(sb.length() > 1 ? "," : "").append('"').append(field.getName()).append('"');
+            respond(client, "200 OK", "application/json", sb.append(']').toString());
+            return;
+        }
+        if (!path.equals("/stream")) {
+            respond(client, "404 Not Found", "text/plain", "Try /stream or /fields");
+            return;
+        }
+        TreeSet<ForzaField> fields = new TreeSet<>();
+        String names = query.get("fields");
+        if (names == null || names.isEmpty()) {
+            fields.addAll(List.of(ForzaField.values()));
+        } else {
+            for (String name : names.split(",")) {
+                ForzaField field = ForzaField.fromName(name.trim());
+                if (field == null) {
+                    respond(client, "400 Bad Request", "text/plain", "Unknown field " + name);
+                    return;
+                }
+                fields.add(field);
+            }
+        }
+        double hz;
+        try {
+            hz = query.containsKey("hz") ? Double.parseDouble(query.get("hz")) : 0;
+        } catch (NumberFormatException e) {
+            respond(client, "400 Bad Request", "text/plain", "hz must be a number");
+            return;
+        }
+        client.intervalNanos = hz > 0 ? Math.max(0, (long) (TimeUnit.SECONDS.toNanos(1) / hz) - RATE_SLACK_NANOS) : 0;
+        client.lastSent = System.nanoTime() - client.intervalNanos;
+        String webSocketKey = headers.get("sec-websocket-key");
+        boolean websocket = "websocket".equalsIgnoreCase(headers.get("upgrade")) && webSocketKey != null;
+        String response = websocket
+                ? "HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\nSec-WebSocket-Accept: "
+                        + acceptKey(webSocketKey) + "\r\n\r\n"
+                : "HTTP/1.1 200 OK\r\nContent-Type: text/event-stream\r\nCache-Control: no-cache\r\nConnection: keep-alive\r\n"
+                        + "Access-Control-Allow-Origin: *\r\n\r\n";
+        client.request = null;
+        client.projection = projections.computeIfAbsent((websocket ? "ws:" : "sse:") + fields, key -> new Projection(fields, websocket));
+        client.projection.clients++;
+        clients.add(client);
+        clientCount = clients.size();
+        client.pending = ByteBuffer.wrap(response.getBytes(StandardCharsets.ISO_8859_1));
+        flush(client);
+    }
+
+    //Newest frame to every client that is due and not still writing the previous one. Runs after every wakeup,
+    //but only does anything once a new frame has been published
+    private void broadcast() {
+        long sequence;
+        synchronized (published) {
+            sequence = publishedSequence;
+            if (sequence == sentSequence) return;
+            published.copyTo(frame);
+        }
+        long now = System.nanoTime();
+        for (int i = clients.size() - 1; i >= 0; i--) {
+            Client client = clients.get(i);
+            if (client.lastFrame == sequence || now - client.lastSent < client.intervalNanos) continue;
+            if (client.pending != null) {
+                dropped++;
+                continue;
+            }
+            client.lastFrame = sequence;
+            client.lastSent = now;
+            client.pending = client.projection.encode(frame, sequence);
+            try {
+                flush(client);
+            } catch (IOException e) {
+                disconnect(client);
+            }
+        }
+        //Clients held back by their rate get a later frame instead of this one
+        sentSequence = sequence;
+    }
+
+    private void flush(Client client) throws IOException {
+        client.channel.write(client.pending);
+        if (client.pending.hasRemaining()) {
+            client.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            return;
+        }
+        client.pending = null;
+        client.key.interestOps(SelectionKey.OP_READ);
+        if (client.closeWhenWritten) disconnect(client);
+    }
+
+    private void respond(Client client, String status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        String head = "HTTP/1.1 " + status + "\r\nContent-Type: " + contentType + "\r\nContent-Length: " + bytes.length
+                + "\r\nAccess-Control-Allow-Origin: *\r\nConnection: close\r\n\r\n";
+        byte[] headBytes = head.getBytes(StandardCharsets.ISO_8859_1);
+        client.pending = ByteBuffer.allocate(headBytes.length + bytes.length).put(headBytes).put(bytes).flip();
+        client.request = null;
+        client.closeWhenWritten = true;
+        flush(client);
+    }
+
+    private void disconnect(Client client) {
+        if (client == null || client.disconnected) return;
+        client.disconnected = true;
+        if (client.projection != null) {
+            clients.remove(client);
+            clientCount = clients.size();
+            if (--client.projection.clients == 0) projections.values().remove(client.projection);
+        }
+        try {
+            client.channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> result = new HashMap<>();
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) continue;
+            int equals = pair.indexOf('=');
+            String key = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            result.put(key, equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    private static String acceptKey(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.ISO_8859_1));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    //Frames a client skipped because its socket was still busy with an older one, summed over every client
+    public long getDropped() {
+        return dropped;
+    }
+
+    //The server thread closes every socket on its way out, without one running they are closed here
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            if (running) {
+                //Frees the port right away, the server thread closes the rest
+                server.close();
+                selector.wakeup();
+                return;
+            }
+        }
+        shutdown();
+    }
+
+    //A set of fields over one protocol, the encoded frame is kept until the next one arrives
+    private static final class Projection {
+        private final ForzaField[] fields;
+        private final boolean websocket;
+        private final StringBuilder json = new StringBuilder();
+        private ByteBuffer encoded;
+        private long sequence = -1;
+        private int clients;
+
+        Projection(TreeSet<ForzaField> fields, boolean websocket) {
+            this.fields = fields.toArray(new ForzaField[0]);
+            this.websocket = websocket;
+        }
+
+        //Every client gets its own view of the same bytes
+        ByteBuffer encode(ForzaTelemetryFrame frame, long frameSequence) {
+            if (sequence != frameSequence) {
+                json.setLength(0);
+                json.append('{');
+                for (int i = 0; i < fields.length; i++) {
+                    if (i > 0) json.append(',');
+                    json.append('"').append(fields[i].getName()).append("\":");
+                    fields[i].appendJson(json, frame);
+                }
+                json.append('}');
+                encoded = websocket ? webSocketFrame(json) : serverSentEvent(json);
+                sequence = frameSequence;
+            }
+            return encoded.duplicate();
+        }
+
+        private static ByteBuffer serverSentEvent(CharSequence json) {
+            byte[] data = ("data: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+            return ByteBuffer.wrap(data).asReadOnlyBuffer();
+        }
+
+        //Unmasked text frame, server to client frames are never masked
+        private static ByteBuffer webSocketFrame(CharSequence json) {
+            byte[] payload = json.toString().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(payload.length + 10);
+            buffer.put((byte) 0x81);
+            if (payload.length < 126) {
+                buffer.put((byte) payload.length);
+            } else if (payload.length < 65536) {
+                buffer.put((byte) 126).putShort((short) payload.length);
+            } else {
+                buffer.put((byte) 127).putLong(payload.length);
+            }
+            return buffer.put(payload).flip().asReadOnlyBuffer();
+        }
+    }
+
+    private static final class Client {
+        private final SocketChannel channel;
+        private SelectionKey key;
+        private StringBuilder request = new StringBuilder();
+        private Projection projection;
+        private ByteBuffer pending;
+        private long intervalNanos;
+        private long lastSent;
+        private long lastFrame = -1;
+        private long handshakeDeadline;
+        private boolean closeWhenWritten, disconnected;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
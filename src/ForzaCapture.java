@@ -0,0 +1,45 @@
+package root.forza.telemetry;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+
+//Binary capture file layout, all values little endian.
+//File header: int magic "FZTC", short version, short reserved, long capture start (epoch ms).
+//Record: long receive time (epoch ns), byte address length (0, 4 or 16), address, short port,
+//short packet length, raw packet bytes exactly as received.
+final class ForzaCapture {
+    static final int MAGIC = 'F' | 'Z' << 8 | 'T' << 16 | 'C' << 24;
+    static final short VERSION = 1;
+    static final int FILE_HEADER_SIZE = 16;
+    static final int MAX_PACKET_SIZE = 0xffff;
+    static final int MAX_RECORD_HEADER_SIZE = 8 + 1 + 16 + 2 + 2;
+
+    private ForzaCapture() {}
+
+    static void writeFileHeader(ByteBuffer buffer, long startEpochMillis) {
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putLong(startEpochMillis);
+    }
+
+    //Returns the capture start time, or throws if the header is not a capture header
+    static long readFileHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < FILE_HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a Forza capture file");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) throw new IllegalArgumentException("Unsupported capture version " + version);
+        buffer.getShort();
+        return buffer.getLong();
+    }
+
+    static SocketAddress toSocketAddress(byte[] address, int port) {
+        try {
+            InetAddress inetAddress = address.length == 0 ? InetAddress.getLoopbackAddress() : InetAddress.getByAddress(address);
+            return new InetSocketAddress(inetAddress, port);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package root.forza.telemetry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+//Converts a ForzaCapture file into CSV, a typed columnar file or a delta compressed capture, every field at full precision.
+//A quick pass over the record headers splits the capture into chunks of CHUNK_RECORDS records, the chunks
+//are decoded and encoded in parallel on a fork join pool and written in capture order as they finish.
+//
+//Columnar layout (".fzcl"), little endian: int magic "FZCL", short version, short column count, then per
+//column a type byte (see ForzaColumnChunk) and a short length + UTF-8 name. Row groups follow, each an int
+//row count and then every column's values back to back. A row count of 0 ends the file.
+//
+//Delta layout (".fztd"), little endian: the capture's file header with magic "FZTD", then chunks of an int record
+//count and an int byte length. Every chunk starts a new ForzaDeltaCodec stream; a record is a varint receive time
+//minus the previous record's, the sender as in a capture or 0xff when unchanged, and the encoded packet.
+//A record count of 0 ends the file. expand() turns it back into the original capture.
+//
+//java root.forza.telemetry.ForzaCaptureConverter session.fzc session.csv|session.fzcl|session.fztd [threads]
+//java root.forza.telemetry.ForzaCaptureConverter session.fztd session.fzc
+public class ForzaCaptureConverter {
+    public enum Format {
+        CSV,
+        COLUMNAR,
+        DELTA
+    }
+
+    static final int COLUMNAR_MAGIC = 'F' | 'Z' << 8 | 'C' << 16 | 'L' << 24;
+    static final short COLUMNAR_VERSION = 1;
+    static final int DELTA_MAGIC = 'F' | 'Z' << 8 | 'T' << 16 | 'D' << 24;
+    static final short DELTA_VERSION = 1;
+    private static final int SAME_SENDER = 0xff;
+    static final int CHUNK_RECORDS = 16_384;
+
+    private final int threads;
+
+    public ForzaCaptureConverter(int threads) {
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ForzaCaptureConverter <capture> <output.csv|output.fzcl|output.fztd> [threads]");
+            System.err.println("       ForzaCaptureConverter <input.fztd> <capture>");
+            return;
+        }
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Path output = Path.of(args[1]);
+        long start = System.nanoTime();
+        if (args[0].endsWith(".fztd")) {
+            long rows = expand(Path.of(args[0]), output);
+            System.out.println(rows + " packets restored to " + output + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return;
+        }
+        String name = output.toString();
+        Format format = name.endsWith(".csv") ? Format.CSV : name.endsWith(".fztd") ? Format.DELTA : Format.COLUMNAR;
+        long rows = new ForzaCaptureConverter(threads).convert(Path.of(args[0]), output, format);
+        System.out.println(rows + " packets written to " + output + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    //Returns the number of packets written
+    public long convert(Path capture, Path output, Format format) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try (FileChannel in = FileChannel.open(capture, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            List<long[]> chunks = split(in);
+            write(out, switch (format) {
+                case CSV -> ForzaColumnChunk.csvHeader().getBytes(StandardCharsets.US_ASCII);
+                case COLUMNAR -> columnarHeader();
+                case DELTA -> deltaHeader(ForzaCapture.readFileHeader(ForzaCaptureReplay.map(in, 0, in.size())));
+            });
+            //Bounded number of chunks in flight so memory does not grow with the file
+            ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+            int maxPending = pool.getParallelism() * 2;
+            long rows = 0;
+            for (long[] chunk : chunks) {
+                pending.add(pool.submit(() -> encode(in, chunk[0], chunk[1], (int) chunk[2], format)));
+                if (pending.size() >= maxPending) write(out, await(pending.poll()));
+                rows += chunk[2];
+            }
+            while (!pending.isEmpty()) write(out, await(pending.poll()));
+            if (format != Format.CSV) write(out, new byte[4]);
+            return rows;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    //Start offset, end offset and record count of every chunk. Only the record headers are read
+    private static List<long[]> split(FileChannel channel) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        long size = channel.size();
+        MappedByteBuffer window = ForzaCaptureReplay.map(channel, 0, size);
+        ForzaCapture.readFileHeader(window);
+        long windowStart = 0, position = ForzaCapture.FILE_HEADER_SIZE, chunkStart = position;
+        int records = 0;
+        while (position < size) {
+            //Remap when the header of the next record might cross the end of the current window
+            if (position + ForzaCapture.MAX_RECORD_HEADER_SIZE > windowStart + window.limit() && windowStart + window.limit() < size) {
+                windowStart = position;
+                window = ForzaCaptureReplay.map(channel, windowStart, size);
+            }
+            int offset = (int) (position - windowStart);
+            if (window.limit() - offset < 9) break;
+            int addressLength = window.get(offset + 8) & 0xff;
+            if (window.limit() - offset < 9 + addressLength + 4) break;
+            int length = window.getShort(offset + 9 + addressLength + 2) & 0xffff;
+            long next = position + 9 + addressLength + 4 + length;
+            //Truncated tail, e.g. a capture that was still being written
+            if (next > size) break;
+            position = next;
+            if (++records == CHUNK_RECORDS) {
+                chunks.add(new long[]{chunkStart, position, records});
+                chunkStart = position;
+                records = 0;
+            }
+        }
+        if (records > 0) chunks.add(new long[]{chunkStart, position, records});
+        return chunks;
+    }
+
+    //Runs on the pool, each task maps its own part of the file
+    private static byte[] encode(FileChannel channel, long start, long end, int records, Format format) throws IOException {
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer packet = ByteBuffer.allocate(ForzaCapture.MAX_PACKET_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (format == Format.DELTA) return encodeDelta(window, records);
+        ForzaTelemetryFrame frame = new ForzaTelemetryFrame();
+        ForzaColumnChunk chunk = new ForzaColumnChunk(records);
+        for (int i = 0; i < records; i++) {
+            long receiveTimeNs = window.getLong();
+            int addressLength = window.get() & 0xff;
+            window.position(window.position() + addressLength + 2);
+            int length = window.getShort() & 0xffff;
+            packet.clear();
+            packet.put(0, window, window.position(), length).limit(length);
+            window.position(window.position() + length);
+            chunk.add(frame.decode(packet), receiveTimeNs);
+        }
+        return format == Format.CSV ? chunk.toCsv() : chunk.toColumns();
+    }
+
+    private static byte[] encodeDelta(ByteBuffer window, int records) {
+        ByteBuffer out = ByteBuffer.allocate(8 + (int) Math.min(Integer.MAX_VALUE - 8,
+                        (long) window.remaining() + (long) records * (ForzaDeltaCodec.maxEncodedLength(0) + 10)))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(records).putInt(0);
+        ByteBuffer packet = window.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        ForzaDeltaCodec.Encoder encoder = new ForzaDeltaCodec.Encoder(0);
+        long lastTime = 0;
+        int lastSender = -1;
+        for (int i = 0; i < records; i++) {
+            long receiveTimeNs = window.getLong();
+            ForzaDeltaCodec.putVarLong(out, receiveTimeNs - lastTime);
+            lastTime = receiveTimeNs;
+            //Sender bytes are compared in place, a console keeps sending from the same address
+            int sender = window.position();
+            int senderLength = 1 + (window.get(sender) & 0xff) + 2;
+            if (lastSender >= 0 && window.slice(sender, senderLength).equals(window.slice(lastSender, senderLength))) {
+                out.put((byte) SAME_SENDER);
+            } else {
+                out.put(out.position(), window, sender, senderLength);
+                out.position(out.position() + senderLength);
+            }
+            lastSender = sender;
+            window.position(sender + senderLength);
+            int length = window.getShort() & 0xffff;
+            packet.limit(window.position() + length).position(window.position());
+            encoder.encode(packet.slice().order(ByteOrder.LITTLE_ENDIAN), out);
+            window.position(window.position() + length);
+        }
+        out.putInt(4, out.position() - 8);
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    //Restores the capture a DELTA conversion was made from, byte for byte. Returns the number of packets
+    public static long expand(Path delta, Path capture) throws IOException {
+        try (FileChannel in = FileChannel.open(delta, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(capture, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            ByteBuffer header = ForzaCaptureReplay.map(in, 0, size);
+            if (header.remaining() < ForzaCapture.FILE_HEADER_SIZE || header.getInt() != DELTA_MAGIC) {
+                throw new IllegalArgumentException("Not a delta compressed capture");
+            }
+            short version = header.getShort();
+            if (version != DELTA_VERSION) throw new IllegalArgumentException("Unsupported delta capture version " + version);
+            header.getShort();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            ForzaCapture.writeFileHeader(buffer, header.getLong());
+            ByteBuffer packet = ByteBuffer.allocate(ForzaCapture.MAX_PACKET_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            long position = ForzaCapture.FILE_HEADER_SIZE, rows = 0;
+            while (position + 8 <= size) {
+                ByteBuffer chunkHeader = in.map(FileChannel.MapMode.READ_ONLY, position, 8).order(ByteOrder.LITTLE_ENDIAN);
+                int records = chunkHeader.getInt();
+                int length = chunkHeader.getInt();
+                if (records == 0) break;
+                ByteBuffer chunk = in.map(FileChannel.MapMode.READ_ONLY, position + 8, length).order(ByteOrder.LITTLE_ENDIAN);
+                ForzaDeltaCodec.Decoder decoder = new ForzaDeltaCodec.Decoder();
+                long receiveTimeNs = 0;
+                int sender = 0, senderLength = 0;
+                for (int i = 0; i < records; i++) {
+                    receiveTimeNs += ForzaDeltaCodec.getVarLong(chunk);
+                    int addressLength = chunk.get() & 0xff;
+                    if (addressLength != SAME_SENDER) {
+                        sender = chunk.position() - 1;
+                        senderLength = 1 + addressLength + 2;
+                        chunk.position(sender + senderLength);
+                    }
+                    int packetLength = decoder.decode(chunk, packet);
+                    if (packetLength < 0) throw new IllegalArgumentException("Corrupt delta capture at chunk offset " + position);
+                    if (buffer.remaining() < ForzaCapture.MAX_RECORD_HEADER_SIZE + packetLength) drain(out, buffer);
+                    buffer.putLong(receiveTimeNs);
+                    buffer.put(buffer.position(), chunk, sender, senderLength).position(buffer.position() + senderLength);
+                    buffer.putShort((short) packetLength).put(packet);
+                    rows++;
+                }
+                position += 8 + length;
+            }
+            drain(out, buffer);
+            return rows;
+        }
+    }
+
+    private static byte[] deltaHeader(long startEpochMillis) {
+        ByteBuffer header = ByteBuffer.allocate(ForzaCapture.FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(DELTA_MAGIC).putShort(DELTA_VERSION).putShort((short) 0).putLong(startEpochMillis);
+        return header.array();
+    }
+
+    private static byte[] columnarHeader() {
+        int size = 8;
+        byte[][] names = new byte[ForzaColumnChunk.NAMES.length][];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = ForzaColumnChunk.NAMES[i].getBytes(StandardCharsets.UTF_8);
+            size += 3 + names[i].length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(COLUMNAR_MAGIC).putShort(COLUMNAR_VERSION).putShort((short) names.length);
+        for (int i = 0; i < names.length; i++) {
+            header.put(ForzaColumnChunk.TYPES[i]).putShort((short) names[i].length).put(names[i]);
+        }
+        return header.array();
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) out.write(buffer);
+        buffer.clear();
+    }
+
+    private static void write(FileChannel out, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) out.write(buffer);
+    }
+}
@@ -0,0 +1,167 @@
+package root.forza.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+//Feeds a ForzaCapture file back through a handler chain, by default a ForzaDispatcher, so listeners get the
+//same onConnected / onDataReceived / onGamePaused / onCarChanged callbacks as from the live socket.
+//The file is memory mapped in large windows, so multi gigabyte captures are read without copying through the heap.
+//Like the receivers, the handler's tick() runs after every packet and at the deadline it returns, also while
+//REAL_TIME pacing waits, so held back packets and batches come out as they would live.
+public class ForzaCaptureReplay implements Runnable, Closeable {
+    public enum Mode {
+        //Packets are spaced by the difference of their timeStampMS, like the game sent them
+        REAL_TIME,
+        //Packets are delivered back to back
+        AS_FAST_AS_POSSIBLE
+    }
+
+    //Mapped window size, a new window is mapped at the first record that does not fit the current one
+    static final long MAP_WINDOW = 1L << 30;
+    //Timestamps jumping back or further than this ahead start a new pacing base instead of sleeping
+    private static final long MAX_PACING_GAP_MS = 5_000;
+
+    private final Path file;
+    private final ForzaPacketHandler handler;
+    private final Mode mode;
+    private final ByteBuffer packet = ByteBuffer.allocate(ForzaCapture.MAX_PACKET_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private volatile boolean closed;
+    private long packets;
+    private SocketAddress lastSender;
+    private byte[] lastAddress = new byte[0];
+    private int lastPort = -1;
+    private long baseTimeStamp = -1, baseNanos, lastTimeStamp;
+    private long deadline = ForzaPacketHandler.NO_DEADLINE;
+
+    public ForzaCaptureReplay(Path file, ForzaPacketHandler handler, Mode mode) {
+        this.file = file;
+        this.handler = handler;
+        this.mode = mode;
+    }
+
+    public ForzaCaptureReplay(Path file, ForzaInterface listener, Mode mode) {
+        this(file, new ForzaDispatcher(listener), mode);
+    }
+
+    @Override
+    public void run() {
+        try {
+            replay();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //Replays the whole file on the calling thread, returns the number of packets delivered
+    public long replay() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer window = map(channel, 0, size);
+            ForzaCapture.readFileHeader(window);
+            long windowStart = 0;
+            while (!closed) {
+                long position = windowStart + window.position();
+                if (position >= size) break;
+                //Remap when the next record might cross the end of the current window
+                if (window.remaining() < ForzaCapture.MAX_RECORD_HEADER_SIZE + ForzaCapture.MAX_PACKET_SIZE && windowStart + window.limit() < size) {
+                    windowStart = position;
+                    window = map(channel, windowStart, size);
+                }
+                if (!readRecord(window)) break;
+                pace();
+                try {
+                    handler.onPacket(packet, lastSender);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+                packets++;
+                tick();
+            }
+            handler.flush();
+        }
+        return packets;
+    }
+
+    static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position));
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        return window;
+    }
+
+    //Copies the next record's packet into the reused packet buffer, false on a truncated tail
+    private boolean readRecord(ByteBuffer window) {
+        if (window.remaining() < 8 + 1) return false;
+        window.getLong();
+        int addressLength = window.get() & 0xff;
+        if (window.remaining() < addressLength + 4) return false;
+        int addressStart = window.position();
+        window.position(addressStart + addressLength);
+        int port = window.getShort() & 0xffff;
+        int length = window.getShort() & 0xffff;
+        if (window.remaining() < length) return false;
+        resolveSender(window, addressStart, addressLength, port);
+        packet.clear();
+        packet.put(0, window, window.position(), length).limit(length);
+        window.position(window.position() + length);
+        return true;
+    }
+
+    //Senders rarely change within a capture, the SocketAddress is only rebuilt when they do
+    private void resolveSender(ByteBuffer window, int addressStart, int addressLength, int port) {
+        boolean same = port == lastPort && addressLength == lastAddress.length;
+        for (int i = 0; same && i < addressLength; i++) same = window.get(addressStart + i) == lastAddress[i];
+        if (same) return;
+        byte[] address = new byte[addressLength];
+        window.get(addressStart, address);
+        lastAddress = address;
+        lastPort = port;
+        lastSender = ForzaCapture.toSocketAddress(address, port);
+    }
+
+    private void pace() {
+        if (mode != Mode.REAL_TIME || packet.limit() < ForzaPacket.TIME_STAMP_MS + 4) return;
+        long timeStamp = Integer.toUnsignedLong(packet.getInt(ForzaPacket.TIME_STAMP_MS));
+        if (baseTimeStamp < 0 || timeStamp < lastTimeStamp || timeStamp - lastTimeStamp > MAX_PACING_GAP_MS) {
+            baseTimeStamp = timeStamp;
+            baseNanos = System.nanoTime();
+        }
+        lastTimeStamp = timeStamp;
+        long target = baseNanos + (timeStamp - baseTimeStamp) * 1_000_000L;
+        long now;
+        while (!closed && target - (now = System.nanoTime()) > 0) {
+            if (deadline != ForzaPacketHandler.NO_DEADLINE && deadline - now <= 0) {
+                tick();
+                continue;
+            }
+            long wake = deadline != ForzaPacketHandler.NO_DEADLINE && deadline - target < 0 ? deadline : target;
+            LockSupport.parkNanos(wake - now);
+        }
+    }
+
+    private void tick() {
+        try {
+            deadline = handler.tick(System.nanoTime());
+        } catch (Exception e) {
+            e.printStackTrace();
+            deadline = ForzaPacketHandler.NO_DEADLINE;
+        }
+    }
+
+    public long getPacketCount() {
+        return packets;
+    }
+
+    //Stops a running replay after the current packet
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
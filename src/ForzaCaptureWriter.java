@@ -0,0 +1,191 @@
+package root.forza.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+//Records raw packets to a ForzaCapture file. Records are appended to one of two large direct buffers. A sync
+//thread writes the filled buffer out and fsyncs it, once the buffer is full or once per sync interval even when
+//no more packets arrive, while the receive side keeps filling the other one. A full session at 60 Hz costs a
+//memory copy per packet, the disk is never touched on the receive or dispatch thread.
+//Can be placed anywhere in a handler chain, e.g. writer.andThen(new ForzaDispatcher(listener)).
+public class ForzaCaptureWriter implements ForzaPacketHandler, Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    public static final long DEFAULT_SYNC_INTERVAL_MS = 1000;
+
+    private final FileChannel channel;
+    private final long syncIntervalNanos;
+    //Receive times are stored as epoch nanoseconds derived from nanoTime, so they are monotonic within a capture
+    private final long startEpochNanos;
+    private final long startNanoTime;
+    private final Thread syncThread;
+    //Buffer records are appended to; full is waiting for the sync thread, spare is null while it is being written
+    private ByteBuffer filling;
+    private ByteBuffer full;
+    private ByteBuffer spare;
+    private long records;
+    private SocketAddress lastSender;
+    private byte[] lastAddress = new byte[0];
+    private int lastPort;
+    private boolean closed;
+
+    public ForzaCaptureWriter(Path file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE, DEFAULT_SYNC_INTERVAL_MS);
+    }
+
+    public ForzaCaptureWriter(Path file, int bufferSize, long syncIntervalMs) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        int size = Math.max(bufferSize, ForzaCapture.FILE_HEADER_SIZE + ForzaCapture.MAX_RECORD_HEADER_SIZE + ForzaCapture.MAX_PACKET_SIZE);
+        filling = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+        spare = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+        syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMs);
+        long startMillis = System.currentTimeMillis();
+        startEpochNanos = TimeUnit.MILLISECONDS.toNanos(startMillis);
+        startNanoTime = System.nanoTime();
+        ForzaCapture.writeFileHeader(filling, startMillis);
+        syncThread = new Thread(this::runSync, "forza-capture-sync");
+        syncThread.setDaemon(true);
+        syncThread.start();
+    }
+
+    @Override
+    public synchronized void onPacket(ByteBuffer packet, SocketAddress sender) {
+        if (closed) return;
+        long now = System.nanoTime();
+        int length = Math.min(packet.limit(), ForzaCapture.MAX_PACKET_SIZE);
+        if (filling.remaining() < ForzaCapture.MAX_RECORD_HEADER_SIZE + length && !handOff()) return;
+        resolve(sender);
+        filling.putLong(startEpochNanos + (now - startNanoTime));
+        filling.put((byte) lastAddress.length).put(lastAddress);
+        filling.putShort((short) lastPort);
+        filling.putShort((short) length);
+        filling.put(filling.position(), packet, 0, length);
+        filling.position(filling.position() + length);
+        records++;
+    }
+
+    //Passes the filled buffer to the sync thread. Only waits when the disk is a whole buffer behind
+    private boolean handOff() {
+        try {
+            while (spare == null && !closed) wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (closed) return false;
+        full = filling;
+        filling = spare;
+        spare = null;
+        notifyAll();
+        return true;
+    }
+
+    //Address bytes are cached, a console keeps sending from the same address for the whole session
+    private void resolve(SocketAddress sender) {
+        if (sender == lastSender || (sender != null && sender.equals(lastSender))) return;
+        lastSender = sender;
+        if (sender instanceof InetSocketAddress inet && inet.getAddress() != null) {
+            lastAddress = inet.getAddress().getAddress();
+            lastPort = inet.getPort();
+        } else {
+            lastAddress = new byte[0];
+            lastPort = 0;
+        }
+    }
+
+    //Writes a full buffer as soon as it is handed off, otherwise whatever was recorded once per sync interval
+    private void runSync() {
+        long lastSyncNanos = System.nanoTime();
+        while (true) {
+            ByteBuffer out;
+            synchronized (this) {
+                try {
+                    long remaining;
+                    while (full == null && !closed && (remaining = lastSyncNanos + syncIntervalNanos - System.nanoTime()) > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (full != null) {
+                    out = full;
+                    full = null;
+                } else if (closed) {
+                    //close() writes out the rest
+                    return;
+                } else if (filling.position() > 0) {
+                    out = filling;
+                    filling = spare;
+                    spare = null;
+                } else {
+                    lastSyncNanos = System.nanoTime();
+                    continue;
+                }
+            }
+            try {
+                write(out);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            lastSyncNanos = System.nanoTime();
+            synchronized (this) {
+                out.clear();
+                spare = out;
+                notifyAll();
+            }
+        }
+    }
+
+    private void write(ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) channel.write(out);
+        channel.force(false);
+    }
+
+    //Writes out and fsyncs everything recorded so far, on the calling thread
+    public synchronized void sync() throws IOException {
+        if (closed) return;
+        try {
+            while (spare == null || full != null) wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        write(filling);
+        filling.clear();
+    }
+
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    //Stops the sync thread once it has written what was handed to it, then writes out the rest
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            notifyAll();
+        }
+        try {
+            syncThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                if (full != null) write(full);
+                write(filling);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package root.forza.telemetry;
+
+//One entry of the car database, see ForzaCarDatabase
+public final class ForzaCar {
+    private final int ordinal;
+    private final int year;
+    private final String make;
+    private final String name;
+    private final String displayName;
+
+    ForzaCar(int ordinal, int year, String make, String name) {
+        this.ordinal = ordinal;
+        this.year = year;
+        this.make = make;
+        this.name = name;
+        //Built once here so getCarName() never concatenates per packet
+        this.displayName = (year > 0 ? year + " " : "") + (make.isEmpty() ? "" : make + " ") + name;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    //0 when unknown
+    public int getYear() {
+        return year;
+    }
+
+    public String getMake() {
+        return make;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    //"year make name", e.g. "2019 Koenigsegg Jesko"
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName + " (" + ordinal + ")";
+    }
+}
@@ -0,0 +1,185 @@
+package root.forza.telemetry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+//Car ordinal to name, make and year. Loaded once, then every lookup is a probe into an open addressing
+//table keyed by the primitive ordinal, no boxing and no string work per packet.
+//
+//The default database comes from the file named by the forza.cars system property, else ordinals.bin or
+//ordinals.txt on the classpath (metadata/ in this repo), else it is empty and every car is "Unknown".
+//ordinals.txt holds one car per line as "ordinal,year,make,name", lines starting with # are skipped.
+//ordinals.bin is the same data in the compact form written by compile(), which loads without parsing.
+public final class ForzaCarDatabase {
+    public static final String UNKNOWN = "Unknown";
+
+    private static final int MAGIC = 0x465a4344; //"FZCD"
+    private static final short VERSION = 1;
+
+    private final int[] keys;
+    private final ForzaCar[] values;
+    private final int mask;
+    private final int size;
+
+    private ForzaCarDatabase(List<ForzaCar> cars) {
+        int capacity = Integer.highestOneBit(Math.max(cars.size(), 1) * 2);
+        if (capacity < cars.size() * 2) capacity <<= 1;
+        keys = new int[capacity];
+        values = new ForzaCar[capacity];
+        mask = capacity - 1;
+        int count = 0;
+        for (ForzaCar car : cars) {
+            int slot = slot(car.getOrdinal());
+            if (values[slot] == null) count++;
+            keys[slot] = car.getOrdinal();
+            values[slot] = car;
+        }
+        size = count;
+    }
+
+    private static final class Holder {
+        static final ForzaCarDatabase DEFAULT = loadDefault();
+    }
+
+    public static ForzaCarDatabase getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    //Slot holding the ordinal, or the empty slot where it would go
+    private int slot(int ordinal) {
+        int slot = mix(ordinal) & mask;
+        while (values[slot] != null && keys[slot] != ordinal) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    //Null when the ordinal is not in the database
+    public ForzaCar find(int ordinal) {
+        return values[slot(ordinal)];
+    }
+
+    public String getCarName(int ordinal) {
+        ForzaCar car = find(ordinal);
+        return car != null ? car.getDisplayName() : UNKNOWN;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static ForzaCarDatabase loadDefault() {
+        try {
+            String file = System.getProperty("forza.cars");
+            if (file != null) return load(Path.of(file));
+            for (String resource : new String[]{"/ordinals.bin", "/ordinals.txt"}) {
+                try (InputStream in = ForzaCarDatabase.class.getResourceAsStream(resource)) {
+                    if (in != null) return load(in);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+        }
+        return new ForzaCarDatabase(List.of());
+    }
+
+    public static ForzaCarDatabase load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        }
+    }
+
+    //Reads either format, told apart by the binary magic
+    public static ForzaCarDatabase load(InputStream input) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(input);
+        in.mark(4);
+        byte[] head = in.readNBytes(4);
+        if (head.length == 4 && ByteBuffer.wrap(head).getInt() == MAGIC) {
+            return new ForzaCarDatabase(readBinary(new DataInputStream(in)));
+        }
+        in.reset();
+        return new ForzaCarDatabase(readText(in));
+    }
+
+    private static List<ForzaCar> readBinary(DataInputStream in) throws IOException {
+        short version = in.readShort();
+        if (version != VERSION) throw new IOException("Unsupported car database version " + version);
+        int count = in.readInt();
+        List<ForzaCar> cars = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int ordinal = in.readInt();
+            int year = in.readShort();
+            cars.add(new ForzaCar(ordinal, year, in.readUTF(), in.readUTF()));
+        }
+        return cars;
+    }
+
+    private static List<ForzaCar> readText(InputStream in) throws IOException {
+        List<ForzaCar> cars = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] parts = line.split(",", 4);
+            if (parts.length < 4) throw new IOException("Line " + number + ": expected ordinal,year,make,name");
+            try {
+                int year = parts[1].isBlank() ? 0 : Integer.parseInt(parts[1].trim());
+                cars.add(new ForzaCar(Integer.parseInt(parts[0].trim()), year, parts[2].trim(), parts[3].trim()));
+            } catch (NumberFormatException e) {
+                throw new IOException("Line " + number + ": " + e.getMessage());
+            }
+        }
+        return cars;
+    }
+
+    //Writes the database in the binary form, e.g. to turn ordinals.txt into ordinals.bin
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(size);
+        for (ForzaCar car : values) {
+            if (car == null) continue;
+            out.writeInt(car.getOrdinal());
+            out.writeShort(car.getYear());
+            out.writeUTF(car.getMake());
+            out.writeUTF(car.getName());
+        }
+        out.flush();
+    }
+
+    public static void compile(Path text, Path binary) throws IOException {
+        ForzaCarDatabase database = load(text);
+        try (OutputStream out = Files.newOutputStream(binary)) {
+            database.write(out);
+        }
+    }
+
+    //java root.forza.telemetry.ForzaCarDatabase metadata/ordinals.txt metadata/ordinals.bin
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ForzaCarDatabase <ordinals.txt> <ordinals.bin>");
+            return;
+        }
+        compile(Path.of(args[0]), Path.of(args[1]));
+    }
+}
@@ -0,0 +1,708 @@
+package root.forza.telemetry;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+//One row group of ForzaCaptureConverter: every packet field of a run of capture records as a typed column,
+//plus the receive time. Filled and encoded by one fork join task, so none of this is shared between threads.
+final class ForzaColumnChunk {
+    //Column types of the columnar output, the code is what ends up in the file header
+    static final byte UINT8 = 1;
+    static final byte INT8 = 2;
+    static final byte INT16 = 3;
+    static final byte INT32 = 4;
+    static final byte INT64 = 5;
+    static final byte FLOAT32 = 6;
+
+    static final String[] NAMES = {
+            "receiveTimeNs",
+            "isRaceOn",
+            "timeStampMS",
+            "engineMaxRpm",
+            "engineIdleRpm",
+            "currentEngineRpm",
+            "accelerationX",
+            "accelerationY",
+            "accelerationZ",
+            "velocityX",
+            "velocityY",
+            "velocityZ",
+            "angularVelocityX",
+            "angularVelocityY",
+            "angularVelocityZ",
+            "yaw",
+            "pitch",
+            "roll",
+            "normalizedSuspensionTravelFrontLeft",
+            "normalizedSuspensionTravelFrontRight",
+            "normalizedSuspensionTravelRearLeft",
+            "normalizedSuspensionTravelRearRight",
+            "tireSlipRatioFrontLeft",
+            "tireSlipRatioFrontRight",
+            "tireSlipRatioRearLeft",
+            "tireSlipRatioRearRight",
+            "wheelRotationSpeedFrontLeft",
+            "wheelRotationSpeedFrontRight",
+            "wheelRotationSpeedRearLeft",
+            "wheelRotationSpeedRearRight",
+            "wheelOnRumbleStripFrontLeft",
+            "wheelOnRumbleStripFrontRight",
+            "wheelOnRumbleStripRearLeft",
+            "wheelOnRumbleStripRearRight",
+            "wheelInPuddleDepthFrontLeft",
+            "wheelInPuddleDepthFrontRight",
+            "wheelInPuddleDepthRearLeft",
+            "wheelInPuddleDepthRearRight",
+            "surfaceRumbleFrontLeft",
+            "surfaceRumbleFrontRight",
+            "surfaceRumbleRearLeft",
+            "surfaceRumbleRearRight",
+            "tireSlipAngleFrontLeft",
+            "tireSlipAngleFrontRight",
+            "tireSlipAngleRearLeft",
+            "tireSlipAngleRearRight",
+            "tireCombinedSlipFrontLeft",
+            "tireCombinedSlipFrontRight",
+            "tireCombinedSlipRearLeft",
+            "tireCombinedSlipRearRight",
+            "suspensionTravelMetersFrontLeft",
+            "suspensionTravelMetersFrontRight",
+            "suspensionTravelMetersRearLeft",
+            "suspensionTravelMetersRearRight",
+            "ordinal",
+            "carClass",
+            "carPerformanceIndex",
+            "drivetrainType",
+            "numOfCylinders",
+            "carType",
+            "objectHit",
+            "positionX",
+            "positionY",
+            "positionZ",
+            "speed",
+            "power",
+            "torque",
+            "tireTempFrontLeft",
+            "tireTempFrontRight",
+            "tireTempRearLeft",
+            "tireTempRearRight",
+            "boost",
+            "fuel",
+            "distanceTraveled",
+            "bestLap",
+            "lastLap",
+            "currentLap",
+            "currentRaceTime",
+            "lapNumber",
+            "racePosition",
+            "throttle",
+            "brake",
+            "clutch",
+            "handbrake",
+            "gear",
+            "steer",
+            "normalizedDrivingLine",
+            "normalizedAIBrakeDifference",
+            "tireWearFrontLeft",
+            "tireWearFrontRight",
+            "tireWearRearLeft",
+            "tireWearRearRight",
+            "trackOrdinal"
+    };
+    static final byte[] TYPES = {
+            INT64,
+            UINT8,
+            INT64,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            INT32,
+            INT32,
+            INT32,
+            INT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            INT32,
+            INT32,
+            INT32,
+            INT32,
+            INT32,
+            INT32,
+            INT64,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            INT16,
+            UINT8,
+            UINT8,
+            UINT8,
+            UINT8,
+            UINT8,
+            UINT8,
+            INT8,
+            INT8,
+            INT8,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            FLOAT32,
+            INT32
+    };
+    //Bytes of one row over all columns
+    static final int ROW_SIZE = 352;
+
+    private int size;
+    private final long[] receiveTimeNs;
+    private final byte[] isRaceOn;
+    private final long[] timeStampMS;
+    private final float[] engineMaxRpm;
+    private final float[] engineIdleRpm;
+    private final float[] currentEngineRpm;
+    private final float[] accelerationX;
+    private final float[] accelerationY;
+    private final float[] accelerationZ;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] velocityZ;
+    private final float[] angularVelocityX;
+    private final float[] angularVelocityY;
+    private final float[] angularVelocityZ;
+    private final float[] yaw;
+    private final float[] pitch;
+    private final float[] roll;
+    private final float[] normalizedSuspensionTravelFrontLeft;
+    private final float[] normalizedSuspensionTravelFrontRight;
+    private final float[] normalizedSuspensionTravelRearLeft;
+    private final float[] normalizedSuspensionTravelRearRight;
+    private final float[] tireSlipRatioFrontLeft;
+    private final float[] tireSlipRatioFrontRight;
+    private final float[] tireSlipRatioRearLeft;
+    private final float[] tireSlipRatioRearRight;
+    private final float[] wheelRotationSpeedFrontLeft;
+    private final float[] wheelRotationSpeedFrontRight;
+    private final float[] wheelRotationSpeedRearLeft;
+    private final float[] wheelRotationSpeedRearRight;
+    private final int[] wheelOnRumbleStripFrontLeft;
+    private final int[] wheelOnRumbleStripFrontRight;
+    private final int[] wheelOnRumbleStripRearLeft;
+    private final int[] wheelOnRumbleStripRearRight;
+    private final float[] wheelInPuddleDepthFrontLeft;
+    private final float[] wheelInPuddleDepthFrontRight;
+    private final float[] wheelInPuddleDepthRearLeft;
+    private final float[] wheelInPuddleDepthRearRight;
+    private final float[] surfaceRumbleFrontLeft;
+    private final float[] surfaceRumbleFrontRight;
+    private final float[] surfaceRumbleRearLeft;
+    private final float[] surfaceRumbleRearRight;
+    private final float[] tireSlipAngleFrontLeft;
+    private final float[] tireSlipAngleFrontRight;
+    private final float[] tireSlipAngleRearLeft;
+    private final float[] tireSlipAngleRearRight;
+    private final float[] tireCombinedSlipFrontLeft;
+    private final float[] tireCombinedSlipFrontRight;
+    private final float[] tireCombinedSlipRearLeft;
+    private final float[] tireCombinedSlipRearRight;
+    private final float[] suspensionTravelMetersFrontLeft;
+    private final float[] suspensionTravelMetersFrontRight;
+    private final float[] suspensionTravelMetersRearLeft;
+    private final float[] suspensionTravelMetersRearRight;
+    private final int[] ordinal;
+    private final int[] carClass;
+    private final int[] carPerformanceIndex;
+    private final int[] drivetrainType;
+    private final int[] numOfCylinders;
+    private final int[] carType;
+    private final long[] objectHit;
+    private final float[] positionX;
+    private final float[] positionY;
+    private final float[] positionZ;
+    private final float[] speed;
+    private final float[] power;
+    private final float[] torque;
+    private final float[] tireTempFrontLeft;
+    private final float[] tireTempFrontRight;
+    private final float[] tireTempRearLeft;
+    private final float[] tireTempRearRight;
+    private final float[] boost;
+    private final float[] fuel;
+    private final float[] distanceTraveled;
+    private final float[] bestLap;
+    private final float[] lastLap;
+    private final float[] currentLap;
+    private final float[] currentRaceTime;
+    private final short[] lapNumber;
+    private final byte[] racePosition;
+    private final byte[] throttle;
+    private final byte[] brake;
+    private final byte[] clutch;
+    private final byte[] handbrake;
+    private final byte[] gear;
+    private final byte[] steer;
+    private final byte[] normalizedDrivingLine;
+    private final byte[] normalizedAIBrakeDifference;
+    private final float[] tireWearFrontLeft;
+    private final float[] tireWearFrontRight;
+    private final float[] tireWearRearLeft;
+    private final float[] tireWearRearRight;
+    private final int[] trackOrdinal;
+
+    ForzaColumnChunk(int capacity) {
+        receiveTimeNs = new long[capacity];
+        isRaceOn = new byte[capacity];
+        timeStampMS = new long[capacity];
+        engineMaxRpm = new float[capacity];
+        engineIdleRpm = new float[capacity];
+        currentEngineRpm = new float[capacity];
+        accelerationX = new float[capacity];
+        accelerationY = new float[capacity];
+        accelerationZ = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        velocityZ = new float[capacity];
+        angularVelocityX = new float[capacity];
+        angularVelocityY = new float[capacity];
+        angularVelocityZ = new float[capacity];
+        yaw = new float[capacity];
+        pitch = new float[capacity];
+        roll = new float[capacity];
+        normalizedSuspensionTravelFrontLeft = new float[capacity];
+        normalizedSuspensionTravelFrontRight = new float[capacity];
+        normalizedSuspensionTravelRearLeft = new float[capacity];
+        normalizedSuspensionTravelRearRight = new float[capacity];
+        tireSlipRatioFrontLeft = new float[capacity];
+        tireSlipRatioFrontRight = new float[capacity];
+        tireSlipRatioRearLeft = new float[capacity];
+        tireSlipRatioRearRight = new float[capacity];
+        wheelRotationSpeedFrontLeft = new float[capacity];
+        wheelRotationSpeedFrontRight = new float[capacity];
+        wheelRotationSpeedRearLeft = new float[capacity];
+        wheelRotationSpeedRearRight = new float[capacity];
+        wheelOnRumbleStripFrontLeft = new int[capacity];
+        wheelOnRumbleStripFrontRight = new int[capacity];
+        wheelOnRumbleStripRearLeft = new int[capacity];
+        wheelOnRumbleStripRearRight = new int[capacity];
+        wheelInPuddleDepthFrontLeft = new float[capacity];
+        wheelInPuddleDepthFrontRight = new float[capacity];
+        wheelInPuddleDepthRearLeft = new float[capacity];
+        wheelInPuddleDepthRearRight = new float[capacity];
+        surfaceRumbleFrontLeft = new float[capacity];
+        surfaceRumbleFrontRight = new float[capacity];
+        surfaceRumbleRearLeft = new float[capacity];
+        surfaceRumbleRearRight = new float[capacity];
+        tireSlipAngleFrontLeft = new float[capacity];
+        tireSlipAngleFrontRight = new float[capacity];
+        tireSlipAngleRearLeft = new float[capacity];
+        tireSlipAngleRearRight = new float[capacity];
+        tireCombinedSlipFrontLeft = new float[capacity];
+        tireCombinedSlipFrontRight = new float[capacity];
+        tireCombinedSlipRearLeft = new float[capacity];
+        tireCombinedSlipRearRight = new float[capacity];
+        suspensionTravelMetersFrontLeft = new float[capacity];
+        suspensionTravelMetersFrontRight = new float[capacity];
+        suspensionTravelMetersRearLeft = new float[capacity];
+        suspensionTravelMetersRearRight = new float[capacity];
+        ordinal = new int[capacity];
+        carClass = new int[capacity];
+        carPerformanceIndex = new int[capacity];
+        drivetrainType = new int[capacity];
+        numOfCylinders = new int[capacity];
+        carType = new int[capacity];
+        objectHit = new long[capacity];
+        positionX = new float[capacity];
+        positionY = new float[capacity];
+        positionZ = new float[capacity];
+        speed = new float[capacity];
+        power = new float[capacity];
+        torque = new float[capacity];
+        tireTempFrontLeft = new float[capacity];
+        tireTempFrontRight = new float[capacity];
+        tireTempRearLeft = new float[capacity];
+        tireTempRearRight = new float[capacity];
+        boost = new float[capacity];
+        fuel = new float[capacity];
+        distanceTraveled = new float[capacity];
+        bestLap = new float[capacity];
+        lastLap = new float[capacity];
+        currentLap = new float[capacity];
+        currentRaceTime = new float[capacity];
+        lapNumber = new short[capacity];
+        racePosition = new byte[capacity];
+        throttle = new byte[capacity];
+        brake = new byte[capacity];
+        clutch = new byte[capacity];
+        handbrake = new byte[capacity];
+        gear = new byte[capacity];
+        steer = new byte[capacity];
+        normalizedDrivingLine = new byte[capacity];
+        normalizedAIBrakeDifference = new byte[capacity];
+        tireWearFrontLeft = new float[capacity];
+        tireWearFrontRight = new float[capacity];
+        tireWearRearLeft = new float[capacity];
+        tireWearRearRight = new float[capacity];
+        trackOrdinal = new int[capacity];
+    }
+
+    void add(ForzaTelemetryFrame frame, long receiveTime) {
+        int i = size++;
+        receiveTimeNs[i] = receiveTime;
+        isRaceOn[i] = (byte) (frame.getIsRaceOn() ? 1 : 0);
+        timeStampMS[i] = frame.getTimeStampMS();
+        engineMaxRpm[i] = frame.getEngineMaxRpm();
+        engineIdleRpm[i] = frame.getEngineIdleRpm();
+        currentEngineRpm[i] = frame.getCurrentEngineRpm();
+        accelerationX[i] = frame.getAccelerationX();
+        accelerationY[i] = frame.getAccelerationY();
+        accelerationZ[i] = frame.getAccelerationZ();
+        velocityX[i] = frame.getVelocityX();
+        velocityY[i] = frame.getVelocityY();
+        velocityZ[i] = frame.getVelocityZ();
+        angularVelocityX[i] = frame.getAngularVelocityX();
+        angularVelocityY[i] = frame.getAngularVelocityY();
+        angularVelocityZ[i] = frame.getAngularVelocityZ();
+        yaw[i] = frame.getYaw();
+        pitch[i] = frame.getPitch();
+        roll[i] = frame.getRoll();
+        normalizedSuspensionTravelFrontLeft[i] = frame.getNormalizedSuspensionTravelFrontLeft();
+        normalizedSuspensionTravelFrontRight[i] = frame.getNormalizedSuspensionTravelFrontRight();
+        normalizedSuspensionTravelRearLeft[i] = frame.getNormalizedSuspensionTravelRearLeft();
+        normalizedSuspensionTravelRearRight[i] = frame.getNormalizedSuspensionTravelRearRight();
+        tireSlipRatioFrontLeft[i] = frame.getTireSlipRatioFrontLeft();
+        tireSlipRatioFrontRight[i] = frame.getTireSlipRatioFrontRight();
+        tireSlipRatioRearLeft[i] = frame.getTireSlipRatioRearLeft();
+        tireSlipRatioRearRight[i] = frame.getTireSlipRatioRearRight();
+        wheelRotationSpeedFrontLeft[i] = frame.getWheelRotationSpeedFrontLeft();
+        wheelRotationSpeedFrontRight[i] = frame.getWheelRotationSpeedFrontRight();
+        wheelRotationSpeedRearLeft[i] = frame.getWheelRotationSpeedRearLeft();
+        wheelRotationSpeedRearRight[i] = frame.getWheelRotationSpeedRearRight();
+        wheelOnRumbleStripFrontLeft[i] = frame.getWheelOnRumbleStripFrontLeft();
+        wheelOnRumbleStripFrontRight[i] = frame.getWheelOnRumbleStripFrontRight();
+        wheelOnRumbleStripRearLeft[i] = frame.getWheelOnRumbleStripRearLeft();
+        wheelOnRumbleStripRearRight[i] = frame.getWheelOnRumbleStripRearRight();
+        wheelInPuddleDepthFrontLeft[i] = frame.getWheelInPuddleDepthFrontLeft();
+        wheelInPuddleDepthFrontRight[i] = frame.getWheelInPuddleDepthFrontRight();
+        wheelInPuddleDepthRearLeft[i] = frame.getWheelInPuddleDepthRearLeft();
+        wheelInPuddleDepthRearRight[i] = frame.getWheelInPuddleDepthRearRight();
+        surfaceRumbleFrontLeft[i] = frame.getSurfaceRumbleFrontLeft();
+        surfaceRumbleFrontRight[i] = frame.getSurfaceRumbleFrontRight();
+        surfaceRumbleRearLeft[i] = frame.getSurfaceRumbleRearLeft();
+        surfaceRumbleRearRight[i] = frame.getSurfaceRumbleRearRight();
+        tireSlipAngleFrontLeft[i] = frame.getTireSlipAngleFrontLeft();
+        tireSlipAngleFrontRight[i] = frame.getTireSlipAngleFrontRight();
+        tireSlipAngleRearLeft[i] = frame.getTireSlipAngleRearLeft();
+        tireSlipAngleRearRight[i] = frame.getTireSlipAngleRearRight();
+        tireCombinedSlipFrontLeft[i] = frame.getTireCombinedSlipFrontLeft();
+        tireCombinedSlipFrontRight[i] = frame.getTireCombinedSlipFrontRight();
+        tireCombinedSlipRearLeft[i] = frame.getTireCombinedSlipRearLeft();
+        tireCombinedSlipRearRight[i] = frame.getTireCombinedSlipRearRight();
+        suspensionTravelMetersFrontLeft[i] = frame.getSuspensionTravelMetersFrontLeft();
+        suspensionTravelMetersFrontRight[i] = frame.getSuspensionTravelMetersFrontRight();
+        suspensionTravelMetersRearLeft[i] = frame.getSuspensionTravelMetersRearLeft();
+        suspensionTravelMetersRearRight[i] = frame.getSuspensionTravelMetersRearRight();
+        ordinal[i] = frame.getOrdinal();
+        carClass[i] = frame.getCarClass();
+        carPerformanceIndex[i] = frame.getCarPerformanceIndex();
+        drivetrainType[i] = frame.getDrivetrainType();
+        numOfCylinders[i] = frame.getNumOfCylinders();
+        carType[i] = frame.getCarType();
+        objectHit[i] = frame.getObjectHit();
+        positionX[i] = frame.getPositionX();
+        positionY[i] = frame.getPositionY();
+        positionZ[i] = frame.getPositionZ();
+        speed[i] = frame.getSpeed();
+        power[i] = frame.getPower();
+        torque[i] = frame.getTorque();
+        tireTempFrontLeft[i] = frame.getTireTempFrontLeft();
+        tireTempFrontRight[i] = frame.getTireTempFrontRight();
+        tireTempRearLeft[i] = frame.getTireTempRearLeft();
+        tireTempRearRight[i] = frame.getTireTempRearRight();
+        boost[i] = frame.getBoost();
+        fuel[i] = frame.getFuel();
+        distanceTraveled[i] = frame.getDistanceTraveled();
+        bestLap[i] = frame.getBestLap();
+        lastLap[i] = frame.getLastLap();
+        currentLap[i] = frame.getCurrentLap();
+        currentRaceTime[i] = frame.getCurrentRaceTime();
+        lapNumber[i] = (short) frame.getLapNumber();
+        racePosition[i] = (byte) frame.getRacePosition();
+        throttle[i] = (byte) frame.getThrottle();
+        brake[i] = (byte) frame.getBrake();
+        clutch[i] = (byte) frame.getClutch();
+        handbrake[i] = (byte) frame.getHandbrake();
+        gear[i] = (byte) frame.getGear();
+        steer[i] = (byte) frame.getSteer();
+        normalizedDrivingLine[i] = (byte) frame.getNormalizedDrivingLine();
+        normalizedAIBrakeDifference[i] = (byte) frame.getNormalizedAIBrakeDifference();
+        tireWearFrontLeft[i] = frame.getTireWearFrontLeft();
+        tireWearFrontRight[i] = frame.getTireWearFrontRight();
+        tireWearRearLeft[i] = frame.getTireWearRearLeft();
+        tireWearRearRight[i] = frame.getTireWearRearRight();
+        trackOrdinal[i] = frame.getTrackOrdinal();
+    }
+
+    int size() {
+        return size;
+    }
+
+    //Row count followed by each column's values back to back, little endian
+    byte[] toColumns() {
+        ByteBuffer out = ByteBuffer.allocate(4 + size * ROW_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(size);
+        for (int i = 0; i < size; i++) out.putLong(receiveTimeNs[i]);
+        for (int i = 0; i < size; i++) out.put(isRaceOn[i]);
+        for (int i = 0; i < size; i++) out.putLong(timeStampMS[i]);
+        for (int i = 0; i < size; i++) out.putFloat(engineMaxRpm[i]);
+        for (int i = 0; i < size; i++) out.putFloat(engineIdleRpm[i]);
+        for (int i = 0; i < size; i++) out.putFloat(currentEngineRpm[i]);
+        for (int i = 0; i < size; i++) out.putFloat(accelerationX[i]);
+        for (int i = 0; i < size; i++) out.putFloat(accelerationY[i]);
+        for (int i = 0; i < size; i++) out.putFloat(accelerationZ[i]);
+        for (int i = 0; i < size; i++) out.putFloat(velocityX[i]);
+        for (int i = 0; i < size; i++) out.putFloat(velocityY[i]);
+        for (int i = 0; i < size; i++) out.putFloat(velocityZ[i]);
+        for (int i = 0; i < size; i++) out.putFloat(angularVelocityX[i]);
+        for (int i = 0; i < size; i++) out.putFloat(angularVelocityY[i]);
+        for (int i = 0; i < size; i++) out.putFloat(angularVelocityZ[i]);
+        for (int i = 0; i < size; i++) out.putFloat(yaw[i]);
+        for (int i = 0; i < size; i++) out.putFloat(pitch[i]);
+        for (int i = 0; i < size; i++) out.putFloat(roll[i]);
+        for (int i = 0; i < size; i++) out.putFloat(normalizedSuspensionTravelFrontLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(normalizedSuspensionTravelFrontRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(normalizedSuspensionTravelRearLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(normalizedSuspensionTravelRearRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireSlipRatioFrontLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireSlipRatioFrontRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireSlipRatioRearLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireSlipRatioRearRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(wheelRotationSpeedFrontLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(wheelRotationSpeedFrontRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(wheelRotationSpeedRearLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(wheelRotationSpeedRearRight[i]);
+        for (int i = 0; i < size; i++) out.putInt(wheelOnRumbleStripFrontLeft[i]);
+        for (int i = 0; i < size; i++) out.putInt(wheelOnRumbleStripFrontRight[i]);
+        for (int i = 0; i < size; i++) out.putInt(wheelOnRumbleStripRearLeft[i]);
+        for (int i = 0; i < size; i++) out.putInt(wheelOnRumbleStripRearRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(wheelInPuddleDepthFrontLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(wheelInPuddleDepthFrontRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(wheelInPuddleDepthRearLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(wheelInPuddleDepthRearRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(surfaceRumbleFrontLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(surfaceRumbleFrontRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(surfaceRumbleRearLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(surfaceRumbleRearRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireSlipAngleFrontLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireSlipAngleFrontRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireSlipAngleRearLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireSlipAngleRearRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireCombinedSlipFrontLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireCombinedSlipFrontRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireCombinedSlipRearLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireCombinedSlipRearRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(suspensionTravelMetersFrontLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(suspensionTravelMetersFrontRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(suspensionTravelMetersRearLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(suspensionTravelMetersRearRight[i]);
+        for (int i = 0; i < size; i++) out.putInt(ordinal[i]);
+        for (int i = 0; i < size; i++) out.putInt(carClass[i]);
+        for (int i = 0; i < size; i++) out.putInt(carPerformanceIndex[i]);
+        for (int i = 0; i < size; i++) out.putInt(drivetrainType[i]);
+        for (int i = 0; i < size; i++) out.putInt(numOfCylinders[i]);
+        for (int i = 0; i < size; i++) out.putInt(carType[i]);
+        for (int i = 0; i < size; i++) out.putLong(objectHit[i]);
+        for (int i = 0; i < size; i++) out.putFloat(positionX[i]);
+        for (int i = 0; i < size; i++) out.putFloat(positionY[i]);
+        for (int i = 0; i < size; i++) out.putFloat(positionZ[i]);
+        for (int i = 0; i < size; i++) out.putFloat(speed[i]);
+        for (int i = 0; i < size; i++) out.putFloat(power[i]);
+        for (int i = 0; i < size; i++) out.putFloat(torque[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireTempFrontLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireTempFrontRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireTempRearLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireTempRearRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(boost[i]);
+        for (int i = 0; i < size; i++) out.putFloat(fuel[i]);
+        for (int i = 0; i < size; i++) out.putFloat(distanceTraveled[i]);
+        for (int i = 0; i < size; i++) out.putFloat(bestLap[i]);
+        for (int i = 0; i < size; i++) out.putFloat(lastLap[i]);
+        for (int i = 0; i < size; i++) out.putFloat(currentLap[i]);
+        for (int i = 0; i < size; i++) out.putFloat(currentRaceTime[i]);
+        for (int i = 0; i < size; i++) out.putShort(lapNumber[i]);
+        for (int i = 0; i < size; i++) out.put(racePosition[i]);
+        for (int i = 0; i < size; i++) out.put(throttle[i]);
+        for (int i = 0; i < size; i++) out.put(brake[i]);
+        for (int i = 0; i < size; i++) out.put(clutch[i]);
+        for (int i = 0; i < size; i++) out.put(handbrake[i]);
+        for (int i = 0; i < size; i++) out.put(gear[i]);
+        for (int i = 0; i < size; i++) out.put(steer[i]);
+        for (int i = 0; i < size; i++) out.put(normalizedDrivingLine[i]);
+        for (int i = 0; i < size; i++) out.put(normalizedAIBrakeDifference[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireWearFrontLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireWearFrontRight[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireWearRearLeft[i]);
+        for (int i = 0; i < size; i++) out.putFloat(tireWearRearRight[i]);
+        for (int i = 0; i < size; i++) out.putInt(trackOrdinal[i]);
+        return out.array();
+    }
+
+    static String csvHeader() {
+        return String.join(",", NAMES) + "\n";
+    }
+
+    //Floats are written with Float.toString, the shortest text that reads back to the same float
+    byte[] toCsv() {
+        StringBuilder sb = new StringBuilder(size * 700);
+        for (int i = 0; i < size; i++) {
+            sb.append(receiveTimeNs[i]).append(',');
+            sb.append(isRaceOn[i] & 0xff).append(',');
+            sb.append(timeStampMS[i]).append(',');
+            sb.append(engineMaxRpm[i]).append(',');
+            sb.append(engineIdleRpm[i]).append(',');
+            sb.append(currentEngineRpm[i]).append(',');
+            sb.append(accelerationX[i]).append(',');
+            sb.append(accelerationY[i]).append(',');
+            sb.append(accelerationZ[i]).append(',');
+            sb.append(velocityX[i]).append(',');
+            sb.append(velocityY[i]).append(',');
+            sb.append(velocityZ[i]).append(',');
+            sb.append(angularVelocityX[i]).append(',');
+            sb.append(angularVelocityY[i]).append(',');
+            sb.append(angularVelocityZ[i]).append(',');
+            sb.append(yaw[i]).append(',');
+            sb.append(pitch[i]).append(',');
+            sb.append(roll[i]).append(',');
+            sb.append(normalizedSuspensionTravelFrontLeft[i]).append(',');
+            sb.append(normalizedSuspensionTravelFrontRight[i]).append(',');
+            sb.append(normalizedSuspensionTravelRearLeft[i]).append(',');
+            sb.append(normalizedSuspensionTravelRearRight[i]).append(',');
+            sb.append(tireSlipRatioFrontLeft[i]).append(',');
+            sb.append(tireSlipRatioFrontRight[i]).append(',');
+            sb.append(tireSlipRatioRearLeft[i]).append(',');
+            sb.append(tireSlipRatioRearRight[i]).append(',');
+            sb.append(wheelRotationSpeedFrontLeft[i]).append(',');
+            sb.append(wheelRotationSpeedFrontRight[i]).append(',');
+            sb.append(wheelRotationSpeedRearLeft[i]).append(',');
+            sb.append(wheelRotationSpeedRearRight[i]).append(',');
+            sb.append(wheelOnRumbleStripFrontLeft[i]).append(',');
+            sb.append(wheelOnRumbleStripFrontRight[i]).append(',');
+            sb.append(wheelOnRumbleStripRearLeft[i]).append(',');
+            sb.append(wheelOnRumbleStripRearRight[i]).append(',');
+            sb.append(wheelInPuddleDepthFrontLeft[i]).append(',');
+            sb.append(wheelInPuddleDepthFrontRight[i]).append(',');
+            sb.append(wheelInPuddleDepthRearLeft[i]).append(',');
+            sb.append(wheelInPuddleDepthRearRight[i]).append(',');
+            sb.append(surfaceRumbleFrontLeft[i]).append(',');
+            sb.append(surfaceRumbleFrontRight[i]).append(',');
+            sb.append(surfaceRumbleRearLeft[i]).append(',');
+            sb.append(surfaceRumbleRearRight[i]).append(',');
+            sb.append(tireSlipAngleFrontLeft[i]).append(',');
+            sb.append(tireSlipAngleFrontRight[i]).append(',');
+            sb.append(tireSlipAngleRearLeft[i]).append(',');
+            sb.append(tireSlipAngleRearRight[i]).append(',');
+            sb.append(tireCombinedSlipFrontLeft[i]).append(',');
+            sb.append(tireCombinedSlipFrontRight[i]).append(',');
+            sb.append(tireCombinedSlipRearLeft[i]).append(',');
+            sb.append(tireCombinedSlipRearRight[i]).append(',');
+            sb.append(suspensionTravelMetersFrontLeft[i]).append(',');
+            sb.append(suspensionTravelMetersFrontRight[i]).append(',');
+            sb.append(suspensionTravelMetersRearLeft[i]).append(',');
+            sb.append(suspensionTravelMetersRearRight[i]).append(',');
+            sb.append(ordinal[i]).append(',');
+            sb.append(carClass[i]).append(',');
+            sb.append(carPerformanceIndex[i]).append(',');
+            sb.append(drivetrainType[i]).append(',');
+            sb.append(numOfCylinders[i]).append(',');
+            sb.append(carType[i]).append(',');
+            sb.append(objectHit[i]).append(',');
+            sb.append(positionX[i]).append(',');
+            sb.append(positionY[i]).append(',');
+            sb.append(positionZ[i]).append(',');
+            sb.append(speed[i]).append(',');
+            sb.append(power[i]).append(',');
+            sb.append(torque[i]).append(',');
+            sb.append(tireTempFrontLeft[i]).append(',');
+            sb.append(tireTempFrontRight[i]).append(',');
+            sb.append(tireTempRearLeft[i]).append(',');
+            sb.append(tireTempRearRight[i]).append(',');
+            sb.append(boost[i]).append(',');
+            sb.append(fuel[i]).append(',');
+            sb.append(distanceTraveled[i]).append(',');
+            sb.append(bestLap[i]).append(',');
+            sb.append(lastLap[i]).append(',');
+            sb.append(currentLap[i]).append(',');
+            sb.append(currentRaceTime[i]).append(',');
+            sb.append(lapNumber[i]).append(',');
+            sb.append(racePosition[i] & 0xff).append(',');
+            sb.append(throttle[i] & 0xff).append(',');
+            sb.append(brake[i] & 0xff).append(',');
+            sb.append(clutch[i] & 0xff).append(',');
+            sb.append(handbrake[i] & 0xff).append(',');
+            sb.append(gear[i] & 0xff).append(',');
+            sb.append(steer[i]).append(',');
+            sb.append(normalizedDrivingLine[i]).append(',');
+            sb.append(normalizedAIBrakeDifference[i]).append(',');
+            sb.append(tireWearFrontLeft[i]).append(',');
+            sb.append(tireWearFrontRight[i]).append(',');
+            sb.append(tireWearRearLeft[i]).append(',');
+            sb.append(tireWearRearRight[i]).append(',');
+            sb.append(trackOrdinal[i]);
+            sb.append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,58 @@
+package root.forza.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+//Lifecycle handle for everything a ForzaTelemetryBuilder started. stop() closes the sockets and selectors,
+//which unblocks the receive threads, and shuts down any dispatch threads behind them.
+public class ForzaConnection implements AutoCloseable {
+    private final List<Thread> threads;
+    private final List<Closeable> resources;
+    private volatile boolean started, stopped;
+
+    ForzaConnection(List<Thread> threads, List<Closeable> resources) {
+        this.threads = threads;
+        this.resources = resources;
+    }
+
+    public synchronized ForzaConnection start() {
+        if (stopped) throw new IllegalStateException("Connection was already stopped");
+        if (!started) {
+            for (Thread thread : threads) thread.start();
+            started = true;
+        }
+        return this;
+    }
+
+    public synchronized void stop() {
+        if (stopped) return;
+        stopped = true;
+        for (Closeable resource : resources) {
+            try {
+                resource.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    //Waits for every receive thread to finish, normally after stop()
+    public void join() throws InterruptedException {
+        for (Thread thread : threads) {
+            if (thread.getState() != Thread.State.NEW) thread.join();
+        }
+    }
+
+    public boolean isRunning() {
+        for (Thread thread : threads) {
+            if (thread.isAlive()) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+}
@@ -0,0 +1,344 @@
+package root.forza.telemetry;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//Lossless packet compression against the previous packet, used by the relay and for capture files
+//(ForzaCaptureConverter.Format.DELTA). A packet is split into 4 byte words, the float fields in every layout.
+//Static fields (car, limits, inputs while cruising) are unchanged from one packet to the next and cost a bit in a
+//change bitmap. Every changed word is stored as whichever residual takes the fewest bytes: the XOR of its bits
+//with the previous packet's (Gorilla style, similar floats share sign, exponent and top mantissa bits), the
+//difference of the bits, or the difference from a straight line through the last two packets, which is close to
+//zero for smooth values such as positions, distance and times.
+//
+//Encoded packet: byte flags, byte sequence, then
+//  keyframe: varint length, the raw packet
+//  unchanged: nothing more
+//  delta: change bitmap, one nibble per changed word (residual kind << 2 | bytes - 1), residuals little endian.
+//A length change always starts a keyframe. The decoder needs every packet since the last keyframe, so over a lossy
+//transport the encoder sends a keyframe every keyframeInterval packets and the decoder skips until the next one.
+public final class ForzaDeltaCodec {
+    //A keyframe a second at 60Hz, what is lost when a relayed packet goes missing
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 60;
+
+    static final int KEYFRAME = 1;
+    static final int UNCHANGED = 2;
+    private static final int XOR = 0;
+    private static final int DELTA = 1;
+    private static final int LINEAR = 2;
+
+    private ForzaDeltaCodec() {}
+
+    //Upper bound of an encoded packet, a delta never gets larger than the keyframe it falls back to
+    public static int maxEncodedLength(int length) {
+        return 2 + 5 + length;
+    }
+
+    public static final class Encoder {
+        private final int keyframeInterval;
+        private final byte[] bitmap = new byte[(ForzaCapture.MAX_PACKET_SIZE + 31) / 32];
+        private final byte[] nibbles = new byte[(ForzaCapture.MAX_PACKET_SIZE + 3) / 4];
+        private final int[] residuals = new int[nibbles.length];
+        private int[] current = new int[0];
+        private int[] previous = new int[0];
+        private int[] beforePrevious = new int[0];
+        private int length = -1;
+        private int sequence;
+        private int sinceKeyframe;
+
+        //0 sends a single keyframe, right for a file that is always read from the start
+        public Encoder(int keyframeInterval) {
+            this.keyframeInterval = keyframeInterval;
+        }
+
+        public Encoder() {
+            this(DEFAULT_KEYFRAME_INTERVAL);
+        }
+
+        //Encodes packet[0, limit) at out's position and advances it, returns the number of bytes written
+        public int encode(ByteBuffer packet, ByteBuffer out) {
+            int start = out.position();
+            int packetLength = packet.limit();
+            int words = (packetLength + 3) / 4;
+            if (current.length < words) {
+                current = new int[words];
+                previous = new int[words];
+                beforePrevious = new int[words];
+                length = -1;
+            }
+            readWords(packet, packetLength, current);
+            boolean keyframe = packetLength != length || (keyframeInterval > 0 && sinceKeyframe >= keyframeInterval)
+                    || !encodeDelta(words, out.put((byte) 0).put((byte) sequence));
+            if (keyframe) {
+                out.position(start).put((byte) KEYFRAME).put((byte) sequence);
+                putVarLong(out, packetLength);
+                out.put(out.position(), packet, 0, packetLength);
+                out.position(out.position() + packetLength);
+                length = packetLength;
+                sinceKeyframe = 0;
+                //Both references are this packet, so the first line through them is flat
+                System.arraycopy(current, 0, previous, 0, words);
+                System.arraycopy(current, 0, beforePrevious, 0, words);
+            } else {
+                if (out.position() - start - 2 == bitmapLength(words)) {
+                    out.position(start).put((byte) UNCHANGED).put((byte) sequence);
+                }
+                int[] oldest = beforePrevious;
+                beforePrevious = previous;
+                previous = current;
+                current = oldest;
+            }
+            sequence = (sequence + 1) & 0xff;
+            sinceKeyframe++;
+            return out.position() - start;
+        }
+
+        //False once the delta would be larger than a keyframe, e.g. a car change; out is rewound by encode then
+        private boolean encodeDelta(int words, ByteBuffer out) {
+            int bitmapLength = bitmapLength(words);
+            Arrays.fill(bitmap, 0, bitmapLength, (byte) 0);
+            int changed = 0, residualBytes = 0;
+            for (int i = 0; i < words; i++) {
+                int word = current[i];
+                int last = previous[i];
+                if (word == last) continue;
+                bitmap[i >> 3] |= (byte) (1 << (i & 7));
+                int kind = XOR, residual = word ^ last;
+                int delta = zigzag(word - last);
+                if (Integer.compareUnsigned(delta, residual) < 0) {
+                    kind = DELTA;
+                    residual = delta;
+                }
+                int linear = zigzag(word - (2 * last - beforePrevious[i]));
+                if (Integer.compareUnsigned(linear, residual) < 0) {
+                    kind = LINEAR;
+                    residual = linear;
+                }
+                int bytes = byteCount(residual);
+                nibbles[changed] = (byte) (kind << 2 | (bytes - 1));
+                residuals[changed++] = residual;
+                residualBytes += bytes;
+            }
+            if (bitmapLength + (changed + 1) / 2 + residualBytes > 5 + length || out.remaining() < 5 + length) return false;
+            out.put(bitmap, 0, bitmapLength);
+            for (int i = 0; i < changed; i += 2) {
+                out.put((byte) (nibbles[i] | (i + 1 < changed ? nibbles[i + 1] << 4 : 0)));
+            }
+            for (int i = 0; i < changed; i++) {
+                int residual = residuals[i];
+                for (int b = (nibbles[i] & 3) + 1; b > 0; b--, residual >>>= 8) out.put((byte) residual);
+            }
+            return true;
+        }
+
+        //The next packet is sent as a keyframe, e.g. for a new destination joining a stream
+        public void reset() {
+            length = -1;
+        }
+    }
+
+    public static final class Decoder {
+        private byte[] packet = new byte[0];
+        private int[] previous = new int[0];
+        private int[] beforePrevious = new int[0];
+        private int length = -1;
+        private int sequence;
+        private boolean synced;
+        private long skipped;
+
+        //Decodes the packet at in's position into out[0, limit) and advances in past it. Returns the packet
+        //length, or -1 while waiting for a keyframe after a missing packet; in is consumed either way.
+        public int decode(ByteBuffer in, ByteBuffer out) {
+            int flags = in.get() & 0xff;
+            int packetSequence = in.get() & 0xff;
+            if ((flags & KEYFRAME) != 0) {
+                readKeyframe(in);
+            } else if (length < 0) {
+                //Nothing to apply the delta to, nor a length to parse it with
+                in.position(in.limit());
+                skipped++;
+                return -1;
+            } else {
+                int words = (length + 3) / 4;
+                synced &= packetSequence == ((sequence + 1) & 0xff);
+                if ((flags & UNCHANGED) != 0) {
+                    System.arraycopy(previous, 0, beforePrevious, 0, words);
+                } else {
+                    readDelta(in, words, synced);
+                }
+            }
+            sequence = packetSequence;
+            if (!synced) {
+                skipped++;
+                return -1;
+            }
+            out.clear();
+            out.put(0, packet, 0, length);
+            out.limit(length);
+            return length;
+        }
+
+        //The length comes off the network or from a file, checked before anything is sized by it
+        private void readKeyframe(ByteBuffer in) {
+            long claimed = getVarLong(in);
+            if (claimed < 0 || claimed > ForzaCapture.MAX_PACKET_SIZE || claimed > in.remaining()) {
+                length = -1;
+                synced = false;
+                throw new IllegalArgumentException("Invalid keyframe length " + claimed);
+            }
+            length = (int) claimed;
+            int words = (length + 3) / 4;
+            if (previous.length < words) {
+                packet = new byte[words * 4];
+                previous = new int[words];
+                beforePrevious = new int[words];
+            }
+            in.get(packet, 0, length);
+            //Padding of the last word is zero, like the encoder's
+            Arrays.fill(packet, length, words * 4, (byte) 0);
+            ByteBuffer bytes = ByteBuffer.wrap(packet).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < words; i++) previous[i] = beforePrevious[i] = bytes.getInt(i * 4);
+            synced = true;
+        }
+
+        //Out of sync the residuals are only stepped over, the state is rebuilt by the next keyframe
+        private void readDelta(ByteBuffer in, int words, boolean apply) {
+            int bitmap = in.position();
+            int bitmapLength = bitmapLength(words);
+            int changed = 0;
+            for (int i = 0; i < bitmapLength; i++) changed += Integer.bitCount(in.get(bitmap + i) & 0xff);
+            int nibbles = bitmap + bitmapLength;
+            in.position(nibbles + (changed + 1) / 2);
+            int n = 0;
+            for (int i = 0; i < words; i++) {
+                int last = previous[i];
+                int before = beforePrevious[i];
+                beforePrevious[i] = last;
+                if ((in.get(bitmap + (i >> 3)) & 1 << (i & 7)) == 0) continue;
+                int nibble = in.get(nibbles + (n >> 1)) >> ((n & 1) * 4) & 0xf;
+                n++;
+                int residual = 0;
+                for (int b = 0, count = (nibble & 3) + 1; b < count; b++) residual |= (in.get() & 0xff) << (8 * b);
+                if (!apply) continue;
+                int word = switch (nibble >> 2) {
+                    case DELTA -> last + unzigzag(residual);
+                    case LINEAR -> 2 * last - before + unzigzag(residual);
+                    default -> last ^ residual;
+                };
+                previous[i] = word;
+                packet[i * 4] = (byte) word;
+                packet[i * 4 + 1] = (byte) (word >> 8);
+                packet[i * 4 + 2] = (byte) (word >> 16);
+                packet[i * 4 + 3] = (byte) (word >> 24);
+            }
+        }
+
+        //Packets dropped because one before them never arrived
+        public long getSkipped() {
+            return skipped;
+        }
+    }
+
+    //Decodes packets sent by a compressing ForzaRelay before handing them on, one decoder per sender
+    public static ForzaPacketHandler decoding(ForzaPacketHandler next) {
+        return decoding(next, ForzaSessionTable.DEFAULT_IDLE_TIMEOUT_MS);
+    }
+
+    //Decoders of senders silent for idleTimeoutMs are dropped, like ForzaSessionTable sessions; a sender coming
+    //back waits for its next keyframe
+    public static ForzaPacketHandler decoding(ForzaPacketHandler next, long idleTimeoutMs) {
+        Map<SocketAddress, SenderDecoder> decoders = new HashMap<>();
+        ByteBuffer packet = ByteBuffer.allocate(ForzaCapture.MAX_PACKET_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        //Idle senders are swept at most this often, not on every packet
+        long sweepIntervalNanos = Math.max(idleTimeoutNanos / 4, TimeUnit.MILLISECONDS.toNanos(100));
+        return new ForzaPacketHandler() {
+            private long lastSweepNanos = System.nanoTime();
+
+            @Override
+            public void onPacket(ByteBuffer encoded, SocketAddress sender) {
+                long now = System.nanoTime();
+                if (now - lastSweepNanos >= sweepIntervalNanos) {
+                    lastSweepNanos = now;
+                    decoders.values().removeIf(decoder -> now - decoder.lastSeenNanos > idleTimeoutNanos);
+                }
+                SenderDecoder decoder = decoders.computeIfAbsent(sender, s -> new SenderDecoder());
+                decoder.lastSeenNanos = now;
+                try {
+                    if (decoder.decoder.decode(encoded.position(0), packet) >= 0) {
+                        next.onPacket(packet, sender);
+                    }
+                } catch (RuntimeException e) {
+                    //Truncated or not encoded at all, the sender's next keyframe starts over
+                    decoders.remove(sender);
+                    e.printStackTrace();
+                }
+            }
+
+            @Override
+            public void flush() {
+                next.flush();
+            }
+
+            @Override
+            public long tick(long nowNanos) {
+                return next.tick(nowNanos);
+            }
+        };
+    }
+
+    private static final class SenderDecoder {
+        private final Decoder decoder = new Decoder();
+        private long lastSeenNanos;
+    }
+
+    //The last word of a packet whose length is not a multiple of 4 is padded with zeros
+    private static void readWords(ByteBuffer packet, int length, int[] words) {
+        ByteBuffer bytes = packet.order(ByteOrder.LITTLE_ENDIAN);
+        int full = length / 4;
+        for (int i = 0; i < full; i++) words[i] = bytes.getInt(i * 4);
+        if (full * 4 < length) {
+            int word = 0;
+            for (int b = 0; full * 4 + b < length; b++) word |= (bytes.get(full * 4 + b) & 0xff) << (8 * b);
+            words[full] = word;
+        }
+    }
+
+    private static int bitmapLength(int words) {
+        return (words + 7) / 8;
+    }
+
+    private static int byteCount(int value) {
+        return Math.max(1, (32 - Integer.numberOfLeadingZeros(value) + 7) / 8);
+    }
+
+    private static int zigzag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    private static int unzigzag(int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+    }
+}
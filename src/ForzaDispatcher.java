@@ -0,0 +1,28 @@
+package root.forza.telemetry;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+//Last stage of every receive path: binds the packet to a reused view and runs the listener callbacks.
+//Every sender gets its own session, so several consoles sending to one port don't mix up their state.
+public class ForzaDispatcher implements ForzaPacketHandler {
+    private final ForzaTelemetryView view = new ForzaTelemetryView();
+    private final ForzaSessionTable sessions;
+
+    public ForzaDispatcher(ForzaInterface listener) {
+        this(listener, ForzaSessionTable.DEFAULT_IDLE_TIMEOUT_MS);
+    }
+
+    public ForzaDispatcher(ForzaInterface listener, long idleTimeoutMs) {
+        sessions = new ForzaSessionTable(listener, idleTimeoutMs);
+    }
+
+    @Override
+    public void onPacket(ByteBuffer packet, SocketAddress sender) {
+        sessions.get(sender).accept(view.wrap(packet), sender);
+    }
+
+    public ForzaSessionTable getSessions() {
+        return sessions;
+    }
+}
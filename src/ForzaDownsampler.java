@@ -0,0 +1,180 @@
+package root.forza.telemetry;
+
+import java.net.DatagramPacket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Fan-out stage between a dispatcher and listeners that do not need all 60 packets a second.
+//Every listener gets its own rate and reduction; windows follow the game's timeStampMS, so replays
+//and real time sessions downsample the same way. A window is handed out when the first packet of the
+//next window arrives. Connection, pause and car change callbacks are passed to every listener as is.
+//Feed one downsampler per console (e.g. ForzaTelemetryBuilder.addListener(port, downsampler)).
+public class ForzaDownsampler implements ForzaInterface {
+    public enum Reduction {
+        //Latest packet at each window boundary, nothing is buffered
+        LAST,
+        //Float fields and pedal inputs averaged over the window, other fields from the last packet
+        MEAN,
+        //Two frames per window through onDataBatch, the per field minimum then the maximum
+        MIN_MAX
+    }
+
+    private final List<Output> outputs = new ArrayList<>();
+    private final ByteBuffer scratch = ByteBuffer.allocate(ForzaTelemetryApi.PACKET_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final ForzaTelemetryView scratchView = new ForzaTelemetryView();
+
+    public ForzaDownsampler add(ForzaInterface listener, double hz, Reduction reduction) {
+        if (hz <= 0) throw new IllegalArgumentException("Rate must be positive: " + hz);
+        outputs.add(new Output(listener, 1000.0 / hz, reduction));
+        return this;
+    }
+
+    //Reductions work on the Horizon layout, packets of other games are converted to it first
+    @Override
+    public void onView(ForzaTelemetryView view) {
+        if (!view.getFormat().hasCarType()) view = scratchView.wrap(view.frame().encode(scratch.clear()));
+        for (int i = 0; i < outputs.size(); i++) outputs.get(i).accept(view);
+    }
+
+    //Frames coming from a batch dispatcher or the boxed path are put back into packet layout first
+    @Override
+    public void onFrame(ForzaTelemetryFrame frame) {
+        onView(scratchView.wrap(frame.encode(scratch.clear())));
+    }
+
+    @Override
+    public void onDataReceived(ForzaTelemetryApi api) {
+        onFrame(api.getFrame());
+    }
+
+    @Override
+    public void onConnected(ForzaTelemetryApi api, DatagramPacket packet) {
+        for (Output output : outputs) output.listener.onConnected(api, packet);
+    }
+
+    @Override
+    public void onGamePaused() {
+        for (Output output : outputs) {
+            output.reset();
+            output.listener.onGamePaused();
+        }
+    }
+
+    @Override
+    public void onGameUnpaused() {
+        for (Output output : outputs) output.listener.onGameUnpaused();
+    }
+
+    @Override
+    public void onCarChanged(ForzaTelemetryApi api, VehicleData data) {
+        for (Output output : outputs) output.listener.onCarChanged(api, data);
+    }
+
+    @Override
+    public void onPacketGap(long fromTimeStampMS, long toTimeStampMS, int missed) {
+        for (Output output : outputs) output.listener.onPacketGap(fromTimeStampMS, toTimeStampMS, missed);
+    }
+
+    private static final class Output {
+        private final ForzaInterface listener;
+        private final double periodMs;
+        private final Reduction reduction;
+        private final ForzaTelemetryView view = new ForzaTelemetryView();
+        private ForzaTelemetryBatch envelope;
+        private ByteBuffer last;
+        private ByteBuffer min;
+        private ByteBuffer max;
+        private double[] sums;
+        private int count;
+        private double windowEnd = Double.NaN;
+
+        Output(ForzaInterface listener, double periodMs, Reduction reduction) {
+            this.listener = listener;
+            this.periodMs = periodMs;
+            this.reduction = reduction;
+            if (reduction == Reduction.LAST) return;
+            last = newPacket();
+            if (reduction == Reduction.MEAN) {
+                sums = new double[ForzaPacket.FLOAT_FIELDS.length + ForzaPacket.INPUT_FIELDS.length];
+            } else {
+                min = newPacket();
+                max = newPacket();
+                envelope = new ForzaTelemetryBatch(2);
+            }
+        }
+
+        private static ByteBuffer newPacket() {
+            return ByteBuffer.allocate(ForzaTelemetryApi.PACKET_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void reset() {
+            windowEnd = Double.NaN;
+            count = 0;
+        }
+
+        void accept(ForzaTelemetryView packet) {
+            long time = packet.getTimeStampMS();
+            if (Double.isNaN(windowEnd) || time < windowEnd - periodMs) {
+                //First packet, or the game clock went back (restart): start over
+                count = 0;
+                windowEnd = time + periodMs;
+                if (reduction == Reduction.LAST) listener.onView(packet);
+            } else if (time >= windowEnd) {
+                emit(packet);
+                //Stay on the fixed grid unless the stream stalled for more than a window
+                windowEnd = time - windowEnd < periodMs ? windowEnd + periodMs : time + periodMs;
+            }
+            if (reduction != Reduction.LAST) add(packet.buffer());
+        }
+
+        private void emit(ForzaTelemetryView packet) {
+            if (reduction == Reduction.LAST) {
+                listener.onView(packet);
+                return;
+            }
+            if (count == 0) return;
+            if (reduction == Reduction.MEAN) {
+                int n = 0;
+                for (int offset : ForzaPacket.FLOAT_FIELDS) last.putFloat(offset, (float) (sums[n++] / count));
+                for (int offset : ForzaPacket.INPUT_FIELDS) last.put(offset, (byte) Math.round(sums[n++] / count));
+                listener.onView(view.wrap(last));
+            } else {
+                envelope.clear();
+                envelope.add(view.wrap(min));
+                envelope.add(view.wrap(max));
+                listener.onDataBatch(envelope, 2);
+            }
+            count = 0;
+        }
+
+        private void add(ByteBuffer packet) {
+            int length = Math.min(packet.limit(), ForzaTelemetryApi.PACKET_SIZE);
+            last.put(0, packet, 0, length);
+            if (reduction == Reduction.MEAN) {
+                if (count == 0) Arrays.fill(sums, 0);
+                int n = 0;
+                for (int offset : ForzaPacket.FLOAT_FIELDS) sums[n++] += last.getFloat(offset);
+                for (int offset : ForzaPacket.INPUT_FIELDS) sums[n++] += last.get(offset) & 0xff;
+            } else if (count == 0) {
+                //Fields that are not averaged (ordinal, gear, lap...) come from the first packet of the window
+                min.put(0, last, 0, ForzaTelemetryApi.PACKET_SIZE);
+                max.put(0, last, 0, ForzaTelemetryApi.PACKET_SIZE);
+            } else {
+                for (int offset : ForzaPacket.FLOAT_FIELDS) {
+                    float value = last.getFloat(offset);
+                    if (value < min.getFloat(offset)) min.putFloat(offset, value);
+                    if (value > max.getFloat(offset)) max.putFloat(offset, value);
+                }
+                for (int offset : ForzaPacket.INPUT_FIELDS) {
+                    int value = last.get(offset) & 0xff;
+                    if (value < (min.get(offset) & 0xff)) min.put(offset, (byte) value);
+                    if (value > (max.get(offset) & 0xff)) max.put(offset, (byte) value);
+                }
+            }
+            count++;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package root.forza.telemetry;
+
+//Where a listener registered with ForzaTelemetryBuilder runs
+public enum ForzaExecution {
+    //On the thread that dispatches packets, a slow listener holds back everything behind it
+    INLINE,
+    //Own platform thread per listener
+    DEDICATED_THREAD,
+    //Pool shared by every listener of the connection, each listener still sees its events in order
+    SHARED_POOL,
+    //Virtual thread started whenever the listener has work, a dedicated thread before Java 21
+    VIRTUAL_THREAD
+}
@@ -0,0 +1,131 @@
+package root.forza.telemetry;
+
+import java.io.Closeable;
+import java.net.DatagramPacket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+//Several listeners behind one dispatcher. The socket is read, the session tracked and the packet decoded
+//once; inline listeners share the dispatcher's view (and its single frame decode), every other listener
+//gets its own copy of that frame through a ForzaSubscriber, so it can fall behind without holding up
+//the rest. Listeners off the dispatch thread receive onFrame, onView is only called for inline ones.
+public class ForzaFanout implements ForzaInterface, Closeable {
+    //Frames a non inline listener may fall behind before new ones are dropped, about 4 seconds at 60 Hz
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Executor sharedPool;
+    private final int capacity;
+    private final List<ForzaInterface> inline = new ArrayList<>();
+    private final List<ForzaSubscriber> subscribers = new ArrayList<>();
+
+    //SHARED_POOL listeners run on the common fork join pool
+    public ForzaFanout() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CAPACITY);
+    }
+
+    public ForzaFanout(Executor sharedPool, int capacity) {
+        this.sharedPool = sharedPool;
+        this.capacity = capacity;
+    }
+
+    public ForzaFanout add(ForzaInterface listener, ForzaExecution execution) {
+        if (execution == ForzaExecution.INLINE) {
+            inline.add(listener);
+        } else {
+            String name = "forza-listener-" + (inline.size() + subscribers.size());
+            subscribers.add(new ForzaSubscriber(listener, execution, sharedPool, capacity, name));
+        }
+        return this;
+    }
+
+    @Override
+    public void onView(ForzaTelemetryView view) {
+        for (int i = 0; i < inline.size(); i++) {
+            try {
+                inline.get(i).onView(view);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        if (!subscribers.isEmpty()) offer(view.frame());
+    }
+
+    @Override
+    public void onFrame(ForzaTelemetryFrame frame) {
+        for (int i = 0; i < inline.size(); i++) {
+            try {
+                inline.get(i).onFrame(frame);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        offer(frame);
+    }
+
+    @Override
+    public void onDataBatch(ForzaTelemetryBatch batch, int count) {
+        for (int i = 0; i < inline.size(); i++) {
+            try {
+                inline.get(i).onDataBatch(batch, count);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        for (int i = 0; i < count; i++) offer(batch.getFrame(i));
+    }
+
+    private void offer(ForzaTelemetryFrame frame) {
+        for (int i = 0; i < subscribers.size(); i++) subscribers.get(i).offerFrame(frame);
+    }
+
+    @Override
+    public void onDataReceived(ForzaTelemetryApi api) {
+        onFrame(api.getFrame());
+    }
+
+    @Override
+    public void onConnected(ForzaTelemetryApi api, DatagramPacket packet) {
+        for (ForzaInterface listener : inline) listener.onConnected(api, packet);
+        for (ForzaSubscriber subscriber : subscribers) subscriber.offerConnected(api, packet);
+    }
+
+    @Override
+    public void onGamePaused() {
+        for (ForzaInterface listener : inline) listener.onGamePaused();
+        for (ForzaSubscriber subscriber : subscribers) subscriber.offerPaused();
+    }
+
+    @Override
+    public void onGameUnpaused() {
+        for (ForzaInterface listener : inline) listener.onGameUnpaused();
+        for (ForzaSubscriber subscriber : subscribers) subscriber.offerUnpaused();
+    }
+
+    @Override
+    public void onCarChanged(ForzaTelemetryApi api, VehicleData data) {
+        for (ForzaInterface listener : inline) listener.onCarChanged(api, data);
+        for (ForzaSubscriber subscriber : subscribers) subscriber.offerCarChanged(api, data);
+    }
+
+    @Override
+    public void onPacketGap(long fromTimeStampMS, long toTimeStampMS, int missed) {
+        for (ForzaInterface listener : inline) listener.onPacketGap(fromTimeStampMS, toTimeStampMS, missed);
+        for (ForzaSubscriber subscriber : subscribers) subscriber.offerGap(fromTimeStampMS, toTimeStampMS, missed);
+    }
+
+    //Frames dropped because the listener was too far behind, 0 for inline listeners
+    public long getDropped(ForzaInterface listener) {
+        long dropped = 0;
+        for (ForzaSubscriber subscriber : subscribers) {
+            if (subscriber.getListener() == listener) dropped += subscriber.getDroppedFrames() + subscriber.getDroppedEvents();
+        }
+        return dropped;
+    }
+
+    @Override
+    public void close() {
+        for (ForzaSubscriber subscriber : subscribers) subscriber.close();
+    }
+}
@@ -0,0 +1,143 @@
+package root.forza.telemetry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+//Every value of a frame by name, the names being those of the CSV and columnar converter output. Used to pick
+//the fields a ForzaBroadcastServer client subscribes to. Integer fields are exact as doubles, floats are widened.
+public enum ForzaField {
+    IS_RACE_ON("isRaceOn", true, frame -> frame.getIsRaceOn() ? 1 : 0),
+    TIME_STAMP_MS("timeStampMS", true, ForzaTelemetryFrame::getTimeStampMS),
+    ENGINE_MAX_RPM("engineMaxRpm", false, ForzaTelemetryFrame::getEngineMaxRpm),
+    ENGINE_IDLE_RPM("engineIdleRpm", false, ForzaTelemetryFrame::getEngineIdleRpm),
+    CURRENT_ENGINE_RPM("currentEngineRpm", false, ForzaTelemetryFrame::getCurrentEngineRpm),
+    ACCELERATION_X("accelerationX", false, ForzaTelemetryFrame::getAccelerationX),
+    ACCELERATION_Y("accelerationY", false, ForzaTelemetryFrame::getAccelerationY),
+    ACCELERATION_Z("accelerationZ", false, ForzaTelemetryFrame::getAccelerationZ),
+    VELOCITY_X("velocityX", false, ForzaTelemetryFrame::getVelocityX),
+    VELOCITY_Y("velocityY", false, ForzaTelemetryFrame::getVelocityY),
+    VELOCITY_Z("velocityZ", false, ForzaTelemetryFrame::getVelocityZ),
+    ANGULAR_VELOCITY_X("angularVelocityX", false, ForzaTelemetryFrame::getAngularVelocityX),
+    ANGULAR_VELOCITY_Y("angularVelocityY", false, ForzaTelemetryFrame::getAngularVelocityY),
+    ANGULAR_VELOCITY_Z("angularVelocityZ", false, ForzaTelemetryFrame::getAngularVelocityZ),
+    YAW("yaw", false, ForzaTelemetryFrame::getYaw),
+    PITCH("pitch", false, ForzaTelemetryFrame::getPitch),
+    ROLL("roll", false, ForzaTelemetryFrame::getRoll),
+    NORMALIZED_SUSPENSION_TRAVEL_FRONT_LEFT("normalizedSuspensionTravelFrontLeft", false, ForzaTelemetryFrame::getNormalizedSuspensionTravelFrontLeft),
+    NORMALIZED_SUSPENSION_TRAVEL_FRONT_RIGHT("normalizedSuspensionTravelFrontRight", false, ForzaTelemetryFrame::getNormalizedSuspensionTravelFrontRight),
+    NORMALIZED_SUSPENSION_TRAVEL_REAR_LEFT("normalizedSuspensionTravelRearLeft", false, ForzaTelemetryFrame::getNormalizedSuspensionTravelRearLeft),
+    NORMALIZED_SUSPENSION_TRAVEL_REAR_RIGHT("normalizedSuspensionTravelRearRight", false, ForzaTelemetryFrame::getNormalizedSuspensionTravelRearRight),
+    TIRE_SLIP_RATIO_FRONT_LEFT("tireSlipRatioFrontLeft", false, ForzaTelemetryFrame::getTireSlipRatioFrontLeft),
+    TIRE_SLIP_RATIO_FRONT_RIGHT("tireSlipRatioFrontRight", false, ForzaTelemetryFrame::getTireSlipRatioFrontRight),
+    TIRE_SLIP_RATIO_REAR_LEFT("tireSlipRatioRearLeft", false, ForzaTelemetryFrame::getTireSlipRatioRearLeft),
+    TIRE_SLIP_RATIO_REAR_RIGHT("tireSlipRatioRearRight", false, ForzaTelemetryFrame::getTireSlipRatioRearRight),
+    WHEEL_ROTATION_SPEED_FRONT_LEFT("wheelRotationSpeedFrontLeft", false, ForzaTelemetryFrame::getWheelRotationSpeedFrontLeft),
+    WHEEL_ROTATION_SPEED_FRONT_RIGHT("wheelRotationSpeedFrontRight", false, ForzaTelemetryFrame::getWheelRotationSpeedFrontRight),
+    WHEEL_ROTATION_SPEED_REAR_LEFT("wheelRotationSpeedRearLeft", false, ForzaTelemetryFrame::getWheelRotationSpeedRearLeft),
+    WHEEL_ROTATION_SPEED_REAR_RIGHT("wheelRotationSpeedRearRight", false, ForzaTelemetryFrame::getWheelRotationSpeedRearRight),
+    WHEEL_ON_RUMBLE_STRIP_FRONT_LEFT("wheelOnRumbleStripFrontLeft", true, ForzaTelemetryFrame::getWheelOnRumbleStripFrontLeft),
+    WHEEL_ON_RUMBLE_STRIP_FRONT_RIGHT("wheelOnRumbleStripFrontRight", true, ForzaTelemetryFrame::getWheelOnRumbleStripFrontRight),
+    WHEEL_ON_RUMBLE_STRIP_REAR_LEFT("wheelOnRumbleStripRearLeft", true, ForzaTelemetryFrame::getWheelOnRumbleStripRearLeft),
+    WHEEL_ON_RUMBLE_STRIP_REAR_RIGHT("wheelOnRumbleStripRearRight", true, ForzaTelemetryFrame::getWheelOnRumbleStripRearRight),
+    WHEEL_IN_PUDDLE_DEPTH_FRONT_LEFT("wheelInPuddleDepthFrontLeft", false, ForzaTelemetryFrame::getWheelInPuddleDepthFrontLeft),
+    WHEEL_IN_PUDDLE_DEPTH_FRONT_RIGHT("wheelInPuddleDepthFrontRight", false, ForzaTelemetryFrame::getWheelInPuddleDepthFrontRight),
+    WHEEL_IN_PUDDLE_DEPTH_REAR_LEFT("wheelInPuddleDepthRearLeft", false, ForzaTelemetryFrame::getWheelInPuddleDepthRearLeft),
+    WHEEL_IN_PUDDLE_DEPTH_REAR_RIGHT("wheelInPuddleDepthRearRight", false, ForzaTelemetryFrame::getWheelInPuddleDepthRearRight),
+    SURFACE_RUMBLE_FRONT_LEFT("surfaceRumbleFrontLeft", false, ForzaTelemetryFrame::getSurfaceRumbleFrontLeft),
+    SURFACE_RUMBLE_FRONT_RIGHT("surfaceRumbleFrontRight", false, ForzaTelemetryFrame::getSurfaceRumbleFrontRight),
+    SURFACE_RUMBLE_REAR_LEFT("surfaceRumbleRearLeft", false, ForzaTelemetryFrame::getSurfaceRumbleRearLeft),
+    SURFACE_RUMBLE_REAR_RIGHT("surfaceRumbleRearRight", false, ForzaTelemetryFrame::getSurfaceRumbleRearRight),
+    TIRE_SLIP_ANGLE_FRONT_LEFT("tireSlipAngleFrontLeft", false, ForzaTelemetryFrame::getTireSlipAngleFrontLeft),
+    TIRE_SLIP_ANGLE_FRONT_RIGHT("tireSlipAngleFrontRight", false, ForzaTelemetryFrame::getTireSlipAngleFrontRight),
+    TIRE_SLIP_ANGLE_REAR_LEFT("tireSlipAngleRearLeft", false, ForzaTelemetryFrame::getTireSlipAngleRearLeft),
+    TIRE_SLIP_ANGLE_REAR_RIGHT("tireSlipAngleRearRight", false, ForzaTelemetryFrame::getTireSlipAngleRearRight),
+    TIRE_COMBINED_SLIP_FRONT_LEFT("tireCombinedSlipFrontLeft", false, ForzaTelemetryFrame::getTireCombinedSlipFrontLeft),
+    TIRE_COMBINED_SLIP_FRONT_RIGHT("tireCombinedSlipFrontRight", false, ForzaTelemetryFrame::getTireCombinedSlipFrontRight),
+    TIRE_COMBINED_SLIP_REAR_LEFT("tireCombinedSlipRearLeft", false, ForzaTelemetryFrame::getTireCombinedSlipRearLeft),
+    TIRE_COMBINED_SLIP_REAR_RIGHT("tireCombinedSlipRearRight", false, ForzaTelemetryFrame::getTireCombinedSlipRearRight),
+    SUSPENSION_TRAVEL_METERS_FRONT_LEFT("suspensionTravelMetersFrontLeft", false, ForzaTelemetryFrame::getSuspensionTravelMetersFrontLeft),
+    SUSPENSION_TRAVEL_METERS_FRONT_RIGHT("suspensionTravelMetersFrontRight", false, ForzaTelemetryFrame::getSuspensionTravelMetersFrontRight),
+    SUSPENSION_TRAVEL_METERS_REAR_LEFT("suspensionTravelMetersRearLeft", false, ForzaTelemetryFrame::getSuspensionTravelMetersRearLeft),
+    SUSPENSION_TRAVEL_METERS_REAR_RIGHT("suspensionTravelMetersRearRight", false, ForzaTelemetryFrame::getSuspensionTravelMetersRearRight),
+    ORDINAL("ordinal", true, ForzaTelemetryFrame::getOrdinal),
+    CAR_CLASS("carClass", true, ForzaTelemetryFrame::getCarClass),
+    CAR_PERFORMANCE_INDEX("carPerformanceIndex", true, ForzaTelemetryFrame::getCarPerformanceIndex),
+    DRIVETRAIN_TYPE("drivetrainType", true, ForzaTelemetryFrame::getDrivetrainType),
+    NUM_OF_CYLINDERS("numOfCylinders", true, ForzaTelemetryFrame::getNumOfCylinders),
+    CAR_TYPE("carType", true, ForzaTelemetryFrame::getCarType),
+    OBJECT_HIT("objectHit", true, ForzaTelemetryFrame::getObjectHit),
+    POSITION_X("positionX", false, ForzaTelemetryFrame::getPositionX),
+    POSITION_Y("positionY", false, ForzaTelemetryFrame::getPositionY),
+    POSITION_Z("positionZ", false, ForzaTelemetryFrame::getPositionZ),
+    SPEED("speed", false, ForzaTelemetryFrame::getSpeed),
+    POWER("power", false, ForzaTelemetryFrame::getPower),
+    TORQUE("torque", false, ForzaTelemetryFrame::getTorque),
+    TIRE_TEMP_FRONT_LEFT("tireTempFrontLeft", false, ForzaTelemetryFrame::getTireTempFrontLeft),
+    TIRE_TEMP_FRONT_RIGHT("tireTempFrontRight", false, ForzaTelemetryFrame::getTireTempFrontRight),
+    TIRE_TEMP_REAR_LEFT("tireTempRearLeft", false, ForzaTelemetryFrame::getTireTempRearLeft),
+    TIRE_TEMP_REAR_RIGHT("tireTempRearRight", false, ForzaTelemetryFrame::getTireTempRearRight),
+    BOOST("boost", false, ForzaTelemetryFrame::getBoost),
+    FUEL("fuel", false, ForzaTelemetryFrame::getFuel),
+    DISTANCE_TRAVELED("distanceTraveled", false, ForzaTelemetryFrame::getDistanceTraveled),
+    BEST_LAP("bestLap", false, ForzaTelemetryFrame::getBestLap),
+    LAST_LAP("lastLap", false, ForzaTelemetryFrame::getLastLap),
+    CURRENT_LAP("currentLap", false, ForzaTelemetryFrame::getCurrentLap),
+    CURRENT_RACE_TIME("currentRaceTime", false, ForzaTelemetryFrame::getCurrentRaceTime),
+    LAP_NUMBER("lapNumber", true, ForzaTelemetryFrame::getLapNumber),
+    RACE_POSITION("racePosition", true, ForzaTelemetryFrame::getRacePosition),
+    THROTTLE("throttle", true, ForzaTelemetryFrame::getThrottle),
+    BRAKE("brake", true, ForzaTelemetryFrame::getBrake),
+    CLUTCH("clutch", true, ForzaTelemetryFrame::getClutch),
+    HANDBRAKE("handbrake", true, ForzaTelemetryFrame::getHandbrake),
+    GEAR("gear", true, ForzaTelemetryFrame::getGear),
+    STEER("steer", true, ForzaTelemetryFrame::getSteer),
+    NORMALIZED_DRIVING_LINE("normalizedDrivingLine", true, ForzaTelemetryFrame::getNormalizedDrivingLine),
+    NORMALIZED_AI_BRAKE_DIFFERENCE("normalizedAIBrakeDifference", true, ForzaTelemetryFrame::getNormalizedAIBrakeDifference),
+    TIRE_WEAR_FRONT_LEFT("tireWearFrontLeft", false, ForzaTelemetryFrame::getTireWearFrontLeft),
+    TIRE_WEAR_FRONT_RIGHT("tireWearFrontRight", false, ForzaTelemetryFrame::getTireWearFrontRight),
+    TIRE_WEAR_REAR_LEFT("tireWearRearLeft", false, ForzaTelemetryFrame::getTireWearRearLeft),
+    TIRE_WEAR_REAR_RIGHT("tireWearRearRight", false, ForzaTelemetryFrame::getTireWearRearRight),
+    TRACK_ORDINAL("trackOrdinal", true, ForzaTelemetryFrame::getTrackOrdinal);
+
+    private static final Map<String, ForzaField> BY_NAME = new HashMap<>();
+
+    static {
+        for (ForzaField field : values()) BY_NAME.put(field.name, field);
+    }
+
+    private final String name;
+    private final boolean integer;
+    private final ToDoubleFunction<ForzaTelemetryFrame> getter;
+
+    ForzaField(String name, boolean integer, ToDoubleFunction<ForzaTelemetryFrame> getter) {
+        this.name = name;
+        this.integer = integer;
+        this.getter = getter;
+    }
+
+    //null for names that are not a field
+    public static ForzaField fromName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isInteger() {
+        return integer;
+    }
+
+    public double get(ForzaTelemetryFrame frame) {
+        return getter.applyAsDouble(frame);
+    }
+
+    //JSON number, NaN and infinities (never sent by the game, but a float can hold them) become null
+    void appendJson(StringBuilder sb, ForzaTelemetryFrame frame) {
+        double value = get(frame);
+        if (integer) sb.append((long) value);
+        else if (Double.isFinite(value)) sb.append((float) value);
+        else sb.append("null");
+    }
+}
@@ -0,0 +1,33 @@
+package root.forza.telemetry;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+//Small bounded pool of reusable frames for consumers that hand frames to another thread.
+//acquire() never blocks, it falls back to a new frame when the pool is empty, and release() drops
+//frames once the pool is full. A released frame must not be touched again by its previous owner.
+public class ForzaFramePool {
+    private final ArrayBlockingQueue<ForzaTelemetryFrame> frames;
+
+    public ForzaFramePool(int capacity) {
+        frames = new ArrayBlockingQueue<>(capacity);
+        for (int i = 0; i < capacity; i++) frames.offer(new ForzaTelemetryFrame());
+    }
+
+    public ForzaTelemetryFrame acquire() {
+        ForzaTelemetryFrame frame = frames.poll();
+        return frame != null ? frame : new ForzaTelemetryFrame();
+    }
+
+    //Takes a private copy of a frame that is only valid for the duration of a callback
+    public ForzaTelemetryFrame acquire(ForzaTelemetryFrame source) {
+        return source.copyTo(acquire());
+    }
+
+    public void release(ForzaTelemetryFrame frame) {
+        frames.offer(frame);
+    }
+
+    public int available() {
+        return frames.size();
+    }
+}
@@ -1,64 +1,45 @@
 package root.forza.telemetry;
 
 import java.net.*;
-import java.util.Arrays;
 
 public interface ForzaInterface {
          default Thread startConnection(int port) {
-             return new Thread(() -> {
-                 try (DatagramSocket datagramSocket = new DatagramSocket(port)) {
-                     //Only 323 bytes are received from the Forza UDP stream
-                     byte[] receive = new byte[323];
-                     DatagramPacket datagramPacket = new DatagramPacket(receive, receive.length);
-                     int lastOrdinal = 0;
-                     boolean isPaused = false, isConnected = false;
-                     while (true) {
-                         try {
-                             datagramSocket.receive(datagramPacket);
-                             if (!isConnected) {
-                                 ForzaTelemetryApi tempApi = new ForzaTelemetryApi(datagramPacket.getData());
-                                 if (tempApi.getTimeStampMS() != 0) {
-                                     lastOrdinal = tempApi.getOrdinal();
-                                     //Set ForzaApi to null if game is paused, as all values will return 0
-                                     if(!tempApi.getIsRaceOn()) tempApi = null;
-                                     //Call onConnected when first data stream is received
-                                     onConnected(tempApi, datagramPacket);
-                                     isConnected = true;
-                                 }
-                             }
-                         } catch (Exception e) {
-                             e.printStackTrace();
-                         }
-                         //Send data to the ForzaApi parsing class
-                         try {
-                             byte[] data = datagramPacket.getData();
-                             ForzaTelemetryApi api = new ForzaTelemetryApi(data);
-                             //Call onGamePaused when isRaceOn is false, call onGameUnpaused when true while game is paused
-                             if(!api.getIsRaceOn() && !isPaused){
-                                 onGamePaused();
-                                 isPaused= true;
-                             } else if (api.getIsRaceOn() && isPaused) {
-                                 onGameUnpaused();
-                                 isPaused = false;
-                             }
-                             //Call onCarChanged when ordinal changes
-                             if(api.getOrdinal() != lastOrdinal && !isPaused) {
-                                 onCarChanged(api, new VehicleData(api));
-                                 lastOrdinal = api.getOrdinal();
-                             }
-                             //Send datastream every single loop unless game is paused
-                             if(!isPaused) onDataReceived(api);
+             return startConnection(port, new ForzaDispatcher(this));
+         }
 
-                         } catch (Exception e) {
-                             e.printStackTrace();
-                         }
-                     }
-                 } catch (SocketException e) {
-                     throw new RuntimeException(e);
+         //Blocking socket loop feeding any handler chain, e.g. a ForzaAsyncHandler in front of the dispatcher.
+         //Interrupting the returned thread closes the socket, which is what actually stops receive().
+         static Thread startConnection(int port, ForzaPacketHandler handler) {
+             ForzaSocketReceiver receiver = new ForzaSocketReceiver(port, handler);
+             return new Thread(receiver) {
+                 @Override
+                 public void interrupt() {
+                     receiver.close();
+                     super.interrupt();
                  }
-             });
+             };
          }
          static String getDeviceIp() throws UnknownHostException { return InetAddress.getLocalHost().getHostAddress(); }
+
+         //Lazy path, fields are decoded straight from the receive buffer as they are read. Same lifetime rules
+         //as onFrame. Overriding this skips onFrame and onDataReceived.
+         default void onView(ForzaTelemetryView view) {
+             onFrame(view.frame());
+         }
+
+         //Zero allocation path. The frame is reused for the next packet, so it is only valid until this method
+         //returns; call frame.copy() (or a ForzaFramePool) to keep it. Overriding this skips onDataReceived.
+         default void onFrame(ForzaTelemetryFrame frame) {
+             onDataReceived(new ForzaTelemetryApi(frame.copy()));
+         }
+         //Only called when the listener runs behind a ForzaBatchDispatcher (see ForzaTelemetryBuilder.withBatch).
+         //The batch and its frames are refilled after this returns. By default every frame goes through onFrame.
+         default void onDataBatch(ForzaTelemetryBatch batch, int count) {
+             for (int i = 0; i < count; i++) onFrame(batch.getFrame(i));
+         }
+         //Only called behind a ForzaSequencer (see ForzaTelemetryBuilder.withSequencing). Roughly missed packets were
+         //never received between the two timestamps, reported right before the packet at toTimeStampMS is handed on.
+         default void onPacketGap(long fromTimeStampMS, long toTimeStampMS, int missed) {}
          void onDataReceived(ForzaTelemetryApi api);
          void onConnected(ForzaTelemetryApi api, DatagramPacket packet);
          void onGamePaused();
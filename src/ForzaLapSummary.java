@@ -0,0 +1,112 @@
+package root.forza.telemetry;
+
+//Aggregates of one lap as produced by ForzaLapTracker. Speeds are in m/s like the packet,
+//throttle and brake are the average pedal position in percent.
+public final class ForzaLapSummary {
+    private final int lapNumber;
+    private final float lapTime;
+    private final long startTimeStampMS;
+    private final long endTimeStampMS;
+    private final int samples;
+    private final float minSpeed;
+    private final float maxSpeed;
+    private final float averageSpeed;
+    private final float maxEngineRpm;
+    private final float throttlePercent;
+    private final float brakePercent;
+    private final float maxTireTempFrontLeft;
+    private final float maxTireTempFrontRight;
+    private final float maxTireTempRearLeft;
+    private final float maxTireTempRearRight;
+
+    ForzaLapSummary(int lapNumber, float lapTime, long startTimeStampMS, long endTimeStampMS, int samples,
+                    float minSpeed, float maxSpeed, float averageSpeed, float maxEngineRpm,
+                    float throttlePercent, float brakePercent, float maxTireTempFrontLeft,
+                    float maxTireTempFrontRight, float maxTireTempRearLeft, float maxTireTempRearRight) {
+        this.lapNumber = lapNumber;
+        this.lapTime = lapTime;
+        this.startTimeStampMS = startTimeStampMS;
+        this.endTimeStampMS = endTimeStampMS;
+        this.samples = samples;
+        this.minSpeed = minSpeed;
+        this.maxSpeed = maxSpeed;
+        this.averageSpeed = averageSpeed;
+        this.maxEngineRpm = maxEngineRpm;
+        this.throttlePercent = throttlePercent;
+        this.brakePercent = brakePercent;
+        this.maxTireTempFrontLeft = maxTireTempFrontLeft;
+        this.maxTireTempFrontRight = maxTireTempFrontRight;
+        this.maxTireTempRearLeft = maxTireTempRearLeft;
+        this.maxTireTempRearRight = maxTireTempRearRight;
+    }
+
+    //Zero based like the packet's lapNumber
+    public int getLapNumber() {
+        return lapNumber;
+    }
+
+    //Seconds, as reported by the game in lastLap once the lap is over
+    public float getLapTime() {
+        return lapTime;
+    }
+
+    public long getStartTimeStampMS() {
+        return startTimeStampMS;
+    }
+
+    public long getEndTimeStampMS() {
+        return endTimeStampMS;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public float getMinSpeed() {
+        return minSpeed;
+    }
+
+    public float getMaxSpeed() {
+        return maxSpeed;
+    }
+
+    public float getAverageSpeed() {
+        return averageSpeed;
+    }
+
+    public float getMaxEngineRpm() {
+        return maxEngineRpm;
+    }
+
+    public float getThrottlePercent() {
+        return throttlePercent;
+    }
+
+    public float getBrakePercent() {
+        return brakePercent;
+    }
+
+    public float getMaxTireTempFrontLeft() {
+        return maxTireTempFrontLeft;
+    }
+
+    public float getMaxTireTempFrontRight() {
+        return maxTireTempFrontRight;
+    }
+
+    public float getMaxTireTempRearLeft() {
+        return maxTireTempRearLeft;
+    }
+
+    public float getMaxTireTempRearRight() {
+        return maxTireTempRearRight;
+    }
+
+    @Override
+    public String toString() {
+        return "Lap " + (lapNumber + 1) + ": " + lapTime + "s, speed " + minSpeed + "/" + averageSpeed + "/" + maxSpeed +
+                " m/s, max rpm " + maxEngineRpm + ", throttle " + throttlePercent + "%, brake " + brakePercent +
+                "%, max tire temps " + maxTireTempFrontLeft + "/" + maxTireTempFrontRight + "/" +
+                maxTireTempRearLeft + "/" + maxTireTempRearRight;
+    }
+}
@@ -0,0 +1,96 @@
+package root.forza.telemetry;
+
+//Running per lap statistics, updated in constant time per packet so nothing has to rescan old frames.
+//A lap ends when lapNumber goes up by one; the summary is handed to the listener right away. Any other
+//change of lapNumber (restart, new event) throws the unfinished lap away. Packets outside a race are
+//ignored. Not thread safe, feed it from the listener thread.
+public class ForzaLapTracker {
+    @FunctionalInterface
+    public interface Listener {
+        void onLapCompleted(ForzaLapSummary lap);
+    }
+
+    private final Listener listener;
+
+    private int lapNumber = -1;
+    private long startTimeStampMS;
+    private long endTimeStampMS;
+    private float lastCurrentLap;
+    private int samples;
+    private float minSpeed;
+    private float maxSpeed;
+    private double speedSum;
+    private float maxEngineRpm;
+    private long throttleSum;
+    private long brakeSum;
+    private float maxTireTempFrontLeft;
+    private float maxTireTempFrontRight;
+    private float maxTireTempRearLeft;
+    private float maxTireTempRearRight;
+
+    public ForzaLapTracker(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void accept(ForzaTelemetryApi api) {
+        accept(api.getFrame());
+    }
+
+    public void accept(ForzaTelemetryFrame frame) {
+        if (!frame.getIsRaceOn()) return;
+        int lap = frame.getLapNumber();
+        if (lap != lapNumber) {
+            if (lapNumber >= 0 && lap == lapNumber + 1 && samples > 0) {
+                float lapTime = frame.getLastLap() > 0 ? frame.getLastLap() : lastCurrentLap;
+                listener.onLapCompleted(summary(lapTime));
+            }
+            reset(lap);
+        }
+        if (samples++ == 0) startTimeStampMS = frame.getTimeStampMS();
+        endTimeStampMS = frame.getTimeStampMS();
+        lastCurrentLap = frame.getCurrentLap();
+        float speed = frame.getSpeed();
+        minSpeed = Math.min(minSpeed, speed);
+        maxSpeed = Math.max(maxSpeed, speed);
+        speedSum += speed;
+        maxEngineRpm = Math.max(maxEngineRpm, frame.getCurrentEngineRpm());
+        throttleSum += frame.getThrottle();
+        brakeSum += frame.getBrake();
+        maxTireTempFrontLeft = Math.max(maxTireTempFrontLeft, frame.getTireTempFrontLeft());
+        maxTireTempFrontRight = Math.max(maxTireTempFrontRight, frame.getTireTempFrontRight());
+        maxTireTempRearLeft = Math.max(maxTireTempRearLeft, frame.getTireTempRearLeft());
+        maxTireTempRearRight = Math.max(maxTireTempRearRight, frame.getTireTempRearRight());
+    }
+
+    //Statistics of the lap that is being driven, or null before the first race packet
+    public ForzaLapSummary getCurrentLap() {
+        return samples == 0 ? null : summary(lastCurrentLap);
+    }
+
+    public void reset() {
+        reset(-1);
+    }
+
+    private void reset(int lap) {
+        lapNumber = lap;
+        samples = 0;
+        lastCurrentLap = 0;
+        minSpeed = Float.MAX_VALUE;
+        maxSpeed = 0;
+        speedSum = 0;
+        maxEngineRpm = 0;
+        throttleSum = 0;
+        brakeSum = 0;
+        maxTireTempFrontLeft = 0;
+        maxTireTempFrontRight = 0;
+        maxTireTempRearLeft = 0;
+        maxTireTempRearRight = 0;
+    }
+
+    private ForzaLapSummary summary(float lapTime) {
+        return new ForzaLapSummary(lapNumber, lapTime, startTimeStampMS, endTimeStampMS, samples,
+                minSpeed, maxSpeed, (float) (speedSum / samples), maxEngineRpm,
+                throttleSum * 100f / (255f * samples), brakeSum * 100f / (255f * samples),
+                maxTireTempFrontLeft, maxTireTempFrontRight, maxTireTempRearLeft, maxTireTempRearRight);
+    }
+}
@@ -0,0 +1,366 @@
+package root.forza.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+//Counters and latency histograms for the receive path, queried in process or scraped as Prometheus text.
+//Handlers wrapped with instrument(name, handler) count packets, bytes, errors and timeStampMS gaps and time
+//how long each packet blocks the receive thread. Listeners wrapped with instrument(name, listener) time the
+//frame decode and their own callbacks separately, which shows which listener is the bottleneck.
+//Counters are LongAdders, so several receive or listener threads can share one ForzaMetrics.
+public class ForzaMetrics {
+    //At 60 packets a second the next packet is due after ~17 ms, a longer silence counts as a gap
+    public static final long DEFAULT_GAP_THRESHOLD_MS = 25;
+
+    private final long gapThresholdMs;
+    private final Map<String, ReceiverStats> receivers = new ConcurrentHashMap<>();
+    private final Map<String, ListenerStats> listeners = new ConcurrentHashMap<>();
+    private final Map<String, ForzaRingBuffer> rings = new ConcurrentHashMap<>();
+    private final Map<String, ForzaSequencer.Stats> sequencers = new ConcurrentHashMap<>();
+
+    public ForzaMetrics() {
+        this(DEFAULT_GAP_THRESHOLD_MS);
+    }
+
+    public ForzaMetrics(long gapThresholdMs) {
+        this.gapThresholdMs = gapThresholdMs;
+    }
+
+    public static final class ReceiverStats {
+        private final LongAdder packets = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder gaps = new LongAdder();
+        private final LongAdder outOfOrder = new LongAdder();
+        private final ForzaLatencyHistogram dispatch = new ForzaLatencyHistogram();
+
+        public long getPackets() {
+            return packets.sum();
+        }
+
+        public long getBytes() {
+            return bytes.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        //Packets that arrived more than the gap threshold after the previous one of the same sender
+        public long getGaps() {
+            return gaps.sum();
+        }
+
+        //Packets older than the previous one of the same sender
+        public long getOutOfOrder() {
+            return outOfOrder.sum();
+        }
+
+        //Time the receive thread spent in the handler chain per packet
+        public ForzaLatencyHistogram getDispatchLatency() {
+            return dispatch;
+        }
+    }
+
+    public static final class ListenerStats {
+        private final LongAdder errors = new LongAdder();
+        private final ForzaLatencyHistogram decode = new ForzaLatencyHistogram();
+        private final ForzaLatencyHistogram callback = new ForzaLatencyHistogram();
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public ForzaLatencyHistogram getDecodeLatency() {
+            return decode;
+        }
+
+        public ForzaLatencyHistogram getCallbackLatency() {
+            return callback;
+        }
+    }
+
+    public ReceiverStats getReceiver(String name) {
+        return receivers.computeIfAbsent(name, n -> new ReceiverStats());
+    }
+
+    public ListenerStats getListener(String name) {
+        return listeners.computeIfAbsent(name, n -> new ListenerStats());
+    }
+
+    //Ring counters (offered, dropped, queued) are read when the metrics are exported
+    public void register(String name, ForzaRingBuffer ring) {
+        rings.put(name, ring);
+    }
+
+    //Totals of every sender going through the sequencer, read when the metrics are exported
+    public void register(String name, ForzaSequencer sequencer) {
+        sequencers.put(name, sequencer.getTotals());
+    }
+
+    public ForzaPacketHandler instrument(String name, ForzaPacketHandler handler) {
+        return instrument(name, handler, ForzaSessionTable.DEFAULT_IDLE_TIMEOUT_MS);
+    }
+
+    //Senders silent for idleTimeoutMs are forgotten, the way ForzaSessionTable drops their session
+    public ForzaPacketHandler instrument(String name, ForzaPacketHandler handler, long idleTimeoutMs) {
+        return new InstrumentedHandler(handler, getReceiver(name), gapThresholdMs, idleTimeoutMs);
+    }
+
+    public ForzaInterface instrument(String name, ForzaInterface listener) {
+        return new InstrumentedListener(listener, getListener(name));
+    }
+
+    //Closeable so the builder still closes a wrapped ForzaAsyncHandler
+    private static final class InstrumentedHandler implements ForzaPacketHandler, Closeable {
+        private final ForzaPacketHandler downstream;
+        private final ReceiverStats stats;
+        private final long gapThresholdMs;
+        private final long idleTimeoutNanos;
+        //Idle senders are swept at most this often, not on every packet
+        private final long sweepIntervalNanos;
+        private long lastSweepNanos = System.nanoTime();
+        //Last timeStampMS and receive time per sender, only touched by the receive thread
+        private final Map<SocketAddress, long[]> lastTimeStamps = new HashMap<>();
+
+        InstrumentedHandler(ForzaPacketHandler downstream, ReceiverStats stats, long gapThresholdMs, long idleTimeoutMs) {
+            this.downstream = downstream;
+            this.stats = stats;
+            this.gapThresholdMs = gapThresholdMs;
+            this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+            this.sweepIntervalNanos = Math.max(idleTimeoutNanos / 4, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        @Override
+        public void onPacket(ByteBuffer packet, SocketAddress sender) {
+            long start = System.nanoTime();
+            stats.packets.increment();
+            stats.bytes.add(packet.limit());
+            trackTimeStamp(ForzaPacket.readUnsignedInt(packet.order(ByteOrder.LITTLE_ENDIAN), ForzaPacket.TIME_STAMP_MS), sender, start);
+            try {
+                downstream.onPacket(packet, sender);
+            } catch (RuntimeException e) {
+                stats.errors.increment();
+                throw e;
+            } finally {
+                stats.dispatch.record(System.nanoTime() - start);
+            }
+        }
+
+        private void trackTimeStamp(long timeStamp, SocketAddress sender, long now) {
+            if (now - lastSweepNanos >= sweepIntervalNanos) {
+                lastSweepNanos = now;
+                evictIdle(now);
+            }
+            //Menus send timeStampMS 0
+            if (timeStamp == 0) return;
+            long[] last = lastTimeStamps.get(sender);
+            //A sender coming back after the timeout starts over, its silence is not a gap
+            if (last == null || now - last[1] > idleTimeoutNanos) {
+                lastTimeStamps.put(sender, new long[]{timeStamp, now});
+                return;
+            }
+            last[1] = now;
+            long delta = timeStamp - last[0];
+            if (delta < -ForzaSequencer.DISCONTINUITY_MS) {
+                //The game restarted its clock, e.g. relaunched or another title, this is the new base
+                last[0] = timeStamp;
+                return;
+            }
+            if (delta < 0) {
+                stats.outOfOrder.increment();
+                return;
+            }
+            if (delta > gapThresholdMs) stats.gaps.increment();
+            last[0] = timeStamp;
+        }
+
+        private void evictIdle(long now) {
+            Iterator<long[]> iterator = lastTimeStamps.values().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next()[1] > idleTimeoutNanos) iterator.remove();
+            }
+        }
+
+        @Override
+        public void flush() {
+            downstream.flush();
+        }
+
+        @Override
+        public long tick(long nowNanos) {
+            return downstream.tick(nowNanos);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (downstream instanceof Closeable closeable) closeable.close();
+        }
+    }
+
+    private static final class InstrumentedListener implements ForzaInterface {
+        private final ForzaInterface listener;
+        private final ListenerStats stats;
+
+        InstrumentedListener(ForzaInterface listener, ListenerStats stats) {
+            this.listener = listener;
+            this.stats = stats;
+        }
+
+        //The frame is decoded up front so decode and callback are timed apart; the listener's own
+        //view.frame() then returns the same frame for free
+        @Override
+        public void onView(ForzaTelemetryView view) {
+            long start = System.nanoTime();
+            view.frame();
+            long decoded = System.nanoTime();
+            stats.decode.record(decoded - start);
+            try {
+                listener.onView(view);
+            } catch (RuntimeException e) {
+                stats.errors.increment();
+                throw e;
+            } finally {
+                stats.callback.record(System.nanoTime() - decoded);
+            }
+        }
+
+        @Override
+        public void onFrame(ForzaTelemetryFrame frame) {
+            long start = System.nanoTime();
+            try {
+                listener.onFrame(frame);
+            } catch (RuntimeException e) {
+                stats.errors.increment();
+                throw e;
+            } finally {
+                stats.callback.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void onDataBatch(ForzaTelemetryBatch batch, int count) {
+            long start = System.nanoTime();
+            try {
+                listener.onDataBatch(batch, count);
+            } catch (RuntimeException e) {
+                stats.errors.increment();
+                throw e;
+            } finally {
+                stats.callback.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void onDataReceived(ForzaTelemetryApi api) {
+            listener.onDataReceived(api);
+        }
+
+        @Override
+        public void onConnected(ForzaTelemetryApi api, DatagramPacket packet) {
+            listener.onConnected(api, packet);
+        }
+
+        @Override
+        public void onGamePaused() {
+            listener.onGamePaused();
+        }
+
+        @Override
+        public void onGameUnpaused() {
+            listener.onGameUnpaused();
+        }
+
+        @Override
+        public void onCarChanged(ForzaTelemetryApi api, VehicleData data) {
+            listener.onCarChanged(api, data);
+        }
+
+        @Override
+        public void onPacketGap(long fromTimeStampMS, long toTimeStampMS, int missed) {
+            listener.onPacketGap(fromTimeStampMS, toTimeStampMS, missed);
+        }
+    }
+
+    //Prometheus text exposition format, latencies as summaries in seconds
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        counter(sb, "forza_packets_received_total", "Packets received", "receiver", receivers, ReceiverStats::getPackets);
+        counter(sb, "forza_bytes_received_total", "Bytes received", "receiver", receivers, ReceiverStats::getBytes);
+        counter(sb, "forza_receive_errors_total", "Exceptions thrown by the handler chain", "receiver", receivers, ReceiverStats::getErrors);
+        counter(sb, "forza_timestamp_gaps_total", "Packets arriving later than the gap threshold after the previous one", "receiver", receivers, ReceiverStats::getGaps);
+        counter(sb, "forza_out_of_order_total", "Packets older than the previous one of the same sender", "receiver", receivers, ReceiverStats::getOutOfOrder);
+        summary(sb, "forza_dispatch_seconds", "Time the receive thread spends on one packet", "receiver", receivers, ReceiverStats::getDispatchLatency);
+        counter(sb, "forza_listener_errors_total", "Exceptions thrown by the listener", "listener", listeners, ListenerStats::getErrors);
+        summary(sb, "forza_decode_seconds", "Frame decode time per packet", "listener", listeners, ListenerStats::getDecodeLatency);
+        summary(sb, "forza_callback_seconds", "Listener callback time", "listener", listeners, ListenerStats::getCallbackLatency);
+        counter(sb, "forza_ring_offered_total", "Packets offered to the ring buffer", "ring", rings, ForzaRingBuffer::getOffered);
+        counter(sb, "forza_ring_dropped_total", "Packets dropped by the ring buffer", "ring", rings, ForzaRingBuffer::getDropped);
+        counter(sb, "forza_sequencer_duplicates_total", "Duplicate packets dropped by the sequencer", "sequencer", sequencers, ForzaSequencer.Stats::getDuplicates);
+        counter(sb, "forza_sequencer_late_total", "Packets dropped for arriving after a newer one was handed on", "sequencer", sequencers, ForzaSequencer.Stats::getLate);
+        counter(sb, "forza_sequencer_reordered_total", "Packets put back in timestamp order", "sequencer", sequencers, ForzaSequencer.Stats::getReordered);
+        counter(sb, "forza_sequencer_lost_total", "Packets estimated lost from timestamp gaps", "sequencer", sequencers, ForzaSequencer.Stats::getLost);
+        if (!rings.isEmpty()) {
+            header(sb, "forza_ring_queued", "Packets waiting in the ring buffer", "gauge");
+            rings.forEach((name, ring) -> sample(sb, "forza_ring_queued", "ring", name, "", ring.size()));
+        }
+        return sb.toString();
+    }
+
+    private interface LongGetter<T> {
+        long get(T stats);
+    }
+
+    private interface HistogramGetter<T> {
+        ForzaLatencyHistogram get(T stats);
+    }
+
+    private static <T> void counter(StringBuilder sb, String metric, String help, String label, Map<String, T> map, LongGetter<T> getter) {
+        if (map.isEmpty()) return;
+        header(sb, metric, help, "counter");
+        map.forEach((name, stats) -> sample(sb, metric, label, name, "", getter.get(stats)));
+    }
+
+    private static <T> void summary(StringBuilder sb, String metric, String help, String label, Map<String, T> map, HistogramGetter<T> getter) {
+        if (map.isEmpty()) return;
+        header(sb, metric, help, "summary");
+        map.forEach((name, stats) -> {
+            ForzaLatencyHistogram histogram = getter.get(stats);
+            for (double quantile : new double[]{0.5, 0.9, 0.99, 0.999}) {
+                sb.append(metric).append('{').append(label).append("=\"").append(escape(name)).append("\",quantile=\"")
+                        .append(quantile).append("\"} ").append(seconds(histogram.getPercentileNanos(quantile * 100))).append('\n');
+            }
+            sb.append(metric).append("_sum{").append(label).append("=\"").append(escape(name)).append("\"} ")
+                    .append(seconds(histogram.getSumNanos())).append('\n');
+            sample(sb, metric, label, name, "_count", histogram.getCount());
+        });
+    }
+
+    private static void header(StringBuilder sb, String metric, String help, String type) {
+        sb.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String metric, String label, String name, String suffix, long value) {
+        sb.append(metric).append(suffix).append('{').append(label).append("=\"").append(escape(name)).append("\"} ").append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,129 @@
+package root.forza.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.concurrent.TimeUnit;
+
+//Non blocking receiver, one thread and one Selector serve any number of ports (one per console or PC).
+//Every port gets its own direct buffer and its own handler chain, usually a ForzaDispatcher.
+public class ForzaNioReceiver implements Runnable, Closeable {
+    //Large enough for every Forza packet layout, anything bigger is truncated by the channel
+    static final int RECEIVE_BUFFER_SIZE = 1024;
+
+    private final Selector selector;
+    private volatile boolean closed, running;
+
+    public ForzaNioReceiver() throws IOException {
+        selector = Selector.open();
+    }
+
+    public ForzaNioReceiver register(int port, ForzaInterface listener) throws IOException {
+        return register(port, new ForzaDispatcher(listener));
+    }
+
+    public ForzaNioReceiver register(int port, ForzaPacketHandler handler) throws IOException {
+        DatagramChannel channel = DatagramChannel.open();
+        try {
+            channel.bind(new InetSocketAddress(port));
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, new Port(handler));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        selector.wakeup();
+        return this;
+    }
+
+    @Override
+    public void run() {
+        running = true;
+        try {
+            long deadline = ForzaPacketHandler.NO_DEADLINE;
+            while (!closed) {
+                //Wakes up for the earliest deadline of any handler, e.g. a batch reaching its latency bound
+                long now = System.nanoTime();
+                if (deadline == ForzaPacketHandler.NO_DEADLINE) selector.select();
+                else if (deadline - now > 0) selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - now + 999_999)));
+                else selector.selectNow();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (key.isValid() && key.isReadable()) drain((DatagramChannel) key.channel(), (Port) key.attachment());
+                }
+                selector.selectedKeys().clear();
+                deadline = tick();
+            }
+        } catch (ClosedSelectorException ignored) {
+            //close() was called from another thread
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            closeChannels();
+        }
+    }
+
+    //Reads every queued datagram of one port before going back to select()
+    private void drain(DatagramChannel channel, Port port) {
+        ByteBuffer buffer = port.buffer;
+        while (true) {
+            try {
+                buffer.clear();
+                SocketAddress sender = channel.receive(buffer);
+                if (sender == null) return;
+                buffer.flip();
+                port.handler.onPacket(buffer, sender);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private long tick() {
+        long deadline = ForzaPacketHandler.NO_DEADLINE;
+        long now = System.nanoTime();
+        for (SelectionKey key : selector.keys()) {
+            if (!(key.attachment() instanceof Port port)) continue;
+            try {
+                deadline = Math.min(deadline, port.handler.tick(now));
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        return deadline;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        //A receiver that never ran still owns its bound channels
+        if (running) selector.wakeup();
+        else closeChannels();
+    }
+
+    private void closeChannels() {
+        try {
+            for (SelectionKey key : selector.keys()) key.channel().close();
+            selector.close();
+        } catch (IOException | ClosedSelectorException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static final class Port {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(RECEIVE_BUFFER_SIZE);
+        final ForzaPacketHandler handler;
+
+        Port(ForzaPacketHandler handler) {
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package root.forza.telemetry;
+
+import java.nio.ByteBuffer;
+
+//Fixed little endian byte offsets of every field in the Forza Horizon 5 "Dash" packet. Other layouts are
+//described by ForzaPacketFormat, which shifts the dash offsets below to where that title sends them.
+final class ForzaPacket {
+    private ForzaPacket() {}
+
+    static final int IS_RACE_ON = 0;
+    static final int TIME_STAMP_MS = 4;
+    static final int ENGINE_MAX_RPM = 8;
+    static final int ENGINE_IDLE_RPM = 12;
+    static final int CURRENT_ENGINE_RPM = 16;
+    static final int ACCELERATION_X = 20;
+    static final int ACCELERATION_Y = 24;
+    static final int ACCELERATION_Z = 28;
+    static final int VELOCITY_X = 32;
+    static final int VELOCITY_Y = 36;
+    static final int VELOCITY_Z = 40;
+    static final int ANGULAR_VELOCITY_X = 44;
+    static final int ANGULAR_VELOCITY_Y = 48;
+    static final int ANGULAR_VELOCITY_Z = 52;
+    static final int YAW = 56;
+    static final int PITCH = 60;
+    static final int ROLL = 64;
+    static final int NORMALIZED_SUSPENSION_TRAVEL_FRONT_LEFT = 68;
+    static final int NORMALIZED_SUSPENSION_TRAVEL_FRONT_RIGHT = 72;
+    static final int NORMALIZED_SUSPENSION_TRAVEL_REAR_LEFT = 76;
+    static final int NORMALIZED_SUSPENSION_TRAVEL_REAR_RIGHT = 80;
+    static final int TIRE_SLIP_RATIO_FRONT_LEFT = 84;
+    static final int TIRE_SLIP_RATIO_FRONT_RIGHT = 88;
+    static final int TIRE_SLIP_RATIO_REAR_LEFT = 92;
+    static final int TIRE_SLIP_RATIO_REAR_RIGHT = 96;
+    static final int WHEEL_ROTATION_SPEED_FRONT_LEFT = 100;
+    static final int WHEEL_ROTATION_SPEED_FRONT_RIGHT = 104;
+    static final int WHEEL_ROTATION_SPEED_REAR_LEFT = 108;
+    static final int WHEEL_ROTATION_SPEED_REAR_RIGHT = 112;
+    static final int WHEEL_ON_RUMBLE_STRIP_FRONT_LEFT = 116;
+    static final int WHEEL_ON_RUMBLE_STRIP_FRONT_RIGHT = 120;
+    static final int WHEEL_ON_RUMBLE_STRIP_REAR_LEFT = 124;
+    static final int WHEEL_ON_RUMBLE_STRIP_REAR_RIGHT = 128;
+    static final int WHEEL_IN_PUDDLE_DEPTH_FRONT_LEFT = 132;
+    static final int WHEEL_IN_PUDDLE_DEPTH_FRONT_RIGHT = 136;
+    static final int WHEEL_IN_PUDDLE_DEPTH_REAR_LEFT = 140;
+    static final int WHEEL_IN_PUDDLE_DEPTH_REAR_RIGHT = 144;
+    static final int SURFACE_RUMBLE_FRONT_LEFT = 148;
+    static final int SURFACE_RUMBLE_FRONT_RIGHT = 152;
+    static final int SURFACE_RUMBLE_REAR_LEFT = 156;
+    static final int SURFACE_RUMBLE_REAR_RIGHT = 160;
+    static final int TIRE_SLIP_ANGLE_FRONT_LEFT = 164;
+    static final int TIRE_SLIP_ANGLE_FRONT_RIGHT = 168;
+    static final int TIRE_SLIP_ANGLE_REAR_LEFT = 172;
+    static final int TIRE_SLIP_ANGLE_REAR_RIGHT = 176;
+    static final int TIRE_COMBINED_SLIP_FRONT_LEFT = 180;
+    static final int TIRE_COMBINED_SLIP_FRONT_RIGHT = 184;
+    static final int TIRE_COMBINED_SLIP_REAR_LEFT = 188;
+    static final int TIRE_COMBINED_SLIP_REAR_RIGHT = 192;
+    static final int SUSPENSION_TRAVEL_METERS_FRONT_LEFT = 196;
+    static final int SUSPENSION_TRAVEL_METERS_FRONT_RIGHT = 200;
+    static final int SUSPENSION_TRAVEL_METERS_REAR_LEFT = 204;
+    static final int SUSPENSION_TRAVEL_METERS_REAR_RIGHT = 208;
+    static final int ORDINAL = 212;
+    static final int CAR_CLASS = 216;
+    static final int CAR_PERFORMANCE_INDEX = 220;
+    static final int DRIVETRAIN_TYPE = 224;
+    static final int NUM_OF_CYLINDERS = 228;
+    static final int CAR_TYPE = 232;
+    static final int OBJECT_HIT = 236;
+    static final int POSITION_X = 244;
+    static final int POSITION_Y = 248;
+    static final int POSITION_Z = 252;
+    static final int SPEED = 256;
+    static final int POWER = 260;
+    static final int TORQUE = 264;
+    static final int TIRE_TEMP_FRONT_LEFT = 268;
+    static final int TIRE_TEMP_FRONT_RIGHT = 272;
+    static final int TIRE_TEMP_REAR_LEFT = 276;
+    static final int TIRE_TEMP_REAR_RIGHT = 280;
+    static final int BOOST = 284;
+    static final int FUEL = 288;
+    static final int DISTANCE_TRAVELED = 292;
+    static final int BEST_LAP = 296;
+    static final int LAST_LAP = 300;
+    static final int CURRENT_LAP = 304;
+    static final int CURRENT_RACE_TIME = 308;
+    static final int LAP_NUMBER = 312;
+    static final int RACE_POSITION = 314;
+    static final int THROTTLE = 315;
+    static final int BRAKE = 316;
+    static final int CLUTCH = 317;
+    static final int HANDBRAKE = 318;
+    static final int GEAR = 319;
+    static final int STEER = 320;
+    static final int NORMALIZED_DRIVING_LINE = 321;
+    static final int NORMALIZED_AI_BRAKE_DIFFERENCE = 322;
+
+    //Forza Motorsport (2023) only, offsets in its own 331 byte layout
+    static final int TIRE_WEAR_FRONT_LEFT = 311;
+    static final int TIRE_WEAR_FRONT_RIGHT = 315;
+    static final int TIRE_WEAR_REAR_LEFT = 319;
+    static final int TIRE_WEAR_REAR_RIGHT = 323;
+    static final int TRACK_ORDINAL = 327;
+
+    //Offsets of every float field, for code that treats all of them alike (averages, envelopes)
+    static final int[] FLOAT_FIELDS = floatFields();
+    //Unsigned byte pedal inputs, 0 to 255
+    static final int[] INPUT_FIELDS = {THROTTLE, BRAKE, CLUTCH, HANDBRAKE};
+
+    private static int[] floatFields() {
+        int[] offsets = new int[64];
+        int n = 0;
+        for (int offset = ENGINE_MAX_RPM; offset < ORDINAL; offset += 4) {
+            if (offset < WHEEL_ON_RUMBLE_STRIP_FRONT_LEFT || offset > WHEEL_ON_RUMBLE_STRIP_REAR_RIGHT) offsets[n++] = offset;
+        }
+        for (int offset = POSITION_X; offset < LAP_NUMBER; offset += 4) offsets[n++] = offset;
+        return offsets;
+    }
+
+    //Readers return 0 when the field lies past the end of the received data, same as the old getFromBuffer
+    //The buffer is expected to be in little endian order with the packet starting at index 0
+    static float readFloat(ByteBuffer bb, int offset) {
+        return offset + 4 <= bb.limit() ? bb.getFloat(offset) : 0f;
+    }
+
+    static int readInt(ByteBuffer bb, int offset) {
+        return offset + 4 <= bb.limit() ? bb.getInt(offset) : 0;
+    }
+
+    static long readUnsignedInt(ByteBuffer bb, int offset) {
+        return offset + 4 <= bb.limit() ? Integer.toUnsignedLong(bb.getInt(offset)) : 0L;
+    }
+
+    static long readLong(ByteBuffer bb, int offset) {
+        return offset + 8 <= bb.limit() ? bb.getLong(offset) : 0L;
+    }
+
+    static short readShort(ByteBuffer bb, int offset) {
+        return offset + 2 <= bb.limit() ? bb.getShort(offset) : 0;
+    }
+
+    static byte readByte(ByteBuffer bb, int offset) {
+        return offset + 1 <= bb.limit() ? bb.get(offset) : 0;
+    }
+}
@@ -0,0 +1,62 @@
+package root.forza.telemetry;
+
+//Data Out layouts of the Forza titles. Every format starts with the same 232 byte "Sled" block (motion,
+//wheels, car ordinal to cylinders); the "Dash" block that follows (position, speed, laps, inputs) sits
+//at 232 in the Motorsport titles and at 244 in Horizon, which has carType and objectHit in between.
+//The titles cannot be told apart by content, only by the datagram length, so the format is picked from
+//the length once and decoders then read every field at a fixed offset for that format.
+public enum ForzaPacketFormat {
+    SLED(232, -1),
+    //Forza Motorsport 7 "Car Dash"
+    FM7_DASH(311, 232),
+    //Horizon 4 sends one padding byte more than Horizon 5
+    FH4_DASH(324, 244),
+    FH5_DASH(323, 244),
+    //Forza Motorsport (2023), the FM7 layout plus tire wear and track ordinal
+    FM2023_DASH(331, 232);
+
+    //Largest known packet, what ring slots and other fixed size copies are sized for
+    public static final int MAX_LENGTH = 331;
+
+    private final int length;
+    private final int dashOffset;
+
+    ForzaPacketFormat(int length, int dashOffset) {
+        this.length = length;
+        this.dashOffset = dashOffset;
+    }
+
+    //Unknown lengths are read as Horizon 5, as they always were
+    public static ForzaPacketFormat detect(int length) {
+        return switch (length) {
+            case 232 -> SLED;
+            case 311 -> FM7_DASH;
+            case 324 -> FH4_DASH;
+            case 331 -> FM2023_DASH;
+            default -> FH5_DASH;
+        };
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public boolean hasDash() {
+        return dashOffset >= 0;
+    }
+
+    //carType and objectHit, Horizon only
+    public boolean hasCarType() {
+        return dashOffset == ForzaPacket.POSITION_X;
+    }
+
+    public boolean hasTireWear() {
+        return this == FM2023_DASH;
+    }
+
+    //Added to the Horizon offsets in ForzaPacket to find a dash field in this format. Sled packets end
+    //where the dash would start, so their dash fields land past the end and read as 0.
+    int getDashShift() {
+        return hasDash() ? dashOffset - ForzaPacket.POSITION_X : SLED.length - ForzaPacket.POSITION_X;
+    }
+}
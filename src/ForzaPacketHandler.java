@@ -0,0 +1,46 @@
+package root.forza.telemetry;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+//One stage between the socket and the listeners. The packet occupies packet[0, limit) and the buffer is
+//reused by the receiver as soon as onPacket returns, so a stage that keeps data must copy it.
+@FunctionalInterface
+public interface ForzaPacketHandler {
+    void onPacket(ByteBuffer packet, SocketAddress sender);
+
+    //Returned by tick() when a stage holds nothing that has to go out at a given time
+    long NO_DEADLINE = Long.MAX_VALUE;
+
+    //Hands out everything still held, e.g. once a replay reaches the end of the file
+    default void flush() {}
+
+    //Called by the receive loops after packets and whenever they wake up, at the latest at the deadline the previous
+    //call returned, even if no packet arrives. Stages holding packets hand out what is due and return the
+    //System.nanoTime() of their next deadline, or NO_DEADLINE.
+    default long tick(long nowNanos) {
+        return NO_DEADLINE;
+    }
+
+    default ForzaPacketHandler andThen(ForzaPacketHandler next) {
+        ForzaPacketHandler first = this;
+        return new ForzaPacketHandler() {
+            @Override
+            public void onPacket(ByteBuffer packet, SocketAddress sender) {
+                first.onPacket(packet, sender);
+                next.onPacket(packet, sender);
+            }
+
+            @Override
+            public void flush() {
+                first.flush();
+                next.flush();
+            }
+
+            @Override
+            public long tick(long nowNanos) {
+                return Math.min(first.tick(nowNanos), next.tick(nowNanos));
+            }
+        };
+    }
+}
@@ -0,0 +1,214 @@
+package root.forza.telemetry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+//Forza only sends to one address, the relay copies every datagram as received to any number of other tools
+//(dashboards, loggers, overlays). Packets are not decoded, the receive buffer goes straight back out through a
+//non blocking DatagramChannel, one send per destination on the receive thread. A destination whose socket buffer
+//is full loses that packet instead of holding up the others. The next handler, if any, runs after the sends.
+//Every sender gets its own channel, so downstream each game still shows up as a separate address with its own
+//session. Channels of senders idle for longer than the idle timeout are closed, like ForzaSessionTable sessions.
+//With encoders every sender's packets are compressed once with its own ForzaDeltaCodec.Encoder and the same
+//datagram goes to every destination; only receivers using ForzaDeltaCodec.decoding can read those.
+public class ForzaRelay implements ForzaPacketHandler, Closeable {
+    private final InetSocketAddress[] destinations;
+    private final ForzaPacketHandler next;
+    private final Supplier<ForzaDeltaCodec.Encoder> encoders;
+    private final ByteBuffer encoded;
+    private final long idleTimeoutNanos;
+    //Idle senders are swept at most this often, not on every packet
+    private final long sweepIntervalNanos;
+    private long lastSweepNanos = System.nanoTime();
+    //Written by the receive thread, concurrent so close() can run from another one
+    private final Map<SocketAddress, Route> routes = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public ForzaRelay(List<InetSocketAddress> destinations, ForzaPacketHandler next, Supplier<ForzaDeltaCodec.Encoder> encoders, long idleTimeoutMs) {
+        this.destinations = destinations.toArray(new InetSocketAddress[0]);
+        this.next = next;
+        this.encoders = encoders;
+        encoded = encoders == null ? null : ByteBuffer.allocate(ForzaDeltaCodec.maxEncodedLength(ForzaCapture.MAX_PACKET_SIZE));
+        idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        sweepIntervalNanos = Math.max(idleTimeoutNanos / 4, TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    //encoders is null to relay packets as received, e.g. ForzaDeltaCodec.Encoder::new to compress them
+    public ForzaRelay(List<InetSocketAddress> destinations, ForzaPacketHandler next, Supplier<ForzaDeltaCodec.Encoder> encoders) {
+        this(destinations, next, encoders, ForzaSessionTable.DEFAULT_IDLE_TIMEOUT_MS);
+    }
+
+    public ForzaRelay(List<InetSocketAddress> destinations, ForzaPacketHandler next) {
+        this(destinations, next, null);
+    }
+
+    public ForzaRelay(List<InetSocketAddress> destinations) {
+        this(destinations, null, null);
+    }
+
+    //Relays port to every destination until the process is stopped, e.g. 5300 127.0.0.1:5301 127.0.0.1:5302
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ForzaRelay <port> [--delta] <host:port> [host:port...]");
+            return;
+        }
+        boolean delta = args[1].equals("--delta");
+        List<InetSocketAddress> destinations = new ArrayList<>();
+        for (int i = delta ? 2 : 1; i < args.length; i++) destinations.add(parse(args[i]));
+        ForzaRelay relay = new ForzaRelay(destinations, null, delta ? ForzaDeltaCodec.Encoder::new : null);
+        new ForzaNioReceiver().register(Integer.parseInt(args[0]), relay).run();
+    }
+
+    static InetSocketAddress parse(String destination) {
+        int colon = destination.lastIndexOf(':');
+        if (colon < 0) throw new IllegalArgumentException("Expected host:port, got " + destination);
+        return new InetSocketAddress(destination.substring(0, colon), Integer.parseInt(destination.substring(colon + 1)));
+    }
+
+    @Override
+    public void onPacket(ByteBuffer packet, SocketAddress sender) {
+        int limit = packet.limit();
+        Route route = route(sender);
+        if (route != null) send(route, packet);
+        packet.limit(limit).position(0);
+        if (next != null) next.onPacket(packet, sender);
+    }
+
+    private void send(Route route, ByteBuffer packet) {
+        ByteBuffer datagram = packet;
+        if (route.encoder != null) {
+            encoded.clear();
+            route.encoder.encode(packet.position(0), encoded);
+            datagram = encoded.flip();
+        }
+        int length = datagram.limit();
+        for (InetSocketAddress destination : destinations) {
+            datagram.limit(length).position(0);
+            try {
+                if (route.channel.send(datagram, destination) == 0) dropped.increment();
+                else sent.increment();
+            } catch (IOException e) {
+                errors.increment();
+                e.printStackTrace();
+            }
+        }
+    }
+
+    //Opens the sender's channel on its first packet, null if that failed or the relay is closed
+    private Route route(SocketAddress sender) {
+        long now = System.nanoTime();
+        if (now - lastSweepNanos >= sweepIntervalNanos) {
+            lastSweepNanos = now;
+            evictIdle(now);
+        }
+        Route route = routes.get(sender);
+        if (route == null) {
+            if (closed) return null;
+            try {
+                DatagramChannel channel = DatagramChannel.open();
+                channel.configureBlocking(false);
+                route = new Route(channel, encoders == null ? null : encoders.get());
+            } catch (IOException e) {
+                errors.increment();
+                e.printStackTrace();
+                return null;
+            }
+            routes.put(sender, route);
+            //close() may have run in between and missed this one
+            if (closed) {
+                close(route);
+                return null;
+            }
+        }
+        route.lastSeenNanos = now;
+        return route;
+    }
+
+    private void evictIdle(long now) {
+        Iterator<Route> iterator = routes.values().iterator();
+        while (iterator.hasNext()) {
+            Route route = iterator.next();
+            if (now - route.lastSeenNanos <= idleTimeoutNanos) continue;
+            iterator.remove();
+            close(route);
+        }
+    }
+
+    private static void close(Route route) {
+        try {
+            route.channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (next != null) next.flush();
+    }
+
+    @Override
+    public long tick(long nowNanos) {
+        return next == null ? NO_DEADLINE : next.tick(nowNanos);
+    }
+
+    public List<InetSocketAddress> getDestinations() {
+        return List.of(destinations);
+    }
+
+    //Datagrams handed to the OS, summed over every destination
+    public long getSent() {
+        return sent.sum();
+    }
+
+    //Datagrams skipped because the socket send buffer was full
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    //Senders currently relayed, each with its own channel
+    public int getSenderCount() {
+        return routes.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            for (Route route : routes.values()) close(route);
+            routes.clear();
+        } finally {
+            if (next instanceof Closeable closeable) closeable.close();
+        }
+    }
+
+    private static final class Route {
+        private final DatagramChannel channel;
+        private final ForzaDeltaCodec.Encoder encoder;
+        private long lastSeenNanos;
+
+        Route(DatagramChannel channel, ForzaDeltaCodec.Encoder encoder) {
+            this.channel = channel;
+            this.encoder = encoder;
+        }
+    }
+}
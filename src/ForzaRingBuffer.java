@@ -0,0 +1,129 @@
+package root.forza.telemetry;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+//Lock free single producer / single consumer ring of preallocated packet slots.
+//The receive thread is the only producer and one dispatch thread is the only consumer. Nothing is
+//allocated after construction, packets are copied into a single slab of fixed size slots.
+public class ForzaRingBuffer {
+    public enum OverflowPolicy {
+        //Overwrite the oldest queued packet, listeners always see the latest data
+        DROP_OLDEST,
+        //Discard the incoming packet, listeners see an uninterrupted but late stream
+        DROP_NEWEST,
+        //Stall the receive thread until the consumer frees a slot, the OS may drop packets instead
+        BLOCK
+    }
+
+    public static final int SLOT_SIZE = ForzaPacketFormat.MAX_LENGTH;
+    private static final long BLOCK_PARK_NANOS = 50_000;
+
+    private final byte[] slab;
+    private final int[] lengths;
+    private final SocketAddress[] senders;
+    private final int mask;
+    private final OverflowPolicy policy;
+    //head is only advanced by the consumer, except DROP_OLDEST where the producer may skip a slot too
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong offered = new AtomicLong();
+    private final AtomicLong droppedOldest = new AtomicLong();
+    private final AtomicLong droppedNewest = new AtomicLong();
+    private volatile boolean closed;
+
+    //Capacity is rounded up to the next power of two
+    public ForzaRingBuffer(int capacity, OverflowPolicy policy) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1");
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        slab = new byte[size * SLOT_SIZE];
+        lengths = new int[size];
+        senders = new SocketAddress[size];
+        mask = size - 1;
+        this.policy = policy;
+    }
+
+    //Producer side, copies packet[0, limit). Returns false if the packet was dropped
+    public boolean offer(ByteBuffer packet, SocketAddress sender) {
+        offered.incrementAndGet();
+        long t = tail.get();
+        while (t - head.get() > mask) {
+            switch (policy) {
+                case DROP_NEWEST -> {
+                    droppedNewest.incrementAndGet();
+                    return false;
+                }
+                case DROP_OLDEST -> {
+                    long h = head.get();
+                    if (t - h > mask && head.compareAndSet(h, h + 1)) droppedOldest.incrementAndGet();
+                }
+                case BLOCK -> {
+                    if (closed) return false;
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+            }
+        }
+        int slot = (int) (t & mask);
+        int length = Math.min(packet.limit(), SLOT_SIZE);
+        packet.get(0, slab, slot * SLOT_SIZE, length);
+        lengths[slot] = length;
+        senders[slot] = sender;
+        tail.set(t + 1);
+        return true;
+    }
+
+    //Consumer side, copies the oldest packet into target[0, length) and returns its sender, or null when empty
+    public SocketAddress poll(ByteBuffer target) {
+        while (true) {
+            long h = head.get();
+            if (h >= tail.get()) return null;
+            int slot = (int) (h & mask);
+            int length = lengths[slot];
+            SocketAddress sender = senders[slot];
+            target.clear();
+            target.put(0, slab, slot * SLOT_SIZE, length).limit(length);
+            //With DROP_OLDEST the producer may have skipped and overwritten this slot while it was copied
+            if (head.compareAndSet(h, h + 1)) return sender;
+        }
+    }
+
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getOffered() {
+        return offered.get();
+    }
+
+    public long getDroppedOldest() {
+        return droppedOldest.get();
+    }
+
+    public long getDroppedNewest() {
+        return droppedNewest.get();
+    }
+
+    public long getDropped() {
+        return droppedOldest.get() + droppedNewest.get();
+    }
+
+    //Releases a producer stuck in BLOCK
+    void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,298 @@
+package root.forza.telemetry;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//Puts every sender's packets back in timeStampMS order before they reach the downstream handler. Duplicates and
+//packets older than the last one handed out are dropped, up to window packets are held back so a late one can
+//still be slotted in, and timestamps that jump further than the sending interval are reported as gaps through
+//ForzaInterface.onPacketGap. Held packets are released once the window is full or once they have been held for
+//maxHoldMs, driven by the receiver's tick(), so no packet is late by more than that even when the game goes quiet.
+//Packets without a timestamp (0) are passed straight through. Senders silent for longer than the idle timeout
+//are forgotten like in ForzaSessionTable, together with their stats. Runs on the receive or dispatch thread only.
+public class ForzaSequencer implements ForzaPacketHandler {
+    public static final int DEFAULT_WINDOW = 3;
+    //About three packets at 60Hz, a late packet arriving after this is dropped as late
+    public static final long DEFAULT_MAX_HOLD_MS = 50;
+    //Forza sends at 60Hz, used until the real interval has been measured
+    static final double DEFAULT_INTERVAL_MS = 1000.0 / 60;
+    //A jump this far ahead is the game pausing or loading, not lost packets; this far back is a restarted sender
+    static final long DISCONTINUITY_MS = 1000;
+
+    private final ForzaPacketHandler downstream;
+    private final ForzaInterface listener;
+    private final int window;
+    private final long maxHoldNanos;
+    private final long idleTimeoutNanos;
+    //Idle senders are swept at most this often, not on every packet
+    private final long sweepIntervalNanos;
+    private long lastSweepNanos = System.nanoTime();
+    private final Map<SocketAddress, Stream> streams = new HashMap<>();
+    private final Stats totals = new Stats();
+
+    public ForzaSequencer(ForzaPacketHandler downstream, ForzaInterface listener, int window, long maxHoldMs, long idleTimeoutMs) {
+        if (window < 0) throw new IllegalArgumentException("window < 0");
+        this.downstream = downstream;
+        this.listener = listener;
+        this.window = window;
+        this.maxHoldNanos = TimeUnit.MILLISECONDS.toNanos(maxHoldMs);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        this.sweepIntervalNanos = Math.max(idleTimeoutNanos / 4, TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    public ForzaSequencer(ForzaPacketHandler downstream, ForzaInterface listener, int window, long maxHoldMs) {
+        this(downstream, listener, window, maxHoldMs, ForzaSessionTable.DEFAULT_IDLE_TIMEOUT_MS);
+    }
+
+    public ForzaSequencer(ForzaPacketHandler downstream, ForzaInterface listener, int window) {
+        this(downstream, listener, window, DEFAULT_MAX_HOLD_MS);
+    }
+
+    public ForzaSequencer(ForzaInterface listener, int window) {
+        this(new ForzaDispatcher(listener), listener, window);
+    }
+
+    public ForzaSequencer(ForzaInterface listener) {
+        this(listener, DEFAULT_WINDOW);
+    }
+
+    @Override
+    public void onPacket(ByteBuffer packet, SocketAddress sender) {
+        long timeStamp = packet.limit() >= 8 ? ForzaPacket.readUnsignedInt(packet.order(ByteOrder.LITTLE_ENDIAN), ForzaPacket.TIME_STAMP_MS) : 0;
+        long now = System.nanoTime();
+        Stream stream = streams.get(sender);
+        if (stream == null) {
+            stream = new Stream(sender, window);
+            streams.put(sender, stream);
+        }
+        stream.lastSeenNanos = now;
+        if (now - lastSweepNanos >= sweepIntervalNanos) {
+            lastSweepNanos = now;
+            evictIdle(now);
+        }
+        stream.stats.received++;
+        totals.received++;
+        if (timeStamp == 0) {
+            //Menus and some older titles send no timestamp, nothing to order by
+            stream.releaseAll();
+            deliver(packet, sender, stream);
+            return;
+        }
+        if (stream.last > 0 && timeStamp < stream.last - DISCONTINUITY_MS) {
+            stream.releaseAll();
+            stream.last = 0;
+        }
+        if (timeStamp == stream.last || stream.contains(timeStamp)) {
+            stream.stats.duplicates++;
+            totals.duplicates++;
+            return;
+        }
+        if (timeStamp < stream.last) {
+            stream.stats.late++;
+            totals.late++;
+            return;
+        }
+        if (stream.count > 0 && timeStamp < stream.timeStamps[stream.count - 1]) {
+            stream.stats.reordered++;
+            totals.reordered++;
+        }
+        stream.insert(packet, timeStamp, now);
+        while (stream.count > window) stream.release();
+    }
+
+    //Hands out everything held back
+    @Override
+    public void flush() {
+        for (Stream stream : streams.values()) stream.releaseAll();
+        downstream.flush();
+    }
+
+    //Releases packets held for maxHoldMs, together with every older one so the order is kept
+    @Override
+    public long tick(long nowNanos) {
+        long deadline = NO_DEADLINE;
+        for (Stream stream : streams.values()) {
+            long earliest;
+            while ((earliest = stream.earliestArrival()) != NO_DEADLINE && nowNanos - earliest >= maxHoldNanos) stream.release();
+            if (earliest != NO_DEADLINE) deadline = Math.min(deadline, earliest + maxHoldNanos);
+        }
+        return Math.min(deadline, downstream.tick(nowNanos));
+    }
+
+    //Held packets were released by tick() long before, so an idle stream is empty
+    private void evictIdle(long now) {
+        Iterator<Stream> iterator = streams.values().iterator();
+        while (iterator.hasNext()) {
+            Stream stream = iterator.next();
+            if (now - stream.lastSeenNanos <= idleTimeoutNanos) continue;
+            stream.releaseAll();
+            iterator.remove();
+        }
+    }
+
+    private void deliver(ByteBuffer packet, SocketAddress sender, Stream stream) {
+        stream.stats.delivered++;
+        totals.delivered++;
+        downstream.onPacket(packet, sender);
+    }
+
+    //Counters of one sender, null if it never sent anything or has been idle for longer than the timeout
+    public Stats getStats(SocketAddress sender) {
+        Stream stream = streams.get(sender);
+        return stream == null ? null : stream.stats;
+    }
+
+    //Counters summed over every sender
+    public Stats getTotals() {
+        return totals;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    //Written by the sequencing thread only, other threads may read values that are a packet behind
+    public static final class Stats {
+        private volatile long received, delivered, duplicates, late, reordered, lost;
+
+        public long getReceived() {
+            return received;
+        }
+
+        public long getDelivered() {
+            return delivered;
+        }
+
+        //Same timestamp as a packet already handed out or held back
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        //Arrived after a newer packet had already been handed out
+        public long getLate() {
+            return late;
+        }
+
+        //Arrived out of order but early enough to be put back in place
+        public long getReordered() {
+            return reordered;
+        }
+
+        //Estimated from the timestamp gaps and the measured sending interval
+        public long getLost() {
+            return lost;
+        }
+
+        //Packets that never made it downstream against everything the game sent, 0 to 1. Late packets are
+        //already part of lost, their gap was reported before they turned up
+        public double getLossRatio() {
+            long sent = delivered + lost;
+            return sent == 0 ? 0 : (double) lost / sent;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("received=%d delivered=%d duplicates=%d late=%d reordered=%d lost=%d loss=%.2f%%",
+                    received, delivered, duplicates, late, reordered, lost, getLossRatio() * 100);
+        }
+    }
+
+    private final class Stream {
+        private final SocketAddress sender;
+        private final Stats stats = new Stats();
+        private final ByteBuffer[] slots;
+        private final long[] timeStamps;
+        private final long[] arrivals;
+        private final ByteBuffer out = ByteBuffer.allocate(ForzaPacketFormat.MAX_LENGTH);
+        private int count;
+        private long lastSeenNanos;
+        //Timestamp of the last packet handed out, 0 before the first one
+        private long last;
+        private double intervalMs = DEFAULT_INTERVAL_MS;
+
+        Stream(SocketAddress sender, int window) {
+            this.sender = sender;
+            //One more than the window, the newest packet is inserted before the oldest is released
+            slots = new ByteBuffer[window + 1];
+            timeStamps = new long[window + 1];
+            arrivals = new long[window + 1];
+            for (int i = 0; i < slots.length; i++) slots[i] = ByteBuffer.allocate(ForzaPacketFormat.MAX_LENGTH);
+        }
+
+        boolean contains(long timeStamp) {
+            for (int i = 0; i < count; i++) if (timeStamps[i] == timeStamp) return true;
+            return false;
+        }
+
+        //Insertion sort, the window is a handful of packets and nearly always already in order
+        void insert(ByteBuffer packet, long timeStamp, long arrival) {
+            int i = count;
+            ByteBuffer free = slots[count];
+            while (i > 0 && timeStamps[i - 1] > timeStamp) {
+                slots[i] = slots[i - 1];
+                timeStamps[i] = timeStamps[i - 1];
+                arrivals[i] = arrivals[i - 1];
+                i--;
+            }
+            free.clear();
+            int length = Math.min(packet.limit(), free.capacity());
+            free.put(0, packet, 0, length);
+            free.limit(length);
+            slots[i] = free;
+            timeStamps[i] = timeStamp;
+            arrivals[i] = arrival;
+            count++;
+        }
+
+        long earliestArrival() {
+            if (count == 0) return NO_DEADLINE;
+            long earliest = arrivals[0];
+            for (int i = 1; i < count; i++) if (arrivals[i] - earliest < 0) earliest = arrivals[i];
+            return earliest;
+        }
+
+        void release() {
+            ByteBuffer oldest = slots[0];
+            long timeStamp = timeStamps[0];
+            count--;
+            System.arraycopy(slots, 1, slots, 0, count);
+            System.arraycopy(timeStamps, 1, timeStamps, 0, count);
+            System.arraycopy(arrivals, 1, arrivals, 0, count);
+            slots[count] = oldest;
+            if (last > 0) checkGap(timeStamp);
+            last = timeStamp;
+            //Copied out so the slot can be refilled while the downstream handler still runs
+            out.clear();
+            out.put(0, oldest, 0, oldest.limit());
+            out.limit(oldest.limit());
+            deliver(out, sender, this);
+        }
+
+        void releaseAll() {
+            while (count > 0) release();
+        }
+
+        private void checkGap(long timeStamp) {
+            long delta = timeStamp - last;
+            if (delta > DISCONTINUITY_MS) return;
+            int missed = (int) Math.round(delta / intervalMs) - 1;
+            if (missed <= 0) {
+                //Only consecutive packets tune the interval, so a burst of loss can't stretch it
+                intervalMs += (delta - intervalMs) / 16;
+                return;
+            }
+            stats.lost += missed;
+            totals.lost += missed;
+            try {
+                listener.onPacketGap(last, timeStamp, missed);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
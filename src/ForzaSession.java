@@ -0,0 +1,70 @@
+package root.forza.telemetry;
+
+import java.net.DatagramPacket;
+import java.net.SocketAddress;
+
+//Connect, pause and car change tracking for one Forza sender, shared by every receive loop
+class ForzaSession {
+    private final ForzaInterface listener;
+    private int lastOrdinal = 0;
+    private boolean isPaused = false, isConnected = false;
+    //Written by the dispatch thread, read by the eviction sweep
+    private volatile long lastSeenNanos;
+
+    ForzaSession(ForzaInterface listener) {
+        this.listener = listener;
+    }
+
+    void accept(ForzaTelemetryView view, SocketAddress sender) {
+        try {
+            if (!isConnected) {
+                if (view.getTimeStampMS() != 0) {
+                    lastOrdinal = view.getOrdinal();
+                    //Set ForzaApi to null if game is paused, as all values will return 0
+                    ForzaTelemetryApi connectApi = view.getIsRaceOn() ? new ForzaTelemetryApi(view.frame().copy()) : null;
+                    //Call onConnected when first data stream is received
+                    listener.onConnected(connectApi, new DatagramPacket(view.toByteArray(), view.getLength(), sender));
+                    isConnected = true;
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        try {
+            //Call onGamePaused when isRaceOn is false, call onGameUnpaused when true while game is paused
+            if (!view.getIsRaceOn() && !isPaused) {
+                listener.onGamePaused();
+                isPaused = true;
+            } else if (view.getIsRaceOn() && isPaused) {
+                listener.onGameUnpaused();
+                isPaused = false;
+            }
+            //Call onCarChanged when ordinal changes
+            if (view.getOrdinal() != lastOrdinal && !isPaused) {
+                ForzaTelemetryApi api = new ForzaTelemetryApi(view.frame().copy());
+                listener.onCarChanged(api, VehicleData.of(view));
+                lastOrdinal = view.getOrdinal();
+            }
+            //Send datastream every single loop unless game is paused
+            if (!isPaused) listener.onView(view);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    void touch(long nanos) {
+        lastSeenNanos = nanos;
+    }
+
+    long getLastSeenNanos() {
+        return lastSeenNanos;
+    }
+
+    boolean isConnected() {
+        return isConnected;
+    }
+
+    boolean isPaused() {
+        return isPaused;
+    }
+}
@@ -0,0 +1,768 @@
+package root.forza.telemetry;
+
+import java.util.Arrays;
+
+//Column store for a whole session, one growable primitive array per field instead of a list of frames.
+//Rows must arrive in timeStampMS order (the stream does, out of order packets are rejected), which keeps
+//time and lap lookups a binary search. Ranges returned by the queries are index windows over the live
+//columns, nothing is copied. Not thread safe, append and query from the same thread or synchronize outside.
+public class ForzaSessionStore {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private int size;
+    private long rejected;
+    //First row of every run, a run ends when the race restarts and lapNumber or currentRaceTime goes back
+    private int[] runStarts = new int[8];
+    private int runs;
+    private boolean[] isRaceOn;
+    private long[] timeStampMS;
+    private float[] engineMaxRpm;
+    private float[] engineIdleRpm;
+    private float[] currentEngineRpm;
+    private float[] accelerationX;
+    private float[] accelerationY;
+    private float[] accelerationZ;
+    private float[] velocityX;
+    private float[] velocityY;
+    private float[] velocityZ;
+    private float[] angularVelocityX;
+    private float[] angularVelocityY;
+    private float[] angularVelocityZ;
+    private float[] yaw;
+    private float[] pitch;
+    private float[] roll;
+    private float[] normalizedSuspensionTravelFrontLeft;
+    private float[] normalizedSuspensionTravelFrontRight;
+    private float[] normalizedSuspensionTravelRearLeft;
+    private float[] normalizedSuspensionTravelRearRight;
+    private float[] tireSlipRatioFrontLeft;
+    private float[] tireSlipRatioFrontRight;
+    private float[] tireSlipRatioRearLeft;
+    private float[] tireSlipRatioRearRight;
+    private float[] wheelRotationSpeedFrontLeft;
+    private float[] wheelRotationSpeedFrontRight;
+    private float[] wheelRotationSpeedRearLeft;
+    private float[] wheelRotationSpeedRearRight;
+    private int[] wheelOnRumbleStripFrontLeft;
+    private int[] wheelOnRumbleStripFrontRight;
+    private int[] wheelOnRumbleStripRearLeft;
+    private int[] wheelOnRumbleStripRearRight;
+    private float[] wheelInPuddleDepthFrontLeft;
+    private float[] wheelInPuddleDepthFrontRight;
+    private float[] wheelInPuddleDepthRearLeft;
+    private float[] wheelInPuddleDepthRearRight;
+    private float[] surfaceRumbleFrontLeft;
+    private float[] surfaceRumbleFrontRight;
+    private float[] surfaceRumbleRearLeft;
+    private float[] surfaceRumbleRearRight;
+    private float[] tireSlipAngleFrontLeft;
+    private float[] tireSlipAngleFrontRight;
+    private float[] tireSlipAngleRearLeft;
+    private float[] tireSlipAngleRearRight;
+    private float[] tireCombinedSlipFrontLeft;
+    private float[] tireCombinedSlipFrontRight;
+    private float[] tireCombinedSlipRearLeft;
+    private float[] tireCombinedSlipRearRight;
+    private float[] suspensionTravelMetersFrontLeft;
+    private float[] suspensionTravelMetersFrontRight;
+    private float[] suspensionTravelMetersRearLeft;
+    private float[] suspensionTravelMetersRearRight;
+    private int[] ordinal;
+    private int[] carClass;
+    private int[] carPerformanceIndex;
+    private int[] drivetrainType;
+    private int[] numOfCylinders;
+    private int[] carType;
+    private long[] objectHit;
+    private float[] positionX;
+    private float[] positionY;
+    private float[] positionZ;
+    private float[] speed;
+    private float[] power;
+    private float[] torque;
+    private float[] tireTempFrontLeft;
+    private float[] tireTempFrontRight;
+    private float[] tireTempRearLeft;
+    private float[] tireTempRearRight;
+    private float[] boost;
+    private float[] fuel;
+    private float[] distanceTraveled;
+    private float[] bestLap;
+    private float[] lastLap;
+    private float[] currentLap;
+    private float[] currentRaceTime;
+    private short[] lapNumber;
+    private byte[] racePosition;
+    private byte[] throttle;
+    private byte[] brake;
+    private byte[] clutch;
+    private byte[] handbrake;
+    private byte[] gear;
+    private byte[] steer;
+    private byte[] normalizedDrivingLine;
+    private byte[] normalizedAIBrakeDifference;
+
+    public ForzaSessionStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ForzaSessionStore(int initialCapacity) {
+        allocate(Math.max(initialCapacity, 1));
+    }
+
+    private void allocate(int capacity) {
+        isRaceOn = isRaceOn == null ? new boolean[capacity] : Arrays.copyOf(isRaceOn, capacity);
+        timeStampMS = timeStampMS == null ? new long[capacity] : Arrays.copyOf(timeStampMS, capacity);
+        engineMaxRpm = engineMaxRpm == null ? new float[capacity] : Arrays.copyOf(engineMaxRpm, capacity);
+        engineIdleRpm = engineIdleRpm == null ? new float[capacity] : Arrays.copyOf(engineIdleRpm, capacity);
+        currentEngineRpm = currentEngineRpm == null ? new float[capacity] : Arrays.copyOf(currentEngineRpm, capacity);
+        accelerationX = accelerationX == null ? new float[capacity] : Arrays.copyOf(accelerationX, capacity);
+        accelerationY = accelerationY == null ? new float[capacity] : Arrays.copyOf(accelerationY, capacity);
+        accelerationZ = accelerationZ == null ? new float[capacity] : Arrays.copyOf(accelerationZ, capacity);
+        velocityX = velocityX == null ? new float[capacity] : Arrays.copyOf(velocityX, capacity);
+        velocityY = velocityY == null ? new float[capacity] : Arrays.copyOf(velocityY, capacity);
+        velocityZ = velocityZ == null ? new float[capacity] : Arrays.copyOf(velocityZ, capacity);
+        angularVelocityX = angularVelocityX == null ? new float[capacity] : Arrays.copyOf(angularVelocityX, capacity);
+        angularVelocityY = angularVelocityY == null ? new float[capacity] : Arrays.copyOf(angularVelocityY, capacity);
+        angularVelocityZ = angularVelocityZ == null ? new float[capacity] : Arrays.copyOf(angularVelocityZ, capacity);
+        yaw = yaw == null ? new float[capacity] : Arrays.copyOf(yaw, capacity);
+        pitch = pitch == null ? new float[capacity] : Arrays.copyOf(pitch, capacity);
+        roll = roll == null ? new float[capacity] : Arrays.copyOf(roll, capacity);
+        normalizedSuspensionTravelFrontLeft = normalizedSuspensionTravelFrontLeft == null ? new float[capacity] : Arrays.copyOf(normalizedSuspensionTravelFrontLeft, capacity);
+        normalizedSuspensionTravelFrontRight = normalizedSuspensionTravelFrontRight == null ? new float[capacity] : Arrays.copyOf(normalizedSuspensionTravelFrontRight, capacity);
+        normalizedSuspensionTravelRearLeft = normalizedSuspensionTravelRearLeft == null ? new float[capacity] : Arrays.copyOf(normalizedSuspensionTravelRearLeft, capacity);
+        normalizedSuspensionTravelRearRight = normalizedSuspensionTravelRearRight == null ? new float[capacity] : Arrays.copyOf(normalizedSuspensionTravelRearRight, capacity);
+        tireSlipRatioFrontLeft = tireSlipRatioFrontLeft == null ? new float[capacity] : Arrays.copyOf(tireSlipRatioFrontLeft, capacity);
+        tireSlipRatioFrontRight = tireSlipRatioFrontRight == null ? new float[capacity] : Arrays.copyOf(tireSlipRatioFrontRight, capacity);
+        tireSlipRatioRearLeft = tireSlipRatioRearLeft == null ? new float[capacity] : Arrays.copyOf(tireSlipRatioRearLeft, capacity);
+        tireSlipRatioRearRight = tireSlipRatioRearRight == null ? new float[capacity] : Arrays.copyOf(tireSlipRatioRearRight, capacity);
+        wheelRotationSpeedFrontLeft = wheelRotationSpeedFrontLeft == null ? new float[capacity] : Arrays.copyOf(wheelRotationSpeedFrontLeft, capacity);
+        wheelRotationSpeedFrontRight = wheelRotationSpeedFrontRight == null ? new float[capacity] : Arrays.copyOf(wheelRotationSpeedFrontRight, capacity);
+        wheelRotationSpeedRearLeft = wheelRotationSpeedRearLeft == null ? new float[capacity] : Arrays.copyOf(wheelRotationSpeedRearLeft, capacity);
+        wheelRotationSpeedRearRight = wheelRotationSpeedRearRight == null ? new float[capacity] : Arrays.copyOf(wheelRotationSpeedRearRight, capacity);
+        wheelOnRumbleStripFrontLeft = wheelOnRumbleStripFrontLeft == null ? new int[capacity] : Arrays.copyOf(wheelOnRumbleStripFrontLeft, capacity);
+        wheelOnRumbleStripFrontRight = wheelOnRumbleStripFrontRight == null ? new int[capacity] : Arrays.copyOf(wheelOnRumbleStripFrontRight, capacity);
+        wheelOnRumbleStripRearLeft = wheelOnRumbleStripRearLeft == null ? new int[capacity] : Arrays.copyOf(wheelOnRumbleStripRearLeft, capacity);
+        wheelOnRumbleStripRearRight = wheelOnRumbleStripRearRight == null ? new int[capacity] : Arrays.copyOf(wheelOnRumbleStripRearRight, capacity);
+        wheelInPuddleDepthFrontLeft = wheelInPuddleDepthFrontLeft == null ? new float[capacity] : Arrays.copyOf(wheelInPuddleDepthFrontLeft, capacity);
+        wheelInPuddleDepthFrontRight = wheelInPuddleDepthFrontRight == null ? new float[capacity] : Arrays.copyOf(wheelInPuddleDepthFrontRight, capacity);
+        wheelInPuddleDepthRearLeft = wheelInPuddleDepthRearLeft == null ? new float[capacity] : Arrays.copyOf(wheelInPuddleDepthRearLeft, capacity);
+        wheelInPuddleDepthRearRight = wheelInPuddleDepthRearRight == null ? new float[capacity] : Arrays.copyOf(wheelInPuddleDepthRearRight, capacity);
+        surfaceRumbleFrontLeft = surfaceRumbleFrontLeft == null ? new float[capacity] : Arrays.copyOf(surfaceRumbleFrontLeft, capacity);
+        surfaceRumbleFrontRight = surfaceRumbleFrontRight == null ? new float[capacity] : Arrays.copyOf(surfaceRumbleFrontRight, capacity);
+        surfaceRumbleRearLeft = surfaceRumbleRearLeft == null ? new float[capacity] : Arrays.copyOf(surfaceRumbleRearLeft, capacity);
+        surfaceRumbleRearRight = surfaceRumbleRearRight == null ? new float[capacity] : Arrays.copyOf(surfaceRumbleRearRight, capacity);
+        tireSlipAngleFrontLeft = tireSlipAngleFrontLeft == null ? new float[capacity] : Arrays.copyOf(tireSlipAngleFrontLeft, capacity);
+        tireSlipAngleFrontRight = tireSlipAngleFrontRight == null ? new float[capacity] : Arrays.copyOf(tireSlipAngleFrontRight, capacity);
+        tireSlipAngleRearLeft = tireSlipAngleRearLeft == null ? new float[capacity] : Arrays.copyOf(tireSlipAngleRearLeft, capacity);
+        tireSlipAngleRearRight = tireSlipAngleRearRight == null ? new float[capacity] : Arrays.copyOf(tireSlipAngleRearRight, capacity);
+        tireCombinedSlipFrontLeft = tireCombinedSlipFrontLeft == null ? new float[capacity] : Arrays.copyOf(tireCombinedSlipFrontLeft, capacity);
+        tireCombinedSlipFrontRight = tireCombinedSlipFrontRight == null ? new float[capacity] : Arrays.copyOf(tireCombinedSlipFrontRight, capacity);
+        tireCombinedSlipRearLeft = tireCombinedSlipRearLeft == null ? new float[capacity] : Arrays.copyOf(tireCombinedSlipRearLeft, capacity);
+        tireCombinedSlipRearRight = tireCombinedSlipRearRight == null ? new float[capacity] : Arrays.copyOf(tireCombinedSlipRearRight, capacity);
+        suspensionTravelMetersFrontLeft = suspensionTravelMetersFrontLeft == null ? new float[capacity] : Arrays.copyOf(suspensionTravelMetersFrontLeft, capacity);
+        suspensionTravelMetersFrontRight = suspensionTravelMetersFrontRight == null ? new float[capacity] : Arrays.copyOf(suspensionTravelMetersFrontRight, capacity);
+        suspensionTravelMetersRearLeft = suspensionTravelMetersRearLeft == null ? new float[capacity] : Arrays.copyOf(suspensionTravelMetersRearLeft, capacity);
+        suspensionTravelMetersRearRight = suspensionTravelMetersRearRight == null ? new float[capacity] : Arrays.copyOf(suspensionTravelMetersRearRight, capacity);
+        ordinal = ordinal == null ? new int[capacity] : Arrays.copyOf(ordinal, capacity);
+        carClass = carClass == null ? new int[capacity] : Arrays.copyOf(carClass, capacity);
+        carPerformanceIndex = carPerformanceIndex == null ? new int[capacity] : Arrays.copyOf(carPerformanceIndex, capacity);
+        drivetrainType = drivetrainType == null ? new int[capacity] : Arrays.copyOf(drivetrainType, capacity);
+        numOfCylinders = numOfCylinders == null ? new int[capacity] : Arrays.copyOf(numOfCylinders, capacity);
+        carType = carType == null ? new int[capacity] : Arrays.copyOf(carType, capacity);
+        objectHit = objectHit == null ? new long[capacity] : Arrays.copyOf(objectHit, capacity);
+        positionX = positionX == null ? new float[capacity] : Arrays.copyOf(positionX, capacity);
+        positionY = positionY == null ? new float[capacity] : Arrays.copyOf(positionY, capacity);
+        positionZ = positionZ == null ? new float[capacity] : Arrays.copyOf(positionZ, capacity);
+        speed = speed == null ? new float[capacity] : Arrays.copyOf(speed, capacity);
+        power = power == null ? new float[capacity] : Arrays.copyOf(power, capacity);
+        torque = torque == null ? new float[capacity] : Arrays.copyOf(torque, capacity);
+        tireTempFrontLeft = tireTempFrontLeft == null ? new float[capacity] : Arrays.copyOf(tireTempFrontLeft, capacity);
+        tireTempFrontRight = tireTempFrontRight == null ? new float[capacity] : Arrays.copyOf(tireTempFrontRight, capacity);
+        tireTempRearLeft = tireTempRearLeft == null ? new float[capacity] : Arrays.copyOf(tireTempRearLeft, capacity);
+        tireTempRearRight = tireTempRearRight == null ? new float[capacity] : Arrays.copyOf(tireTempRearRight, capacity);
+        boost = boost == null ? new float[capacity] : Arrays.copyOf(boost, capacity);
+        fuel = fuel == null ? new float[capacity] : Arrays.copyOf(fuel, capacity);
+        distanceTraveled = distanceTraveled == null ? new float[capacity] : Arrays.copyOf(distanceTraveled, capacity);
+        bestLap = bestLap == null ? new float[capacity] : Arrays.copyOf(bestLap, capacity);
+        lastLap = lastLap == null ? new float[capacity] : Arrays.copyOf(lastLap, capacity);
+        currentLap = currentLap == null ? new float[capacity] : Arrays.copyOf(currentLap, capacity);
+        currentRaceTime = currentRaceTime == null ? new float[capacity] : Arrays.copyOf(currentRaceTime, capacity);
+        lapNumber = lapNumber == null ? new short[capacity] : Arrays.copyOf(lapNumber, capacity);
+        racePosition = racePosition == null ? new byte[capacity] : Arrays.copyOf(racePosition, capacity);
+        throttle = throttle == null ? new byte[capacity] : Arrays.copyOf(throttle, capacity);
+        brake = brake == null ? new byte[capacity] : Arrays.copyOf(brake, capacity);
+        clutch = clutch == null ? new byte[capacity] : Arrays.copyOf(clutch, capacity);
+        handbrake = handbrake == null ? new byte[capacity] : Arrays.copyOf(handbrake, capacity);
+        gear = gear == null ? new byte[capacity] : Arrays.copyOf(gear, capacity);
+        steer = steer == null ? new byte[capacity] : Arrays.copyOf(steer, capacity);
+        normalizedDrivingLine = normalizedDrivingLine == null ? new byte[capacity] : Arrays.copyOf(normalizedDrivingLine, capacity);
+        normalizedAIBrakeDifference = normalizedAIBrakeDifference == null ? new byte[capacity] : Arrays.copyOf(normalizedAIBrakeDifference, capacity);
+    }
+
+    //Returns false if the frame is older than the last stored row
+    public boolean append(ForzaTelemetryFrame frame) {
+        if (size > 0 && frame.getTimeStampMS() < timeStampMS[size - 1]) {
+            rejected++;
+            return false;
+        }
+        if (size == timeStampMS.length) allocate(size * 2);
+        int i = size++;
+        if (i == 0 || frame.getLapNumber() < lapNumber[i - 1] || frame.getCurrentRaceTime() < currentRaceTime[i - 1]) {
+            if (runs == runStarts.length) runStarts = Arrays.copyOf(runStarts, runs * 2);
+            runStarts[runs++] = i;
+        }
+        isRaceOn[i] = frame.getIsRaceOn();
+        timeStampMS[i] = frame.getTimeStampMS();
+        engineMaxRpm[i] = frame.getEngineMaxRpm();
+        engineIdleRpm[i] = frame.getEngineIdleRpm();
+        currentEngineRpm[i] = frame.getCurrentEngineRpm();
+        accelerationX[i] = frame.getAccelerationX();
+        accelerationY[i] = frame.getAccelerationY();
+        accelerationZ[i] = frame.getAccelerationZ();
+        velocityX[i] = frame.getVelocityX();
+        velocityY[i] = frame.getVelocityY();
+        velocityZ[i] = frame.getVelocityZ();
+        angularVelocityX[i] = frame.getAngularVelocityX();
+        angularVelocityY[i] = frame.getAngularVelocityY();
+        angularVelocityZ[i] = frame.getAngularVelocityZ();
+        yaw[i] = frame.getYaw();
+        pitch[i] = frame.getPitch();
+        roll[i] = frame.getRoll();
+        normalizedSuspensionTravelFrontLeft[i] = frame.getNormalizedSuspensionTravelFrontLeft();
+        normalizedSuspensionTravelFrontRight[i] = frame.getNormalizedSuspensionTravelFrontRight();
+        normalizedSuspensionTravelRearLeft[i] = frame.getNormalizedSuspensionTravelRearLeft();
+        normalizedSuspensionTravelRearRight[i] = frame.getNormalizedSuspensionTravelRearRight();
+        tireSlipRatioFrontLeft[i] = frame.getTireSlipRatioFrontLeft();
+        tireSlipRatioFrontRight[i] = frame.getTireSlipRatioFrontRight();
+        tireSlipRatioRearLeft[i] = frame.getTireSlipRatioRearLeft();
+        tireSlipRatioRearRight[i] = frame.getTireSlipRatioRearRight();
+        wheelRotationSpeedFrontLeft[i] = frame.getWheelRotationSpeedFrontLeft();
+        wheelRotationSpeedFrontRight[i] = frame.getWheelRotationSpeedFrontRight();
+        wheelRotationSpeedRearLeft[i] = frame.getWheelRotationSpeedRearLeft();
+        wheelRotationSpeedRearRight[i] = frame.getWheelRotationSpeedRearRight();
+        wheelOnRumbleStripFrontLeft[i] = frame.getWheelOnRumbleStripFrontLeft();
+        wheelOnRumbleStripFrontRight[i] = frame.getWheelOnRumbleStripFrontRight();
+        wheelOnRumbleStripRearLeft[i] = frame.getWheelOnRumbleStripRearLeft();
+        wheelOnRumbleStripRearRight[i] = frame.getWheelOnRumbleStripRearRight();
+        wheelInPuddleDepthFrontLeft[i] = frame.getWheelInPuddleDepthFrontLeft();
+        wheelInPuddleDepthFrontRight[i] = frame.getWheelInPuddleDepthFrontRight();
+        wheelInPuddleDepthRearLeft[i] = frame.getWheelInPuddleDepthRearLeft();
+        wheelInPuddleDepthRearRight[i] = frame.getWheelInPuddleDepthRearRight();
+        surfaceRumbleFrontLeft[i] = frame.getSurfaceRumbleFrontLeft();
+        surfaceRumbleFrontRight[i] = frame.getSurfaceRumbleFrontRight();
+        surfaceRumbleRearLeft[i] = frame.getSurfaceRumbleRearLeft();
+        surfaceRumbleRearRight[i] = frame.getSurfaceRumbleRearRight();
+        tireSlipAngleFrontLeft[i] = frame.getTireSlipAngleFrontLeft();
+        tireSlipAngleFrontRight[i] = frame.getTireSlipAngleFrontRight();
+        tireSlipAngleRearLeft[i] = frame.getTireSlipAngleRearLeft();
+        tireSlipAngleRearRight[i] = frame.getTireSlipAngleRearRight();
+        tireCombinedSlipFrontLeft[i] = frame.getTireCombinedSlipFrontLeft();
+        tireCombinedSlipFrontRight[i] = frame.getTireCombinedSlipFrontRight();
+        tireCombinedSlipRearLeft[i] = frame.getTireCombinedSlipRearLeft();
+        tireCombinedSlipRearRight[i] = frame.getTireCombinedSlipRearRight();
+        suspensionTravelMetersFrontLeft[i] = frame.getSuspensionTravelMetersFrontLeft();
+        suspensionTravelMetersFrontRight[i] = frame.getSuspensionTravelMetersFrontRight();
+        suspensionTravelMetersRearLeft[i] = frame.getSuspensionTravelMetersRearLeft();
+        suspensionTravelMetersRearRight[i] = frame.getSuspensionTravelMetersRearRight();
+        ordinal[i] = frame.getOrdinal();
+        carClass[i] = frame.getCarClass();
+        carPerformanceIndex[i] = frame.getCarPerformanceIndex();
+        drivetrainType[i] = frame.getDrivetrainType();
+        numOfCylinders[i] = frame.getNumOfCylinders();
+        carType[i] = frame.getCarType();
+        objectHit[i] = frame.getObjectHit();
+        positionX[i] = frame.getPositionX();
+        positionY[i] = frame.getPositionY();
+        positionZ[i] = frame.getPositionZ();
+        speed[i] = frame.getSpeed();
+        power[i] = frame.getPower();
+        torque[i] = frame.getTorque();
+        tireTempFrontLeft[i] = frame.getTireTempFrontLeft();
+        tireTempFrontRight[i] = frame.getTireTempFrontRight();
+        tireTempRearLeft[i] = frame.getTireTempRearLeft();
+        tireTempRearRight[i] = frame.getTireTempRearRight();
+        boost[i] = frame.getBoost();
+        fuel[i] = frame.getFuel();
+        distanceTraveled[i] = frame.getDistanceTraveled();
+        bestLap[i] = frame.getBestLap();
+        lastLap[i] = frame.getLastLap();
+        currentLap[i] = frame.getCurrentLap();
+        currentRaceTime[i] = frame.getCurrentRaceTime();
+        lapNumber[i] = (short) frame.getLapNumber();
+        racePosition[i] = (byte) frame.getRacePosition();
+        throttle[i] = (byte) frame.getThrottle();
+        brake[i] = (byte) frame.getBrake();
+        clutch[i] = (byte) frame.getClutch();
+        handbrake[i] = (byte) frame.getHandbrake();
+        gear[i] = (byte) frame.getGear();
+        steer[i] = (byte) frame.getSteer();
+        normalizedDrivingLine[i] = (byte) frame.getNormalizedDrivingLine();
+        normalizedAIBrakeDifference[i] = (byte) frame.getNormalizedAIBrakeDifference();
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    //Shrinks every column to the stored rows, e.g. once a session has ended
+    public void trimToSize() {
+        if (size > 0 && size < timeStampMS.length) allocate(size);
+    }
+
+    public void clear() {
+        size = 0;
+        rejected = 0;
+        runs = 0;
+    }
+
+    //First row with timeStampMS >= time
+    public int indexOf(long time) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeStampMS[mid] < time) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    //Rows with fromMs <= timeStampMS < toMs
+    public Range range(long fromMs, long toMs) {
+        return new Range(indexOf(fromMs), Math.max(indexOf(fromMs), indexOf(toMs)));
+    }
+
+    //Rows between two offsets from the first row, e.g. rangeFromStart(120_000, 180_000) for t=120s..180s
+    public Range rangeFromStart(long fromMs, long toMs) {
+        if (size == 0) return new Range(0, 0);
+        return range(timeStampMS[0] + fromMs, timeStampMS[0] + toMs);
+    }
+
+    //Rows of one lap of the latest run, see lap(run, lap)
+    public Range lap(int lap) {
+        return lap(runs - 1, lap);
+    }
+
+    //Rows of one lap of a run. lapNumber only grows within a run, so the lap is found with two binary searches.
+    //A restart (lapNumber or currentRaceTime going back) starts the next run, so lap 1 of an earlier attempt
+    //is only found through its own run. An empty range if the run or lap does not exist
+    public Range lap(int run, int lap) {
+        if (run < 0 || run >= runs) return new Range(0, 0);
+        Range rows = run(run);
+        return new Range(lapBound(rows, lap), lapBound(rows, lap + 1));
+    }
+
+    private int lapBound(Range rows, int lap) {
+        int low = rows.from(), high = rows.to();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lapNumber[mid] < lap) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    //Number of runs, 0 while the store is empty
+    public int getRunCount() {
+        return runs;
+    }
+
+    //Rows of one run, from the first row up to the restart that ended it
+    public Range run(int run) {
+        return new Range(runStarts[run], run + 1 < runs ? runStarts[run + 1] : size);
+    }
+
+    public Range all() {
+        return new Range(0, size);
+    }
+
+    //Window [from, to) over the store's columns
+    public final class Range {
+        private final int from, to;
+
+        Range(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public int from() {
+            return from;
+        }
+
+        public int to() {
+            return to;
+        }
+
+        public int size() {
+            return to - from;
+        }
+
+        public boolean isEmpty() {
+            return from == to;
+        }
+
+        public long getDurationMS() {
+            return isEmpty() ? 0 : timeStampMS[to - 1] - timeStampMS[from];
+        }
+
+        public ForzaSessionStore getStore() {
+            return ForzaSessionStore.this;
+        }
+    }
+
+    //Column getters return the backing arrays, only index 0 until size() (or a Range) is valid.
+    //Arrays are replaced when the store grows, so fetch them again after appending.
+
+    public boolean[] getIsRaceOn() {
+        return isRaceOn;
+    }
+
+    public long[] getTimeStampMS() {
+        return timeStampMS;
+    }
+
+    public float[] getEngineMaxRpm() {
+        return engineMaxRpm;
+    }
+
+    public float[] getEngineIdleRpm() {
+        return engineIdleRpm;
+    }
+
+    public float[] getCurrentEngineRpm() {
+        return currentEngineRpm;
+    }
+
+    public float[] getAccelerationX() {
+        return accelerationX;
+    }
+
+    public float[] getAccelerationY() {
+        return accelerationY;
+    }
+
+    public float[] getAccelerationZ() {
+        return accelerationZ;
+    }
+
+    public float[] getVelocityX() {
+        return velocityX;
+    }
+
+    public float[] getVelocityY() {
+        return velocityY;
+    }
+
+    public float[] getVelocityZ() {
+        return velocityZ;
+    }
+
+    public float[] getAngularVelocityX() {
+        return angularVelocityX;
+    }
+
+    public float[] getAngularVelocityY() {
+        return angularVelocityY;
+    }
+
+    public float[] getAngularVelocityZ() {
+        return angularVelocityZ;
+    }
+
+    public float[] getYaw() {
+        return yaw;
+    }
+
+    public float[] getPitch() {
+        return pitch;
+    }
+
+    public float[] getRoll() {
+        return roll;
+    }
+
+    public float[] getNormalizedSuspensionTravelFrontLeft() {
+        return normalizedSuspensionTravelFrontLeft;
+    }
+
+    public float[] getNormalizedSuspensionTravelFrontRight() {
+        return normalizedSuspensionTravelFrontRight;
+    }
+
+    public float[] getNormalizedSuspensionTravelRearLeft() {
+        return normalizedSuspensionTravelRearLeft;
+    }
+
+    public float[] getNormalizedSuspensionTravelRearRight() {
+        return normalizedSuspensionTravelRearRight;
+    }
+
+    public float[] getTireSlipRatioFrontLeft() {
+        return tireSlipRatioFrontLeft;
+    }
+
+    public float[] getTireSlipRatioFrontRight() {
+        return tireSlipRatioFrontRight;
+    }
+
+    public float[] getTireSlipRatioRearLeft() {
+        return tireSlipRatioRearLeft;
+    }
+
+    public float[] getTireSlipRatioRearRight() {
+        return tireSlipRatioRearRight;
+    }
+
+    public float[] getWheelRotationSpeedFrontLeft() {
+        return wheelRotationSpeedFrontLeft;
+    }
+
+    public float[] getWheelRotationSpeedFrontRight() {
+        return wheelRotationSpeedFrontRight;
+    }
+
+    public float[] getWheelRotationSpeedRearLeft() {
+        return wheelRotationSpeedRearLeft;
+    }
+
+    public float[] getWheelRotationSpeedRearRight() {
+        return wheelRotationSpeedRearRight;
+    }
+
+    public int[] getWheelOnRumbleStripFrontLeft() {
+        return wheelOnRumbleStripFrontLeft;
+    }
+
+    public int[] getWheelOnRumbleStripFrontRight() {
+        return wheelOnRumbleStripFrontRight;
+    }
+
+    public int[] getWheelOnRumbleStripRearLeft() {
+        return wheelOnRumbleStripRearLeft;
+    }
+
+    public int[] getWheelOnRumbleStripRearRight() {
+        return wheelOnRumbleStripRearRight;
+    }
+
+    public float[] getWheelInPuddleDepthFrontLeft() {
+        return wheelInPuddleDepthFrontLeft;
+    }
+
+    public float[] getWheelInPuddleDepthFrontRight() {
+        return wheelInPuddleDepthFrontRight;
+    }
+
+    public float[] getWheelInPuddleDepthRearLeft() {
+        return wheelInPuddleDepthRearLeft;
+    }
+
+    public float[] getWheelInPuddleDepthRearRight() {
+        return wheelInPuddleDepthRearRight;
+    }
+
+    public float[] getSurfaceRumbleFrontLeft() {
+        return surfaceRumbleFrontLeft;
+    }
+
+    public float[] getSurfaceRumbleFrontRight() {
+        return surfaceRumbleFrontRight;
+    }
+
+    public float[] getSurfaceRumbleRearLeft() {
+        return surfaceRumbleRearLeft;
+    }
+
+    public float[] getSurfaceRumbleRearRight() {
+        return surfaceRumbleRearRight;
+    }
+
+    public float[] getTireSlipAngleFrontLeft() {
+        return tireSlipAngleFrontLeft;
+    }
+
+    public float[] getTireSlipAngleFrontRight() {
+        return tireSlipAngleFrontRight;
+    }
+
+    public float[] getTireSlipAngleRearLeft() {
+        return tireSlipAngleRearLeft;
+    }
+
+    public float[] getTireSlipAngleRearRight() {
+        return tireSlipAngleRearRight;
+    }
+
+    public float[] getTireCombinedSlipFrontLeft() {
+        return tireCombinedSlipFrontLeft;
+    }
+
+    public float[] getTireCombinedSlipFrontRight() {
+        return tireCombinedSlipFrontRight;
+    }
+
+    public float[] getTireCombinedSlipRearLeft() {
+        return tireCombinedSlipRearLeft;
+    }
+
+    public float[] getTireCombinedSlipRearRight() {
+        return tireCombinedSlipRearRight;
+    }
+
+    public float[] getSuspensionTravelMetersFrontLeft() {
+        return suspensionTravelMetersFrontLeft;
+    }
+
+    public float[] getSuspensionTravelMetersFrontRight() {
+        return suspensionTravelMetersFrontRight;
+    }
+
+    public float[] getSuspensionTravelMetersRearLeft() {
+        return suspensionTravelMetersRearLeft;
+    }
+
+    public float[] getSuspensionTravelMetersRearRight() {
+        return suspensionTravelMetersRearRight;
+    }
+
+    public int[] getOrdinal() {
+        return ordinal;
+    }
+
+    public int[] getCarClass() {
+        return carClass;
+    }
+
+    public int[] getCarPerformanceIndex() {
+        return carPerformanceIndex;
+    }
+
+    public int[] getDrivetrainType() {
+        return drivetrainType;
+    }
+
+    public int[] getNumOfCylinders() {
+        return numOfCylinders;
+    }
+
+    public int[] getCarType() {
+        return carType;
+    }
+
+    public long[] getObjectHit() {
+        return objectHit;
+    }
+
+    public float[] getPositionX() {
+        return positionX;
+    }
+
+    public float[] getPositionY() {
+        return positionY;
+    }
+
+    public float[] getPositionZ() {
+        return positionZ;
+    }
+
+    public float[] getSpeed() {
+        return speed;
+    }
+
+    public float[] getPower() {
+        return power;
+    }
+
+    public float[] getTorque() {
+        return torque;
+    }
+
+    public float[] getTireTempFrontLeft() {
+        return tireTempFrontLeft;
+    }
+
+    public float[] getTireTempFrontRight() {
+        return tireTempFrontRight;
+    }
+
+    public float[] getTireTempRearLeft() {
+        return tireTempRearLeft;
+    }
+
+    public float[] getTireTempRearRight() {
+        return tireTempRearRight;
+    }
+
+    public float[] getBoost() {
+        return boost;
+    }
+
+    public float[] getFuel() {
+        return fuel;
+    }
+
+    public float[] getDistanceTraveled() {
+        return distanceTraveled;
+    }
+
+    public float[] getBestLap() {
+        return bestLap;
+    }
+
+    public float[] getLastLap() {
+        return lastLap;
+    }
+
+    public float[] getCurrentLap() {
+        return currentLap;
+    }
+
+    public float[] getCurrentRaceTime() {
+        return currentRaceTime;
+    }
+
+    public short[] getLapNumber() {
+        return lapNumber;
+    }
+
+    public byte[] getRacePosition() {
+        return racePosition;
+    }
+
+    public byte[] getThrottle() {
+        return throttle;
+    }
+
+    public byte[] getBrake() {
+        return brake;
+    }
+
+    public byte[] getClutch() {
+        return clutch;
+    }
+
+    public byte[] getHandbrake() {
+        return handbrake;
+    }
+
+    public byte[] getGear() {
+        return gear;
+    }
+
+    public byte[] getSteer() {
+        return steer;
+    }
+
+    public byte[] getNormalizedDrivingLine() {
+        return normalizedDrivingLine;
+    }
+
+    public byte[] getNormalizedAIBrakeDifference() {
+        return normalizedAIBrakeDifference;
+    }
+}
@@ -0,0 +1,73 @@
+package root.forza.telemetry;
+
+import java.net.SocketAddress;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+//Per sender sessions for one port. Senders that stay silent for longer than the idle timeout are evicted,
+//if they come back they get a fresh session and onConnected fires again.
+public class ForzaSessionTable {
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 30_000;
+
+    private final ConcurrentHashMap<SocketAddress, ForzaSession> sessions = new ConcurrentHashMap<>();
+    private final Function<SocketAddress, ForzaInterface> listeners;
+    private final long idleTimeoutNanos;
+    //Idle sessions are swept at most this often, not on every packet
+    private final long sweepIntervalNanos;
+    private long lastSweepNanos = System.nanoTime();
+
+    public ForzaSessionTable(ForzaInterface listener, long idleTimeoutMs) {
+        this(sender -> listener, idleTimeoutMs);
+    }
+
+    //listeners gives the listener of a sender's session, called whenever the sender starts a new one
+    public ForzaSessionTable(Function<SocketAddress, ForzaInterface> listeners, long idleTimeoutMs) {
+        this.listeners = listeners;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        this.sweepIntervalNanos = Math.max(idleTimeoutNanos / 4, TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    //Called by the dispatch thread for every packet
+    ForzaSession get(SocketAddress sender) {
+        long now = System.nanoTime();
+        ForzaSession session = sessions.get(sender);
+        //A sender coming back after the timeout starts over even if the sweep has not removed it yet
+        if (session == null || now - session.getLastSeenNanos() > idleTimeoutNanos) {
+            session = new ForzaSession(listeners.apply(sender));
+            sessions.put(sender, session);
+        }
+        session.touch(now);
+        if (now - lastSweepNanos >= sweepIntervalNanos) {
+            lastSweepNanos = now;
+            evictIdle(now);
+        }
+        return session;
+    }
+
+    private void evictIdle(long now) {
+        Iterator<Map.Entry<SocketAddress, ForzaSession>> iterator = sessions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue().getLastSeenNanos() > idleTimeoutNanos) iterator.remove();
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public boolean contains(SocketAddress sender) {
+        return sessions.containsKey(sender);
+    }
+
+    public boolean isPaused(SocketAddress sender) {
+        ForzaSession session = sessions.get(sender);
+        return session != null && session.isPaused();
+    }
+
+    public void clear() {
+        sessions.clear();
+    }
+}
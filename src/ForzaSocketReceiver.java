@@ -0,0 +1,71 @@
+package root.forza.telemetry;
+
+import java.io.Closeable;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+//Blocking DatagramSocket loop for one port. close() closes the socket, which is the only way to unblock receive().
+public class ForzaSocketReceiver implements Runnable, Closeable {
+    private final int port;
+    private final ForzaPacketHandler handler;
+    private volatile DatagramSocket socket;
+    private volatile boolean closed;
+
+    public ForzaSocketReceiver(int port, ForzaPacketHandler handler) {
+        this.port = port;
+        this.handler = handler;
+    }
+
+    @Override
+    public void run() {
+        try (DatagramSocket datagramSocket = new DatagramSocket(port)) {
+            socket = datagramSocket;
+            //close() may have been called before the socket existed
+            if (closed) return;
+            //Forza packets are 232 to 331 bytes depending on the game, see ForzaPacketFormat
+            byte[] receive = new byte[ForzaNioReceiver.RECEIVE_BUFFER_SIZE];
+            DatagramPacket datagramPacket = new DatagramPacket(receive, receive.length);
+            //The receive array is wrapped once, the dispatcher re-binds its view to it for every packet
+            ByteBuffer buffer = ByteBuffer.wrap(receive);
+            long deadline = ForzaPacketHandler.NO_DEADLINE;
+            int timeout = 0;
+            while (!closed) {
+                try {
+                    //The receive times out at the handler's next deadline, so held packets go out without a new one
+                    int wanted = deadline == ForzaPacketHandler.NO_DEADLINE ? 0
+                            : (int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime() + 999_999));
+                    if (wanted != timeout) datagramSocket.setSoTimeout(timeout = wanted);
+                    datagramSocket.receive(datagramPacket);
+                    buffer.clear().limit(datagramPacket.getLength());
+                    handler.onPacket(buffer, datagramPacket.getSocketAddress());
+                } catch (SocketTimeoutException ignored) {
+                    //Deadline reached, handled by the tick below
+                } catch (Exception e) {
+                    if (!closed) e.printStackTrace();
+                }
+                try {
+                    deadline = handler.tick(System.nanoTime());
+                } catch (Exception e) {
+                    if (!closed) e.printStackTrace();
+                }
+            }
+        } catch (SocketException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        DatagramSocket datagramSocket = socket;
+        if (datagramSocket != null) datagramSocket.close();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,197 @@
+package root.forza.telemetry;
+
+import java.io.Closeable;
+import java.net.DatagramPacket;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+//One listener running off the dispatch thread. Events are copied into a single producer / single consumer
+//ring of preallocated frames and drained on the listener's executor, one drain at a time so the listener
+//sees them in order. When the listener falls behind, new frames are dropped; connection, pause, car
+//change and gap events have a few reserved slots of their own so they are not lost to a backlog of frames.
+final class ForzaSubscriber implements Closeable, Runnable {
+    private static final int EVENT_SLOTS = 16;
+    //Events handled per drain before the executor gets the chance to run other listeners
+    private static final int DRAIN_BATCH = 64;
+
+    private static final int FRAME = 0;
+    private static final int CONNECTED = 1;
+    private static final int PAUSED = 2;
+    private static final int UNPAUSED = 3;
+    private static final int CAR_CHANGED = 4;
+    private static final int GAP = 5;
+
+    private final ForzaInterface listener;
+    private final Executor executor;
+    private final ExecutorService ownExecutor;
+    private final int frameCapacity;
+    private final int mask;
+    private final int[] kinds;
+    private final ForzaTelemetryFrame[] frames;
+    private final ForzaTelemetryApi[] apis;
+    private final DatagramPacket[] packets;
+    private final VehicleData[] vehicles;
+    private final long[] gapFrom;
+    private final long[] gapTo;
+    private final int[] gapMissed;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    ForzaSubscriber(ForzaInterface listener, ForzaExecution execution, Executor sharedPool, int capacity, String name) {
+        this.listener = listener;
+        this.frameCapacity = capacity;
+        int size = Integer.highestOneBit(capacity + EVENT_SLOTS);
+        if (size < capacity + EVENT_SLOTS) size <<= 1;
+        mask = size - 1;
+        kinds = new int[size];
+        frames = new ForzaTelemetryFrame[size];
+        for (int i = 0; i < size; i++) frames[i] = new ForzaTelemetryFrame();
+        apis = new ForzaTelemetryApi[size];
+        packets = new DatagramPacket[size];
+        vehicles = new VehicleData[size];
+        gapFrom = new long[size];
+        gapTo = new long[size];
+        gapMissed = new int[size];
+        if (execution == ForzaExecution.SHARED_POOL) {
+            ownExecutor = null;
+            executor = sharedPool;
+        } else if (execution == ForzaExecution.VIRTUAL_THREAD && ForzaThreads.isVirtualSupported()) {
+            ownExecutor = null;
+            executor = runnable -> ForzaThreads.newThread(runnable, name, true).start();
+        } else {
+            ownExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor = ownExecutor;
+        }
+    }
+
+    //Producer side, called from the dispatch thread only
+    void offerFrame(ForzaTelemetryFrame frame) {
+        long t = tail.get();
+        if (t - head.get() >= frameCapacity) {
+            droppedFrames.incrementAndGet();
+            return;
+        }
+        int slot = (int) (t & mask);
+        kinds[slot] = FRAME;
+        frame.copyTo(frames[slot]);
+        publish(t);
+    }
+
+    void offerConnected(ForzaTelemetryApi api, DatagramPacket packet) {
+        offerEvent(CONNECTED, api, packet, null);
+    }
+
+    void offerPaused() {
+        offerEvent(PAUSED, null, null, null);
+    }
+
+    void offerUnpaused() {
+        offerEvent(UNPAUSED, null, null, null);
+    }
+
+    void offerCarChanged(ForzaTelemetryApi api, VehicleData data) {
+        offerEvent(CAR_CHANGED, api, null, data);
+    }
+
+    void offerGap(long fromTimeStampMS, long toTimeStampMS, int missed) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            droppedEvents.incrementAndGet();
+            return;
+        }
+        int slot = (int) (t & mask);
+        kinds[slot] = GAP;
+        gapFrom[slot] = fromTimeStampMS;
+        gapTo[slot] = toTimeStampMS;
+        gapMissed[slot] = missed;
+        publish(t);
+    }
+
+    private void offerEvent(int kind, ForzaTelemetryApi api, DatagramPacket packet, VehicleData data) {
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            droppedEvents.incrementAndGet();
+            return;
+        }
+        int slot = (int) (t & mask);
+        kinds[slot] = kind;
+        apis[slot] = api;
+        packets[slot] = packet;
+        vehicles[slot] = data;
+        publish(t);
+    }
+
+    private void publish(long t) {
+        tail.set(t + 1);
+        if (!closed && scheduled.compareAndSet(false, true)) executor.execute(this);
+    }
+
+    //Consumer side, never runs twice at the same time thanks to the scheduled flag
+    @Override
+    public void run() {
+        long h = head.get();
+        int handled = 0;
+        while (!closed) {
+            if (h == tail.get()) {
+                scheduled.set(false);
+                //Re-check after clearing the flag so an event published in between is not left behind
+                if (h == tail.get() || !scheduled.compareAndSet(false, true)) return;
+                continue;
+            }
+            if (handled++ == DRAIN_BATCH) {
+                executor.execute(this);
+                return;
+            }
+            deliver((int) (h & mask));
+            head.set(++h);
+        }
+    }
+
+    private void deliver(int slot) {
+        try {
+            switch (kinds[slot]) {
+                case FRAME -> listener.onFrame(frames[slot]);
+                case CONNECTED -> listener.onConnected(apis[slot], packets[slot]);
+                case PAUSED -> listener.onGamePaused();
+                case UNPAUSED -> listener.onGameUnpaused();
+                case CAR_CHANGED -> listener.onCarChanged(apis[slot], vehicles[slot]);
+                case GAP -> listener.onPacketGap(gapFrom[slot], gapTo[slot], gapMissed[slot]);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            apis[slot] = null;
+            packets[slot] = null;
+            vehicles[slot] = null;
+        }
+    }
+
+    ForzaInterface getListener() {
+        return listener;
+    }
+
+    long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (ownExecutor != null) ownExecutor.shutdown();
+    }
+}
@@ -2,526 +2,318 @@ package root.forza.telemetry;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.text.DecimalFormat;
 
 public class ForzaTelemetryApi {
     public static final int PACKET_SIZE = 323;
-    private final boolean isRaceOn;
-    private final Long timeStampMS;
-    private final Float engineMaxRpm;
-    private final Float engineIdleRpm;
-    private final Float currentEngineRpm;
-    private final Float accelerationX;
-    private final Float accelerationY;
-    private final Float accelerationZ;
-    private final Float velocityX;
-    private final Float velocityY;
-    private final Float velocityZ;
-    private final Float angularVelocityX;
-    private final Float angularVelocityY;
-    private final Float angularVelocityZ;
-    private final Float yaw;
-    private final Float pitch;
-    private final Float roll;
-    private final Float normalizedSuspensionTravelFrontLeft;
-    private final Float normalizedSuspensionTravelFrontRight;
-    private final Float normalizedSuspensionTravelRearLeft;
-    private final Float normalizedSuspensionTravelRearRight;
-    private final Float tireSlipRatioFrontLeft;
-    private final Float tireSlipRatioFrontRight;
-    private final Float tireSlipRatioRearLeft;
-    private final Float tireSlipRatioRearRight;
-    private final Float wheelRotationSpeedFrontLeft;
-    private final Float wheelRotationSpeedFrontRight;
-    private final Float wheelRotationSpeedRearLeft;
-    private final Float wheelRotationSpeedRearRight;
-    private final Integer wheelOnRumbleStripFrontLeft;
-    private final Integer wheelOnRumbleStripFrontRight;
-    private final Integer wheelOnRumbleStripRearLeft;
-    private final Integer wheelOnRumbleStripRearRight;
-    private final Float wheelInPuddleDepthFrontLeft;
-    private final Float wheelInPuddleDepthFrontRight;
-    private final Float wheelInPuddleDepthRearLeft;
-    private final Float wheelInPuddleDepthRearRight;
-    private final Float surfaceRumbleFrontLeft;
-    private final Float surfaceRumbleFrontRight;
-    private final Float surfaceRumbleRearLeft;
-    private final Float surfaceRumbleRearRight;
-    private final Float tireSlipAngleFrontLeft;
-    private final Float tireSlipAngleFrontRight;
-    private final Float tireSlipAngleRearLeft;
-    private final Float tireSlipAngleRearRight;
-    private final Float tireCombinedSlipFrontLeft;
-    private final Float tireCombinedSlipFrontRight;
-    private final Float tireCombinedSlipRearLeft;
-    private final Float tireCombinedSlipRearRight;
-    private final Float suspensionTravelMetersFrontLeft;
-    private final Float suspensionTravelMetersFrontRight;
-    private final Float suspensionTravelMetersRearLeft;
-    private final Float suspensionTravelMetersRearRight;
-    private final Integer carClass;
-    private final Integer carPerformanceIndex;
-    private final Integer drivetrainType;
-    private final Integer numOfCylinders;
-    private final Integer carType;
-    private final Long objectHit;
-
-    //private final Byte unknown3;
-    //private final Byte unknown4;
-    //private final Byte unknown5;
-    //private final Byte unknown6;
-    //private final Byte unknown7;
-    //private final Byte unknown8;
-    private final Integer ordinal;
-    private final Float positionX;
-    private final Float positionY;
-    private final Float positionZ;
-    private final Float speed;
-    private final Float power;
-    private final Float torque;
-    private final Float tireTempFrontLeft;
-    private final Float tireTempFrontRight;
-    private final Float tireTempRearLeft;
-    private final Float tireTempRearRight;
-    private final Float boost;
-    private final Float fuel;
-    private final Float distanceTraveled;
-    private final Float bestLap;
-    private final Float lastLap;
-    private final Float currentLap;
-    private final Float currentRaceTime;
-    private final Short lapNumber;
-    private final Byte racePosition;
-    private final Byte throttle;
-    private final Byte brake;
-    private final Byte clutch;
-    private final Byte handbrake;
-    private final Byte gear;
-    private final Byte steer;
-    private final Byte normalizedDrivingLine;
-    private final Byte normalizedAIBrakeDifference;
-
-    DecimalFormat df;
+    //All values live unboxed in the frame, the getters below box and round them for compatibility
+    private final ForzaTelemetryFrame frame;
 
     public ForzaTelemetryApi(byte[] bytes) throws Exception {
-        //Check that all 323 bytes were received
-        if (bytes.length < PACKET_SIZE) {
+        //Check that the whole packet was received, 323 bytes for Horizon 5
+        if (bytes.length < ForzaPacketFormat.detect(bytes.length).getLength()) {
             try {
                 throw new Exception("Invalid byte length");
             } catch (Exception e) {
                 e.printStackTrace();
             }
         }
-        //Set decimal formatting
-        df = new DecimalFormat("###.##");
-        df.setRoundingMode(RoundingMode.DOWN);
-        //Wrap bytes in a ByteBuffer for faster parsing. The encoding is in Little Endian
-        ByteBuffer bb = ByteBuffer.wrap(bytes);
-        bb.order(ByteOrder.LITTLE_ENDIAN);
-
-        //Set data by going through the bytebuffer
-        isRaceOn = getFromBuffer(bb, int.class) == 1;
-        timeStampMS = getFromBuffer(bb, long.class);
-        engineMaxRpm = getFromBuffer(bb, float.class);
-        engineIdleRpm = getFromBuffer(bb, float.class);
-        currentEngineRpm = getFromBuffer(bb, float.class);
-        accelerationX = getFromBuffer(bb, float.class);
-        accelerationY = getFromBuffer(bb, float.class);
-        accelerationZ = getFromBuffer(bb, float.class);
-        velocityX = getFromBuffer(bb, float.class);
-        velocityY = getFromBuffer(bb, float.class);
-        velocityZ = getFromBuffer(bb, float.class);
-        angularVelocityX = getFromBuffer(bb, float.class);
-        angularVelocityY = getFromBuffer(bb, float.class);
-        angularVelocityZ = getFromBuffer(bb, float.class);
-        yaw = getFromBuffer(bb, float.class);
-        pitch = getFromBuffer(bb, float.class);
-        roll = getFromBuffer(bb, float.class);
-        normalizedSuspensionTravelFrontLeft = getFromBuffer(bb, float.class);
-        normalizedSuspensionTravelFrontRight = getFromBuffer(bb, float.class);
-        normalizedSuspensionTravelRearLeft = getFromBuffer(bb, float.class);
-        normalizedSuspensionTravelRearRight = getFromBuffer(bb, float.class);
-        tireSlipRatioFrontLeft = getFromBuffer(bb, float.class);
-        tireSlipRatioFrontRight = getFromBuffer(bb, float.class);
-        tireSlipRatioRearLeft = getFromBuffer(bb, float.class);
-        tireSlipRatioRearRight = getFromBuffer(bb, float.class);
-        wheelRotationSpeedFrontLeft = getFromBuffer(bb, float.class);
-        wheelRotationSpeedFrontRight = getFromBuffer(bb, float.class);
-        wheelRotationSpeedRearLeft = getFromBuffer(bb, float.class);
-        wheelRotationSpeedRearRight = getFromBuffer(bb, float.class);
-        wheelOnRumbleStripFrontLeft = getFromBuffer(bb, int.class);
-        wheelOnRumbleStripFrontRight = getFromBuffer(bb, int.class);
-        wheelOnRumbleStripRearLeft = getFromBuffer(bb, int.class);
-        wheelOnRumbleStripRearRight = getFromBuffer(bb, int.class);
-        wheelInPuddleDepthFrontLeft = getFromBuffer(bb, float.class);
-        wheelInPuddleDepthFrontRight = getFromBuffer(bb, float.class);
-        wheelInPuddleDepthRearLeft = getFromBuffer(bb, float.class);
-        wheelInPuddleDepthRearRight = getFromBuffer(bb, float.class);
-        surfaceRumbleFrontLeft = getFromBuffer(bb, float.class);
-        surfaceRumbleFrontRight = getFromBuffer(bb, float.class);
-        surfaceRumbleRearLeft = getFromBuffer(bb, float.class);
-        surfaceRumbleRearRight = getFromBuffer(bb, float.class);
-        tireSlipAngleFrontLeft = getFromBuffer(bb, float.class);
-        tireSlipAngleFrontRight = getFromBuffer(bb, float.class);
-        tireSlipAngleRearLeft = getFromBuffer(bb, float.class);
-        tireSlipAngleRearRight = getFromBuffer(bb, float.class);
-        tireCombinedSlipFrontLeft = getFromBuffer(bb, float.class);
-        tireCombinedSlipFrontRight = getFromBuffer(bb, float.class);
-        tireCombinedSlipRearLeft = getFromBuffer(bb, float.class);
-        tireCombinedSlipRearRight = getFromBuffer(bb, float.class);
-        suspensionTravelMetersFrontLeft = getFromBuffer(bb, float.class);
-        suspensionTravelMetersFrontRight = getFromBuffer(bb, float.class);
-        suspensionTravelMetersRearLeft = getFromBuffer(bb, float.class);
-        suspensionTravelMetersRearRight = getFromBuffer(bb, float.class);
-        ordinal = getFromBuffer(bb, int.class);
-        carClass = getFromBuffer(bb, int.class);
-        carPerformanceIndex = getFromBuffer(bb, int.class);
-        drivetrainType = getFromBuffer(bb, int.class);
-        numOfCylinders = getFromBuffer(bb, int.class);
-        carType = getFromBuffer(bb, int.class);
-        objectHit = getFromBuffer(bb);
-        positionX = getFromBuffer(bb, float.class);
-        positionY = getFromBuffer(bb, float.class);
-        positionZ = getFromBuffer(bb, float.class);
-        speed = getFromBuffer(bb, float.class);
-        power = getFromBuffer(bb, float.class);
-        torque = getFromBuffer(bb, float.class);
-        tireTempFrontLeft = getFromBuffer(bb, float.class);
-        tireTempFrontRight = getFromBuffer(bb, float.class);
-        tireTempRearLeft = getFromBuffer(bb, float.class);
-        tireTempRearRight = getFromBuffer(bb, float.class);
-        boost = getFromBuffer(bb, float.class);
-        fuel = getFromBuffer(bb, float.class);
-        distanceTraveled = getFromBuffer(bb, float.class);
-        bestLap = getFromBuffer(bb, float.class);
-        lastLap = getFromBuffer(bb, float.class);
-        currentLap = getFromBuffer(bb, float.class);
-        currentRaceTime = getFromBuffer(bb, float.class);
-        lapNumber = getFromBuffer(bb, short.class);
-        racePosition = getFromBuffer(bb, byte.class);
-        throttle = getFromBuffer(bb, byte.class);
-        brake = getFromBuffer(bb, byte.class);
-        clutch = getFromBuffer(bb, byte.class);
-        handbrake = getFromBuffer(bb, byte.class);
-        gear = getFromBuffer(bb, byte.class);
-        steer = getFromBuffer(bb, byte.class);
-        normalizedDrivingLine = getFromBuffer(bb, byte.class);
-        normalizedAIBrakeDifference = getFromBuffer(bb, byte.class);
-    }
-
-    //Method to check if selected type length is not overflowing the length of the bytebuffer
-    private static boolean checkBuffer(ByteBuffer buffer, int size) {
-        return buffer.hasRemaining() && buffer.remaining() >= size;
-    }
-
-    //Return data if requirements are met, sets default value to 0 otherwise
-    @SuppressWarnings("unchecked")
-    private static <T> T getFromBuffer(ByteBuffer buffer, Class<T> type) throws Exception {
-        switch (type.getName()) {
-            case "int":
-                return (T) (checkBuffer(buffer, 4) ? (Object) buffer.getInt() : 0);
-            case "long":
-                return (T) (checkBuffer(buffer, 4) ? (Object) Integer.toUnsignedLong(buffer.getInt()) : 0L);
-            case "byte":
-                return (T) (checkBuffer(buffer, 1) ? (Object) buffer.get() : 0);
-            case "float":
-                return (T) (checkBuffer(buffer, 4) ? (Object) buffer.getFloat() : 0f);
-            case "short":
-                return (T) (checkBuffer(buffer, 2) ? (Object) buffer.getShort() : 0);
-        }
-        throw new Exception("Invalid Type");
+        frame = new ForzaTelemetryFrame(bytes);
+    }
+
+    public ForzaTelemetryApi(ForzaTelemetryFrame frame) {
+        this.frame = frame;
     }
 
-    //Object hit workaround. Unknown what this is yet. Forza Mystery!
-    @SuppressWarnings("unchecked")
-    private static <T> T getFromBuffer(ByteBuffer buffer) {
-        return (T) (checkBuffer(buffer, 8) ? (Object) buffer.getLong() : 0L);
+    public ForzaTelemetryFrame getFrame() {
+        return frame;
     }
 
     /*
      * GETTERS FOR FORZA HORIZON 5 UDP STREAM DATA OUT.
      */
     public Boolean getIsRaceOn() {
-        return isRaceOn;
+        return frame.getIsRaceOn();
     }
 
     public Long getTimeStampMS() {
-        return timeStampMS;
+        return frame.getTimeStampMS();
     }
 
     public Integer getEngineMaxRpm() {
-        return Math.round(engineMaxRpm);
+        return Math.round(frame.getEngineMaxRpm());
     }
 
     public Integer getEngineIdleRpm() {
-        return Math.round(engineIdleRpm);
+        return Math.round(frame.getEngineIdleRpm());
     }
 
     public Integer getCurrentEngineRpm() {
-        return Math.round(currentEngineRpm);
+        return Math.round(frame.getCurrentEngineRpm());
     }
 
     public Integer getAccelerationX() {
-        return Math.round(accelerationX * 100);
+        return Math.round(frame.getAccelerationX() * 100);
     }
 
     public Integer getAccelerationY() {
-        return Math.round(accelerationY * 100);
+        return Math.round(frame.getAccelerationY() * 100);
     }
 
     public Integer getAccelerationZ() {
-        return Math.round(accelerationZ * 100);
+        return Math.round(frame.getAccelerationZ() * 100);
     }
 
     public Integer getVelocityX() {
-        return Math.round(velocityX * 100);
+        return Math.round(frame.getVelocityX() * 100);
     }
 
     public Integer getVelocityY() {
-        return Math.round(velocityY * 100);
+        return Math.round(frame.getVelocityY() * 100);
     }
 
     public Integer getVelocityZ() {
-        return Math.round(velocityZ * 100);
+        return Math.round(frame.getVelocityZ() * 100);
     }
 
     public Integer getAngularVelocityX() {
-        return Math.round(angularVelocityX * 100);
+        return Math.round(frame.getAngularVelocityX() * 100);
     }
 
     public Integer getAngularVelocityY() {
-        return Math.round(angularVelocityY * 100);
+        return Math.round(frame.getAngularVelocityY() * 100);
     }
 
     public Integer getAngularVelocityZ() {
-        return Math.round(angularVelocityZ * 100);
+        return Math.round(frame.getAngularVelocityZ() * 100);
     }
 
     public Integer getYaw() {
-        return Math.round(yaw * 100);
+        return Math.round(frame.getYaw() * 100);
     }
 
     public Integer getPitch() {
-        return Math.round(pitch * 100);
+        return Math.round(frame.getPitch() * 100);
     }
 
     public Integer getRoll() {
-        return Math.round(roll * 100);
+        return Math.round(frame.getRoll() * 100);
     }
 
     public Integer getNormalizedSuspensionTravelFrontLeft() {
-        return Math.round(normalizedSuspensionTravelFrontLeft * 100);
+        return Math.round(frame.getNormalizedSuspensionTravelFrontLeft() * 100);
     }
 
     public Integer getNormalizedSuspensionTravelFrontRight() {
-        return Math.round(normalizedSuspensionTravelFrontRight * 100);
+        return Math.round(frame.getNormalizedSuspensionTravelFrontRight() * 100);
     }
 
     public Integer getNormalizedSuspensionTravelRearLeft() {
-        return Math.round(normalizedSuspensionTravelRearLeft * 100);
+        return Math.round(frame.getNormalizedSuspensionTravelRearLeft() * 100);
     }
 
     public Integer getNormalizedSuspensionTravelRearRight() {
-        return Math.round(normalizedSuspensionTravelRearRight * 100);
+        return Math.round(frame.getNormalizedSuspensionTravelRearRight() * 100);
     }
 
     public Integer getTireSlipRatioFrontLeft() {
-        return Math.round(tireSlipRatioFrontLeft * 100);
+        return Math.round(frame.getTireSlipRatioFrontLeft() * 100);
     }
 
     public Integer getTireSlipRatioFrontRight() {
-        return Math.round(tireSlipRatioFrontRight * 100);
+        return Math.round(frame.getTireSlipRatioFrontRight() * 100);
     }
 
     public Integer getTireSlipRatioRearLeft() {
-        return Math.round(tireSlipRatioRearLeft * 100);
+        return Math.round(frame.getTireSlipRatioRearLeft() * 100);
     }
 
     public Integer getTireSlipRatioRearRight() {
-        return Math.round(tireSlipRatioRearRight * 100);
+        return Math.round(frame.getTireSlipRatioRearRight() * 100);
     }
 
     public Integer getWheelRotationSpeedFrontLeft() {
-        return Math.round(wheelRotationSpeedFrontLeft * 100);
+        return Math.round(frame.getWheelRotationSpeedFrontLeft() * 100);
     }
 
     public Integer getWheelRotationSpeedFrontRight() {
-        return Math.round(wheelRotationSpeedFrontRight * 100);
+        return Math.round(frame.getWheelRotationSpeedFrontRight() * 100);
     }
 
     public Integer getWheelRotationSpeedRearLeft() {
-        return Math.round(wheelRotationSpeedRearLeft * 100);
+        return Math.round(frame.getWheelRotationSpeedRearLeft() * 100);
     }
 
     public Integer getWheelRotationSpeedRearRight() {
-        return Math.round(wheelRotationSpeedRearRight * 100);
+        return Math.round(frame.getWheelRotationSpeedRearRight() * 100);
     }
 
     public Integer getWheelOnRumbleStripFrontLeft() {
-        return wheelOnRumbleStripFrontLeft;
+        return frame.getWheelOnRumbleStripFrontLeft();
     }
 
     public Integer getWheelOnRumbleStripFrontRight() {
-        return wheelOnRumbleStripFrontRight;
+        return frame.getWheelOnRumbleStripFrontRight();
     }
 
     public Integer getWheelOnRumbleStripRearLeft() {
-        return wheelOnRumbleStripRearLeft;
+        return frame.getWheelOnRumbleStripRearLeft();
     }
 
     public Integer getWheelOnRumbleStripRearRight() {
-        return wheelOnRumbleStripRearRight;
+        return frame.getWheelOnRumbleStripRearRight();
     }
 
     public Float getWheelInPuddleDepthFrontLeft() {
-        return wheelInPuddleDepthFrontLeft;
+        return frame.getWheelInPuddleDepthFrontLeft();
     }
 
     public Float getWheelInPuddleDepthFrontRight() {
-        return wheelInPuddleDepthFrontRight;
+        return frame.getWheelInPuddleDepthFrontRight();
     }
 
     public Float getWheelInPuddleDepthRearLeft() {
-        return wheelInPuddleDepthRearLeft;
+        return frame.getWheelInPuddleDepthRearLeft();
     }
 
     public Float getWheelInPuddleDepthRearRight() {
-        return wheelInPuddleDepthRearRight;
+        return frame.getWheelInPuddleDepthRearRight();
     }
 
     public Float getSurfaceRumbleFrontLeft() {
-        return surfaceRumbleFrontLeft;
+        return frame.getSurfaceRumbleFrontLeft();
     }
 
     public Float getSurfaceRumbleFrontRight() {
-        return surfaceRumbleFrontRight;
+        return frame.getSurfaceRumbleFrontRight();
     }
 
     public Float getSurfaceRumbleRearLeft() {
-        return surfaceRumbleRearLeft;
+        return frame.getSurfaceRumbleRearLeft();
     }
 
     public Float getSurfaceRumbleRearRight() {
-        return surfaceRumbleRearRight;
+        return frame.getSurfaceRumbleRearRight();
     }
 
     public Long getTireSlipAngleFrontLeft() {
-        return angle(tireSlipAngleFrontLeft);
+        return angle(frame.getTireSlipAngleFrontLeft());
     }
 
     public Long getTireSlipAngleFrontRight() {
-        return angle(tireSlipAngleFrontRight);
+        return angle(frame.getTireSlipAngleFrontRight());
     }
 
     public Long getTireSlipAngleRearLeft() {
-        return angle(tireSlipAngleRearLeft);
+        return angle(frame.getTireSlipAngleRearLeft());
     }
 
     public Long getTireSlipAngleRearRight() {
-        return angle(tireSlipAngleRearRight);
+        return angle(frame.getTireSlipAngleRearRight());
     }
 
     public Integer getTireCombinedSlipFrontLeft() {
-        return Math.round(tireCombinedSlipFrontLeft * 100);
+        return Math.round(frame.getTireCombinedSlipFrontLeft() * 100);
     }
 
     public Integer getTireCombinedSlipFrontRight() {
-        return Math.round(tireCombinedSlipFrontRight * 100);
+        return Math.round(frame.getTireCombinedSlipFrontRight() * 100);
     }
 
     public Integer getTireCombinedSlipRearLeft() {
-        return Math.round(tireCombinedSlipRearLeft * 100);
+        return Math.round(frame.getTireCombinedSlipRearLeft() * 100);
     }
 
     public Integer getTireCombinedSlipRearRight() {
-        return Math.round(tireCombinedSlipRearRight * 100);
+        return Math.round(frame.getTireCombinedSlipRearRight() * 100);
     }
 
     public Integer getSuspensionTravelMetersFrontLeft() {
-        return Math.round(suspensionTravelMetersFrontLeft * 100);
+        return Math.round(frame.getSuspensionTravelMetersFrontLeft() * 100);
     }
 
     public Integer getSuspensionTravelMetersFrontRight() {
-        return Math.round(suspensionTravelMetersFrontRight * 100);
+        return Math.round(frame.getSuspensionTravelMetersFrontRight() * 100);
     }
 
     public Integer getSuspensionTravelMetersRearLeft() {
-        return Math.round(suspensionTravelMetersRearLeft * 100);
+        return Math.round(frame.getSuspensionTravelMetersRearLeft() * 100);
     }
 
     public Integer getSuspensionTravelMetersRearRight() {
-        return Math.round(suspensionTravelMetersRearRight * 100);
+        return Math.round(frame.getSuspensionTravelMetersRearRight() * 100);
     }
 
     public String getCarClass() {
-        return switch (carClass) {
-            case 0 -> "D";
-            case 1 -> "C";
-            case 2 -> "B";
-            case 3 -> "A";
-            case 4 -> "S1";
-            case 5 -> "S2";
-            case 6 -> "X";
-            default -> "-";
-        };
+        return CarClass.fromCode(frame.getCarClass()).getDisplayName();
+    }
+
+    public CarClass getCarClassEnum() {
+        return CarClass.fromCode(frame.getCarClass());
+    }
+
+    public int getCarClassCode() {
+        return frame.getCarClass();
     }
 
     public Integer getPerformanceIndex() {
-        return carPerformanceIndex;
+        return frame.getCarPerformanceIndex();
     }
 
     public String getDrivetrain() {
-        return switch (drivetrainType) {
-            case 0 -> "FWD";
-            case 1 -> "RWD";
-            case 2 -> "AWD";
-            default -> "-";
-        };
+        return Drivetrain.fromCode(frame.getDrivetrainType()).getDisplayName();
+    }
+
+    public Drivetrain getDrivetrainEnum() {
+        return Drivetrain.fromCode(frame.getDrivetrainType());
+    }
+
+    public int getDrivetrainCode() {
+        return frame.getDrivetrainType();
     }
 
     public Integer getNumOfCylinders() {
-        return numOfCylinders;
+        return frame.getNumOfCylinders();
     }
 
     public String getCarType() {
-        return switch (carType) {
-            case 11 -> "Modern Super Cars";
-            case 12 -> "Retro Super Cars";
-            case 13 -> "Hyper Cars";
-            case 14 -> "Retro Saloons";
-            case 16 -> "Vans & Utility";
-            case 17 -> "Retro Sports Cars";
-            case 18 -> "Modern Sports Cars";
-            case 19 -> "Super Saloons";
-            case 20 -> "Classic Racers";
-            case 21 -> "Cult Cars";
-            case 22 -> "Rare Classics";
-            case 25 -> "Super Hot Hatch";
-            case 29 -> "Rods & Customs";
-            case 30 -> "Retro Muscle";
-            case 31 -> "Modern Muscle";
-            case 32 -> "Retro Rally";
-            case 33 -> "Classic Rally";
-            case 34 -> "Rally Monsters";
-            case 35 -> "Modern Rally";
-            case 36 -> "GT Cars";
-            case 37 -> "Super GT";
-            case 38 -> "Extreme Offroad";
-            case 39 -> "Sports Utility Heroes";
-            case 40 -> "Offroad";
-            case 41 -> "Offroad Buggies";
-            case 42 -> "Classic Sports Cars";
-            case 43 -> "Track Toys";
-            case 44 -> "Vintage Racers";
-            case 45 -> "Trucks";
-            default -> "Unknown (" + carType + ")";
-        };
+        return CarCategory.getDisplayName(frame.getCarType());
+    }
+
+    public CarCategory getCarCategory() {
+        return CarCategory.fromCode(frame.getCarType());
+    }
+
+    public int getCarTypeCode() {
+        return frame.getCarType();
+    }
+
+    public ForzaPacketFormat getFormat() {
+        return frame.getFormat();
+    }
+
+    //Tire wear in percent, Forza Motorsport (2023) only
+    public Integer getTireWearFrontLeft() {
+        return Math.round(frame.getTireWearFrontLeft() * 100);
+    }
+
+    public Integer getTireWearFrontRight() {
+        return Math.round(frame.getTireWearFrontRight() * 100);
+    }
+
+    public Integer getTireWearRearLeft() {
+        return Math.round(frame.getTireWearRearLeft() * 100);
+    }
+
+    public Integer getTireWearRearRight() {
+        return Math.round(frame.getTireWearRearRight() * 100);
+    }
+
+    public Integer getTrackOrdinal() {
+        return frame.getTrackOrdinal();
     }
 
     public Long getObjectHit() {
-        return objectHit;
+        return frame.getObjectHit();
     }
 
 //    public Byte getUnknown3() {
@@ -549,23 +341,23 @@ public class ForzaTelemetryApi {
 //    }
 
     public Integer getOrdinal() {
-        return ordinal;
+        return frame.getOrdinal();
     }
 
     public Integer getPositionX() {
-        return Math.round(positionX * 1000);
+        return Math.round(frame.getPositionX() * 1000);
     }
 
     public Integer getPositionY() {
-        return Math.round(positionY * 1000);
+        return Math.round(frame.getPositionY() * 1000);
     }
 
     public Integer getPositionZ() {
-        return Math.round(positionZ * 1000);
+        return Math.round(frame.getPositionZ() * 1000);
     }
 
     public Integer getSpeedMps() {
-        return Math.round(speed);
+        return Math.round(frame.getSpeed());
     }
 
     public Integer getSpeedKph() {
@@ -577,7 +369,7 @@ public class ForzaTelemetryApi {
     }
 
     public Integer getPower() {
-        return Math.round(power);
+        return Math.round(frame.getPower());
     }
 
     public Integer getHorsePower() {
@@ -585,23 +377,23 @@ public class ForzaTelemetryApi {
     }
 
     public Integer getTorque() {
-        return Math.round(torque);
+        return Math.round(frame.getTorque());
     }
 
     public Integer getTireTempFrontLeft() {
-        return Math.round(tireTempFrontLeft);
+        return Math.round(frame.getTireTempFrontLeft());
     }
 
     public Integer getTireTempFrontRight() {
-        return Math.round(tireTempFrontRight);
+        return Math.round(frame.getTireTempFrontRight());
     }
 
     public Integer getTireTempRearLeft() {
-        return Math.round(tireTempRearLeft);
+        return Math.round(frame.getTireTempRearLeft());
     }
 
     public Integer getTireTempRearRight() {
-        return Math.round(tireTempRearRight);
+        return Math.round(frame.getTireTempRearRight());
     }
 
     public Integer getTireTempAverageFront() {
@@ -631,26 +423,26 @@ public class ForzaTelemetryApi {
 
     public Integer getTireTempFrontLeft(boolean isCelsius) {
         if(isCelsius) {
-            return Math.round(((tireTempFrontLeft - 32) * 5) / 9);
-        } else return Math.round(tireTempFrontLeft);
+            return Math.round(((frame.getTireTempFrontLeft() - 32) * 5) / 9);
+        } else return Math.round(frame.getTireTempFrontLeft());
     }
 
     public Integer getTireTempFrontRight(boolean isCelsius) {
         if(isCelsius) {
-            return Math.round(((tireTempFrontRight - 32) * 5 ) / 9);
-        } else return Math.round(tireTempFrontRight);
+            return Math.round(((frame.getTireTempFrontRight() - 32) * 5 ) / 9);
+        } else return Math.round(frame.getTireTempFrontRight());
     }
 
     public Integer getTireTempRearLeft(boolean isCelsius) {
         if(isCelsius) {
-            return Math.round(((tireTempRearLeft - 32) * 5 ) / 9);
-        } else return Math.round(tireTempRearLeft);
+            return Math.round(((frame.getTireTempRearLeft() - 32) * 5 ) / 9);
+        } else return Math.round(frame.getTireTempRearLeft());
     }
 
     public Integer getTireTempRearRight(boolean isCelsius) {
         if(isCelsius) {
-            return Math.round(((tireTempRearRight - 32) * 5) / 9);
-        } else return Math.round(tireTempRearRight);
+            return Math.round(((frame.getTireTempRearRight() - 32) * 5) / 9);
+        } else return Math.round(frame.getTireTempRearRight());
     }
 
     public Integer getTireTempAverageFront(boolean isCelsius) {
@@ -693,85 +485,75 @@ public class ForzaTelemetryApi {
         } else return Math.round(avg);    }
 
     public Integer getBoost() {
-        return Math.round(boost);
+        return Math.round(frame.getBoost());
     }
 
     public Float getFuel() {
-        return new BigDecimal(fuel * 100).setScale(2, RoundingMode.DOWN).floatValue();
+        return new BigDecimal(frame.getFuel() * 100).setScale(2, RoundingMode.DOWN).floatValue();
     }
 
     public Float getDistanceTraveled() {
-        return distanceTraveled;
+        return frame.getDistanceTraveled();
     }
 
     public Float getBestLap() {
-        return bestLap;
+        return frame.getBestLap();
     }
 
     public Float getLastLap() {
-        return lastLap;
+        return frame.getLastLap();
     }
 
     public Float getCurrentLap() {
-        return currentLap;
+        return frame.getCurrentLap();
     }
 
     public Float getCurrentRaceTime() {
-        return currentRaceTime;
+        return frame.getCurrentRaceTime();
     }
 
     public Short getLapNumber() {
-        return lapNumber;
+        return (short) frame.getLapNumber();
     }
 
     public Byte getRacePosition() {
-        return racePosition;
+        return (byte) frame.getRacePosition();
     }
 
     public Integer getThrottle() {
-        return (throttle & 0xff) * 100 / 255;
+        return frame.getThrottle() * 100 / 255;
     }
 
     public Integer getBrake() {
-        return (brake & 0xff) * 100 / 255;
+        return frame.getBrake() * 100 / 255;
     }
 
     public Integer getClutch() {
-        return (clutch & 0xff) * 100 / 255;
+        return frame.getClutch() * 100 / 255;
     }
 
     public Integer getHandbrake() {
-        return (handbrake & 0xff) * 100 / 255;
+        return frame.getHandbrake() * 100 / 255;
     }
 
     public Integer getGear() {
-        return gear & 0xff;
+        return frame.getGear();
     }
 
     public Integer getSteer() {
-        return (steer & 0xff) * 100 / 127;
+        return (frame.getSteer() & 0xff) * 100 / 127;
     }
 
     public Integer getNormalizedDrivingLine() {
-        return (normalizedDrivingLine & 0xff) * 100 / 127;
+        return (frame.getNormalizedDrivingLine() & 0xff) * 100 / 127;
     }
 
     public Integer getNormalizedAIBrakeDifference() {
-        return (normalizedAIBrakeDifference & 0xff) * 100 / 127;
+        return (frame.getNormalizedAIBrakeDifference() & 0xff) * 100 / 127;
     }
 
     public String getCarName() {
-        String carName = "Unknown";
-       /*
-        String[] ordinals = sb.toString().split("\n");
-        for (String line : ordinals) {
-            String name = line.trim().split(",")[0];
-            String ordinal = line.trim().split(",")[1];
-            if(Objects.equals(getCarOrdinal(), Integer.valueOf(ordinal))){
-                return name;
-            }
-        }*/
-        return carName;
+        return ForzaCarDatabase.getDefault().getCarName(frame.getOrdinal());
     }
 
     public Integer getAverageVelocity() {
@@ -0,0 +1,275 @@
+package root.forza.telemetry;
+
+import java.net.SocketAddress;
+
+//Reusable batch of frames for onDataBatch. Besides the full frames, the most used values are copied into
+//structure of arrays primitive columns, so aggregation code can run tight loops over index 0 until size().
+//Like a single frame, a batch is refilled after the callback returns; copy what needs to be kept.
+//Batches of a ForzaBatchDispatcher hold the frames of a single sender, see getSender().
+public class ForzaTelemetryBatch {
+    private final ForzaTelemetryFrame[] frames;
+    private final long[] timeStampMS;
+    private final float[] currentEngineRpm;
+    private final float[] speed;
+    private final float[] power;
+    private final float[] torque;
+    private final float[] boost;
+    private final int[] throttle;
+    private final int[] brake;
+    private final int[] clutch;
+    private final int[] handbrake;
+    private final int[] gear;
+    private final int[] steer;
+    private final float[] tireSlipRatioFrontLeft;
+    private final float[] tireSlipRatioFrontRight;
+    private final float[] tireSlipRatioRearLeft;
+    private final float[] tireSlipRatioRearRight;
+    private final float[] tireCombinedSlipFrontLeft;
+    private final float[] tireCombinedSlipFrontRight;
+    private final float[] tireCombinedSlipRearLeft;
+    private final float[] tireCombinedSlipRearRight;
+    private final float[] tireTempFrontLeft;
+    private final float[] tireTempFrontRight;
+    private final float[] tireTempRearLeft;
+    private final float[] tireTempRearRight;
+    private final float[] positionX;
+    private final float[] positionY;
+    private final float[] positionZ;
+    private final float[] distanceTraveled;
+    private final float[] fuel;
+    private final float[] currentLap;
+    private final int[] lapNumber;
+    private final SocketAddress sender;
+    private int size;
+
+    public ForzaTelemetryBatch(int capacity) {
+        this(capacity, null);
+    }
+
+    public ForzaTelemetryBatch(int capacity, SocketAddress sender) {
+        this.sender = sender;
+        frames = new ForzaTelemetryFrame[capacity];
+        for (int i = 0; i < capacity; i++) frames[i] = new ForzaTelemetryFrame();
+        timeStampMS = new long[capacity];
+        currentEngineRpm = new float[capacity];
+        speed = new float[capacity];
+        power = new float[capacity];
+        torque = new float[capacity];
+        boost = new float[capacity];
+        throttle = new int[capacity];
+        brake = new int[capacity];
+        clutch = new int[capacity];
+        handbrake = new int[capacity];
+        gear = new int[capacity];
+        steer = new int[capacity];
+        tireSlipRatioFrontLeft = new float[capacity];
+        tireSlipRatioFrontRight = new float[capacity];
+        tireSlipRatioRearLeft = new float[capacity];
+        tireSlipRatioRearRight = new float[capacity];
+        tireCombinedSlipFrontLeft = new float[capacity];
+        tireCombinedSlipFrontRight = new float[capacity];
+        tireCombinedSlipRearLeft = new float[capacity];
+        tireCombinedSlipRearRight = new float[capacity];
+        tireTempFrontLeft = new float[capacity];
+        tireTempFrontRight = new float[capacity];
+        tireTempRearLeft = new float[capacity];
+        tireTempRearRight = new float[capacity];
+        positionX = new float[capacity];
+        positionY = new float[capacity];
+        positionZ = new float[capacity];
+        distanceTraveled = new float[capacity];
+        fuel = new float[capacity];
+        currentLap = new float[capacity];
+        lapNumber = new int[capacity];
+    }
+
+    //Decodes the view into the next slot, returns false when the batch is already full
+    boolean add(ForzaTelemetryView view) {
+        if (size == frames.length) return false;
+        int i = size++;
+        ForzaTelemetryFrame frame = view.decodeInto(frames[i]);
+        timeStampMS[i] = frame.getTimeStampMS();
+        currentEngineRpm[i] = frame.getCurrentEngineRpm();
+        speed[i] = frame.getSpeed();
+        power[i] = frame.getPower();
+        torque[i] = frame.getTorque();
+        boost[i] = frame.getBoost();
+        throttle[i] = frame.getThrottle();
+        brake[i] = frame.getBrake();
+        clutch[i] = frame.getClutch();
+        handbrake[i] = frame.getHandbrake();
+        gear[i] = frame.getGear();
+        steer[i] = frame.getSteer();
+        tireSlipRatioFrontLeft[i] = frame.getTireSlipRatioFrontLeft();
+        tireSlipRatioFrontRight[i] = frame.getTireSlipRatioFrontRight();
+        tireSlipRatioRearLeft[i] = frame.getTireSlipRatioRearLeft();
+        tireSlipRatioRearRight[i] = frame.getTireSlipRatioRearRight();
+        tireCombinedSlipFrontLeft[i] = frame.getTireCombinedSlipFrontLeft();
+        tireCombinedSlipFrontRight[i] = frame.getTireCombinedSlipFrontRight();
+        tireCombinedSlipRearLeft[i] = frame.getTireCombinedSlipRearLeft();
+        tireCombinedSlipRearRight[i] = frame.getTireCombinedSlipRearRight();
+        tireTempFrontLeft[i] = frame.getTireTempFrontLeft();
+        tireTempFrontRight[i] = frame.getTireTempFrontRight();
+        tireTempRearLeft[i] = frame.getTireTempRearLeft();
+        tireTempRearRight[i] = frame.getTireTempRearRight();
+        positionX[i] = frame.getPositionX();
+        positionY[i] = frame.getPositionY();
+        positionZ[i] = frame.getPositionZ();
+        distanceTraveled[i] = frame.getDistanceTraveled();
+        fuel[i] = frame.getFuel();
+        currentLap[i] = frame.getCurrentLap();
+        lapNumber[i] = frame.getLapNumber();
+        return true;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    //The console every frame of this batch came from, null for batches not collected per sender
+    public SocketAddress getSender() {
+        return sender;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return frames.length;
+    }
+
+    public boolean isFull() {
+        return size == frames.length;
+    }
+
+    public ForzaTelemetryFrame getFrame(int index) {
+        return frames[index];
+    }
+
+    //Column getters return the backing arrays, only index 0 until size() is valid
+
+    public long[] getTimeStampMS() {
+        return timeStampMS;
+    }
+
+    public float[] getCurrentEngineRpm() {
+        return currentEngineRpm;
+    }
+
+    public float[] getSpeed() {
+        return speed;
+    }
+
+    public float[] getPower() {
+        return power;
+    }
+
+    public float[] getTorque() {
+        return torque;
+    }
+
+    public float[] getBoost() {
+        return boost;
+    }
+
+    public int[] getThrottle() {
+        return throttle;
+    }
+
+    public int[] getBrake() {
+        return brake;
+    }
+
+    public int[] getClutch() {
+        return clutch;
+    }
+
+    public int[] getHandbrake() {
+        return handbrake;
+    }
+
+    public int[] getGear() {
+        return gear;
+    }
+
+    public int[] getSteer() {
+        return steer;
+    }
+
+    public float[] getTireSlipRatioFrontLeft() {
+        return tireSlipRatioFrontLeft;
+    }
+
+    public float[] getTireSlipRatioFrontRight() {
+        return tireSlipRatioFrontRight;
+    }
+
+    public float[] getTireSlipRatioRearLeft() {
+        return tireSlipRatioRearLeft;
+    }
+
+    public float[] getTireSlipRatioRearRight() {
+        return tireSlipRatioRearRight;
+    }
+
+    public float[] getTireCombinedSlipFrontLeft() {
+        return tireCombinedSlipFrontLeft;
+    }
+
+    public float[] getTireCombinedSlipFrontRight() {
+        return tireCombinedSlipFrontRight;
+    }
+
+    public float[] getTireCombinedSlipRearLeft() {
+        return tireCombinedSlipRearLeft;
+    }
+
+    public float[] getTireCombinedSlipRearRight() {
+        return tireCombinedSlipRearRight;
+    }
+
+    public float[] getTireTempFrontLeft() {
+        return tireTempFrontLeft;
+    }
+
+    public float[] getTireTempFrontRight() {
+        return tireTempFrontRight;
+    }
+
+    public float[] getTireTempRearLeft() {
+        return tireTempRearLeft;
+    }
+
+    public float[] getTireTempRearRight() {
+        return tireTempRearRight;
+    }
+
+    public float[] getPositionX() {
+        return positionX;
+    }
+
+    public float[] getPositionY() {
+        return positionY;
+    }
+
+    public float[] getPositionZ() {
+        return positionZ;
+    }
+
+    public float[] getDistanceTraveled() {
+        return distanceTraveled;
+    }
+
+    public float[] getFuel() {
+        return fuel;
+    }
+
+    public float[] getCurrentLap() {
+        return currentLap;
+    }
+
+    public int[] getLapNumber() {
+        return lapNumber;
+    }
+}
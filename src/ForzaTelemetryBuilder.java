@@ -1,20 +1,277 @@
 package root.forza.telemetry;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 public class ForzaTelemetryBuilder {
-    ForzaInterface listener;
+    //Listeners of the default port, each with the thread it runs on
+    final List<Subscription> listeners = new ArrayList<>();
     int port = 5300;
+    //Extra ports, each one usually a different console or PC sending to this machine
+    final Map<Integer, List<Subscription>> portListeners = new LinkedHashMap<>();
+    //Threads of the pool behind ForzaExecution.SHARED_POOL, 0 uses one per processor
+    int sharedPoolThreads = 0;
+    //Packets held back per sender to put them in timeStampMS order, -1 passes them on as they arrive
+    int sequenceWindow = -1;
+    //Ring buffer between receive and dispatch, 0 runs the callbacks on the receive thread
+    int bufferCapacity = 0;
+    ForzaRingBuffer.OverflowPolicy overflowPolicy = ForzaRingBuffer.OverflowPolicy.DROP_OLDEST;
+    //Frames per onDataBatch call, 0 dispatches every packet on its own
+    int batchSize = 0;
+    long batchLatencyMs = 0;
+    //One blocking virtual thread per port instead of a shared selector, falls back to daemon threads before Java 21
+    boolean virtualThreads = false;
+    //Senders silent for this long lose their session, sending again triggers onConnected
+    long idleTimeoutMs = ForzaSessionTable.DEFAULT_IDLE_TIMEOUT_MS;
+    //Raw packets of every port are recorded to this file, null records nothing
+    Path captureFile;
+    ForzaCaptureWriter captureWriter;
+    //Raw packets of these ports are copied to the destinations before anything else runs, see ForzaRelay
+    final Map<Integer, List<InetSocketAddress>> relays = new LinkedHashMap<>();
+    //Receivers, listeners and ring buffers report into this, null measures nothing
+    ForzaMetrics metrics;
 
     public ForzaTelemetryBuilder(){} //Used for default
     public ForzaTelemetryBuilder(int port) {
         this.port = port;
     }
 
+    record Subscription(ForzaInterface listener, ForzaExecution execution) {}
+
     ForzaTelemetryBuilder addListener(ForzaInterface listener) {
-        this.listener = listener;
+        return addListener(listener, ForzaExecution.INLINE);
+    }
+
+    //Every listener added shares the socket and the packet decode, see ForzaFanout
+    ForzaTelemetryBuilder addListener(ForzaInterface listener, ForzaExecution execution) {
+        listeners.add(new Subscription(listener, execution));
+        return this;
+    }
+
+    ForzaTelemetryBuilder addListener(int port, ForzaInterface listener) {
+        return addListener(port, listener, ForzaExecution.INLINE);
+    }
+
+    ForzaTelemetryBuilder addListener(int port, ForzaInterface listener, ForzaExecution execution) {
+        portListeners.computeIfAbsent(port, p -> new ArrayList<>()).add(new Subscription(listener, execution));
+        return this;
+    }
+
+    ForzaTelemetryBuilder withSharedPool(int threads) {
+        this.sharedPoolThreads = threads;
+        return this;
+    }
+
+    //Callbacks run on their own dispatch thread, fed through a ring of capacity packets
+    ForzaTelemetryBuilder withBuffer(int capacity, ForzaRingBuffer.OverflowPolicy policy) {
+        this.bufferCapacity = capacity;
+        this.overflowPolicy = policy;
+        return this;
+    }
+
+    //Drops duplicate and stale packets, reorders within window packets and reports onPacketGap, see ForzaSequencer
+    ForzaTelemetryBuilder withSequencing(int window) {
+        this.sequenceWindow = window;
+        return this;
+    }
+
+    //Listeners get onDataBatch with up to batchSize frames, delivered at the latest maxLatencyMs after the first one
+    ForzaTelemetryBuilder withBatch(int batchSize, long maxLatencyMs) {
+        this.batchSize = batchSize;
+        this.batchLatencyMs = maxLatencyMs;
+        return this;
+    }
+
+    ForzaTelemetryBuilder useVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    ForzaTelemetryBuilder withIdleTimeout(long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+        return this;
+    }
+
+    //Records every received packet, see ForzaCaptureWriter. All ports share one file
+    ForzaTelemetryBuilder withCapture(Path file) {
+        this.captureFile = file;
+        return this;
+    }
+
+    //Forwards the default port's packets, as received, to other tools on this or another machine
+    ForzaTelemetryBuilder withRelay(InetSocketAddress... destinations) {
+        return withRelay(port, destinations);
+    }
+
+    ForzaTelemetryBuilder withRelay(int port, InetSocketAddress... destinations) {
+        relays.computeIfAbsent(port, p -> new ArrayList<>()).addAll(Arrays.asList(destinations));
         return this;
     }
 
+    //Per port receive counters and per listener latencies, see ForzaMetrics
+    ForzaTelemetryBuilder withMetrics(ForzaMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    ForzaCaptureWriter getCaptureWriter() {
+        if (captureFile == null) return null;
+        if (captureWriter == null) {
+            try {
+                captureWriter = new ForzaCaptureWriter(captureFile);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return captureWriter;
+    }
+
+    ForzaPacketHandler getHandler(int port, ForzaInterface listener) {
+        ForzaPacketHandler handler = batchSize > 0
+                ? new ForzaBatchDispatcher(listener, batchSize, batchLatencyMs, idleTimeoutMs)
+                : new ForzaDispatcher(listener, idleTimeoutMs);
+        if (sequenceWindow >= 0) {
+            ForzaSequencer sequencer = new ForzaSequencer(handler, listener, sequenceWindow, ForzaSequencer.DEFAULT_MAX_HOLD_MS, idleTimeoutMs);
+            if (metrics != null) metrics.register(String.valueOf(port), sequencer);
+            handler = sequencer;
+        }
+        //Recorded on the dispatch side, so a ring buffer keeps file writes off the receive thread.
+        //Before the sequencer, the capture keeps packets as they arrived
+        if (captureFile != null) handler = getCaptureWriter().andThen(handler);
+        if (bufferCapacity > 0) {
+            ForzaAsyncHandler async = new ForzaAsyncHandler(handler, bufferCapacity, overflowPolicy);
+            if (metrics != null) metrics.register(String.valueOf(port), async.getRingBuffer());
+            handler = async;
+        }
+        //On the receive thread in front of the ring, relayed packets never wait for a listener
+        List<InetSocketAddress> destinations = relays.get(port);
+        if (destinations != null) handler = new ForzaRelay(destinations, handler, null, idleTimeoutMs);
+        //Outermost, so the dispatch latency is the time the receive thread is held up
+        if (metrics != null) handler = metrics.instrument(String.valueOf(port), handler, idleTimeoutMs);
+        return handler;
+    }
+
+    //One listener per port: the default port plus every port added with addListener(port, listener).
+    //A port with a single inline listener gets it as is, anything else is wrapped in a ForzaFanout
+    //whose threads are added to closeables.
+    Map<Integer, ForzaInterface> getListeners(List<Closeable> closeables) {
+        Map<Integer, List<Subscription>> subscriptions = new LinkedHashMap<>();
+        if (!listeners.isEmpty()) subscriptions.put(port, new ArrayList<>(listeners));
+        portListeners.forEach((p, list) -> subscriptions.computeIfAbsent(p, key -> new ArrayList<>()).addAll(list));
+        ExecutorService pool = null;
+        Map<Integer, ForzaInterface> result = new LinkedHashMap<>();
+        for (Map.Entry<Integer, List<Subscription>> entry : subscriptions.entrySet()) {
+            List<Subscription> list = entry.getValue();
+            if (list.size() == 1 && list.get(0).execution() == ForzaExecution.INLINE) {
+                result.put(entry.getKey(), instrument(list.get(0).listener()));
+                continue;
+            }
+            boolean shared = list.stream().anyMatch(sub -> sub.execution() == ForzaExecution.SHARED_POOL);
+            if (shared && pool == null) pool = newSharedPool();
+            ForzaFanout fanout = new ForzaFanout(pool, ForzaFanout.DEFAULT_CAPACITY);
+            for (Subscription sub : list) fanout.add(instrument(sub.listener()), sub.execution());
+            closeables.add(fanout);
+            result.put(entry.getKey(), fanout);
+        }
+        //After the fanouts, which stop handing work to the pool once closed
+        if (pool != null) closeables.add(pool::shutdown);
+        return result;
+    }
+
+    //Listeners are reported under their class name, e.g. listener="Main"
+    private ForzaInterface instrument(ForzaInterface listener) {
+        if (metrics == null) return listener;
+        String name = listener.getClass().getSimpleName();
+        return metrics.instrument(name.isEmpty() ? listener.getClass().getName() : name, listener);
+    }
+
+    private ExecutorService newSharedPool() {
+        int threads = sharedPoolThreads > 0 ? sharedPoolThreads : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "forza-listener-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //Single selector based receiver serving every port in listeners, closeable handlers are added to handlers
+    private ForzaNioReceiver getReceiver(Map<Integer, ForzaInterface> listeners, List<Closeable> handlers) {
+        try {
+            ForzaNioReceiver receiver = new ForzaNioReceiver();
+            try {
+                for (Map.Entry<Integer, ForzaInterface> entry : listeners.entrySet()) {
+                    receiver.register(entry.getKey(), track(getHandler(entry.getKey(), entry.getValue()), handlers));
+                }
+            } catch (IOException e) {
+                receiver.close();
+                throw e;
+            }
+            return receiver;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //Same receivers as getConnection(), run from a single thread the caller starts. Interrupting it stops the
+    //connection: sockets, fanouts, dispatch threads and the capture file are closed as with stop().
     Thread getThread() {
-        return listener.startConnection(port);
+        ForzaConnection connection = getConnection();
+        return new Thread(() -> {
+            try {
+                connection.start().join();
+            } catch (InterruptedException ignored) {
+            } finally {
+                //Also when a receiver ends on its own, nothing is left running behind it
+                connection.stop();
+            }
+        }) {
+            @Override
+            public void interrupt() {
+                connection.stop();
+                super.interrupt();
+            }
+        };
+    }
+
+    //Unstarted lifecycle handle. With virtual threads every port gets its own blocking receive session,
+    //otherwise a single port uses a blocking socket and several ports share one selector thread.
+    ForzaConnection getConnection() {
+        List<Thread> threads = new ArrayList<>();
+        List<Closeable> receivers = new ArrayList<>();
+        List<Closeable> handlers = new ArrayList<>();
+        Map<Integer, ForzaInterface> listeners = getListeners(handlers);
+        if (virtualThreads || listeners.size() == 1) {
+            for (Map.Entry<Integer, ForzaInterface> entry : listeners.entrySet()) {
+                ForzaSocketReceiver receiver = new ForzaSocketReceiver(entry.getKey(), track(getHandler(entry.getKey(), entry.getValue()), handlers));
+                receivers.add(receiver);
+                threads.add(ForzaThreads.newThread(receiver, "forza-receiver-" + entry.getKey(), virtualThreads));
+            }
+        } else {
+            ForzaNioReceiver receiver = getReceiver(listeners, handlers);
+            receivers.add(receiver);
+            threads.add(ForzaThreads.newThread(receiver, "forza-receiver", false));
+        }
+        //Receivers are closed first so nothing is queued into a dispatch thread that is already gone
+        receivers.addAll(handlers);
+        if (captureWriter != null) receivers.add(captureWriter);
+        return new ForzaConnection(threads, receivers);
+    }
+
+    ForzaConnection start() {
+        return getConnection().start();
+    }
+
+    private static ForzaPacketHandler track(ForzaPacketHandler handler, List<Closeable> handlers) {
+        if (handler instanceof Closeable closeable) handlers.add(closeable);
+        return handler;
     }
 }
@@ -0,0 +1,814 @@
+package root.forza.telemetry;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+//Primitive, unboxed decode of a single Forza packet. Values are stored exactly as sent by the game,
+//ForzaTelemetryApi rounds and converts them on top of this class.
+//A frame is mutable: decode() re-binds it to a new packet, so one instance can serve a whole session.
+public class ForzaTelemetryFrame {
+    private boolean isRaceOn;
+    private long timeStampMS;
+    private float engineMaxRpm;
+    private float engineIdleRpm;
+    private float currentEngineRpm;
+    private float accelerationX;
+    private float accelerationY;
+    private float accelerationZ;
+    private float velocityX;
+    private float velocityY;
+    private float velocityZ;
+    private float angularVelocityX;
+    private float angularVelocityY;
+    private float angularVelocityZ;
+    private float yaw;
+    private float pitch;
+    private float roll;
+    private float normalizedSuspensionTravelFrontLeft;
+    private float normalizedSuspensionTravelFrontRight;
+    private float normalizedSuspensionTravelRearLeft;
+    private float normalizedSuspensionTravelRearRight;
+    private float tireSlipRatioFrontLeft;
+    private float tireSlipRatioFrontRight;
+    private float tireSlipRatioRearLeft;
+    private float tireSlipRatioRearRight;
+    private float wheelRotationSpeedFrontLeft;
+    private float wheelRotationSpeedFrontRight;
+    private float wheelRotationSpeedRearLeft;
+    private float wheelRotationSpeedRearRight;
+    private int wheelOnRumbleStripFrontLeft;
+    private int wheelOnRumbleStripFrontRight;
+    private int wheelOnRumbleStripRearLeft;
+    private int wheelOnRumbleStripRearRight;
+    private float wheelInPuddleDepthFrontLeft;
+    private float wheelInPuddleDepthFrontRight;
+    private float wheelInPuddleDepthRearLeft;
+    private float wheelInPuddleDepthRearRight;
+    private float surfaceRumbleFrontLeft;
+    private float surfaceRumbleFrontRight;
+    private float surfaceRumbleRearLeft;
+    private float surfaceRumbleRearRight;
+    private float tireSlipAngleFrontLeft;
+    private float tireSlipAngleFrontRight;
+    private float tireSlipAngleRearLeft;
+    private float tireSlipAngleRearRight;
+    private float tireCombinedSlipFrontLeft;
+    private float tireCombinedSlipFrontRight;
+    private float tireCombinedSlipRearLeft;
+    private float tireCombinedSlipRearRight;
+    private float suspensionTravelMetersFrontLeft;
+    private float suspensionTravelMetersFrontRight;
+    private float suspensionTravelMetersRearLeft;
+    private float suspensionTravelMetersRearRight;
+    private int ordinal;
+    private int carClass;
+    private int carPerformanceIndex;
+    private int drivetrainType;
+    private int numOfCylinders;
+    private int carType;
+    private long objectHit;
+    private float positionX;
+    private float positionY;
+    private float positionZ;
+    private float speed;
+    private float power;
+    private float torque;
+    private float tireTempFrontLeft;
+    private float tireTempFrontRight;
+    private float tireTempRearLeft;
+    private float tireTempRearRight;
+    private float boost;
+    private float fuel;
+    private float distanceTraveled;
+    private float bestLap;
+    private float lastLap;
+    private float currentLap;
+    private float currentRaceTime;
+    private int lapNumber;
+    private int racePosition;
+    private int throttle;
+    private int brake;
+    private int clutch;
+    private int handbrake;
+    private int gear;
+    private int steer;
+    private int normalizedDrivingLine;
+    private int normalizedAIBrakeDifference;
+    //Forza Motorsport (2023) only
+    private float tireWearFrontLeft;
+    private float tireWearFrontRight;
+    private float tireWearRearLeft;
+    private float tireWearRearRight;
+    private int trackOrdinal;
+    private ForzaPacketFormat format = ForzaPacketFormat.FH5_DASH;
+
+    //Reused wrapper for decode(byte[], int) so re-binding to the same receive array allocates nothing
+    private ByteBuffer wrapper;
+
+    //Empty frame, meant to be filled by decode() and reused for every packet
+    public ForzaTelemetryFrame() {}
+
+    public ForzaTelemetryFrame(byte[] bytes) {
+        decode(bytes, bytes.length);
+    }
+
+    public ForzaTelemetryFrame(ByteBuffer buffer) {
+        decode(buffer);
+    }
+
+    //Re-binds this frame to the first length bytes of the array, overwriting every field
+    public ForzaTelemetryFrame decode(byte[] bytes, int length) {
+        if (wrapper == null || wrapper.array() != bytes) {
+            wrapper = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        wrapper.clear().limit(length);
+        return decode(wrapper);
+    }
+
+    //Re-binds this frame to the packet held in buffer[0, limit), overwriting every field
+    public ForzaTelemetryFrame decode(ByteBuffer buffer) {
+        read(buffer.order(ByteOrder.LITTLE_ENDIAN));
+        return this;
+    }
+
+    //Frames handed out by the listener loop are reused, copy() is the only way to keep one past the callback
+    public ForzaTelemetryFrame copy() {
+        return copyTo(new ForzaTelemetryFrame());
+    }
+
+    public ForzaTelemetryFrame copyTo(ForzaTelemetryFrame target) {
+        target.isRaceOn = isRaceOn;
+        target.timeStampMS = timeStampMS;
+        target.engineMaxRpm = engineMaxRpm;
+        target.engineIdleRpm = engineIdleRpm;
+        target.currentEngineRpm = currentEngineRpm;
+        target.accelerationX = accelerationX;
+        target.accelerationY = accelerationY;
+        target.accelerationZ = accelerationZ;
+        target.velocityX = velocityX;
+        target.velocityY = velocityY;
+        target.velocityZ = velocityZ;
+        target.angularVelocityX = angularVelocityX;
+        target.angularVelocityY = angularVelocityY;
+        target.angularVelocityZ = angularVelocityZ;
+        target.yaw = yaw;
+        target.pitch = pitch;
+        target.roll = roll;
+        target.normalizedSuspensionTravelFrontLeft = normalizedSuspensionTravelFrontLeft;
+        target.normalizedSuspensionTravelFrontRight = normalizedSuspensionTravelFrontRight;
+        target.normalizedSuspensionTravelRearLeft = normalizedSuspensionTravelRearLeft;
+        target.normalizedSuspensionTravelRearRight = normalizedSuspensionTravelRearRight;
+        target.tireSlipRatioFrontLeft = tireSlipRatioFrontLeft;
+        target.tireSlipRatioFrontRight = tireSlipRatioFrontRight;
+        target.tireSlipRatioRearLeft = tireSlipRatioRearLeft;
+        target.tireSlipRatioRearRight = tireSlipRatioRearRight;
+        target.wheelRotationSpeedFrontLeft = wheelRotationSpeedFrontLeft;
+        target.wheelRotationSpeedFrontRight = wheelRotationSpeedFrontRight;
+        target.wheelRotationSpeedRearLeft = wheelRotationSpeedRearLeft;
+        target.wheelRotationSpeedRearRight = wheelRotationSpeedRearRight;
+        target.wheelOnRumbleStripFrontLeft = wheelOnRumbleStripFrontLeft;
+        target.wheelOnRumbleStripFrontRight = wheelOnRumbleStripFrontRight;
+        target.wheelOnRumbleStripRearLeft = wheelOnRumbleStripRearLeft;
+        target.wheelOnRumbleStripRearRight = wheelOnRumbleStripRearRight;
+        target.wheelInPuddleDepthFrontLeft = wheelInPuddleDepthFrontLeft;
+        target.wheelInPuddleDepthFrontRight = wheelInPuddleDepthFrontRight;
+        target.wheelInPuddleDepthRearLeft = wheelInPuddleDepthRearLeft;
+        target.wheelInPuddleDepthRearRight = wheelInPuddleDepthRearRight;
+        target.surfaceRumbleFrontLeft = surfaceRumbleFrontLeft;
+        target.surfaceRumbleFrontRight = surfaceRumbleFrontRight;
+        target.surfaceRumbleRearLeft = surfaceRumbleRearLeft;
+        target.surfaceRumbleRearRight = surfaceRumbleRearRight;
+        target.tireSlipAngleFrontLeft = tireSlipAngleFrontLeft;
+        target.tireSlipAngleFrontRight = tireSlipAngleFrontRight;
+        target.tireSlipAngleRearLeft = tireSlipAngleRearLeft;
+        target.tireSlipAngleRearRight = tireSlipAngleRearRight;
+        target.tireCombinedSlipFrontLeft = tireCombinedSlipFrontLeft;
+        target.tireCombinedSlipFrontRight = tireCombinedSlipFrontRight;
+        target.tireCombinedSlipRearLeft = tireCombinedSlipRearLeft;
+        target.tireCombinedSlipRearRight = tireCombinedSlipRearRight;
+        target.suspensionTravelMetersFrontLeft = suspensionTravelMetersFrontLeft;
+        target.suspensionTravelMetersFrontRight = suspensionTravelMetersFrontRight;
+        target.suspensionTravelMetersRearLeft = suspensionTravelMetersRearLeft;
+        target.suspensionTravelMetersRearRight = suspensionTravelMetersRearRight;
+        target.ordinal = ordinal;
+        target.carClass = carClass;
+        target.carPerformanceIndex = carPerformanceIndex;
+        target.drivetrainType = drivetrainType;
+        target.numOfCylinders = numOfCylinders;
+        target.carType = carType;
+        target.objectHit = objectHit;
+        target.positionX = positionX;
+        target.positionY = positionY;
+        target.positionZ = positionZ;
+        target.speed = speed;
+        target.power = power;
+        target.torque = torque;
+        target.tireTempFrontLeft = tireTempFrontLeft;
+        target.tireTempFrontRight = tireTempFrontRight;
+        target.tireTempRearLeft = tireTempRearLeft;
+        target.tireTempRearRight = tireTempRearRight;
+        target.boost = boost;
+        target.fuel = fuel;
+        target.distanceTraveled = distanceTraveled;
+        target.bestLap = bestLap;
+        target.lastLap = lastLap;
+        target.currentLap = currentLap;
+        target.currentRaceTime = currentRaceTime;
+        target.lapNumber = lapNumber;
+        target.racePosition = racePosition;
+        target.throttle = throttle;
+        target.brake = brake;
+        target.clutch = clutch;
+        target.handbrake = handbrake;
+        target.gear = gear;
+        target.steer = steer;
+        target.normalizedDrivingLine = normalizedDrivingLine;
+        target.normalizedAIBrakeDifference = normalizedAIBrakeDifference;
+        target.tireWearFrontLeft = tireWearFrontLeft;
+        target.tireWearFrontRight = tireWearFrontRight;
+        target.tireWearRearLeft = tireWearRearLeft;
+        target.tireWearRearRight = tireWearRearRight;
+        target.trackOrdinal = trackOrdinal;
+        target.format = format;
+        return target;
+    }
+
+    //Every field is read from its fixed offset, no sequential buffer position is involved
+    private void read(ByteBuffer bb) {
+        format = ForzaPacketFormat.detect(bb.limit());
+        int shift = format.getDashShift();
+        isRaceOn = ForzaPacket.readInt(bb, ForzaPacket.IS_RACE_ON) == 1;
+        timeStampMS = ForzaPacket.readUnsignedInt(bb, ForzaPacket.TIME_STAMP_MS);
+        engineMaxRpm = ForzaPacket.readFloat(bb, ForzaPacket.ENGINE_MAX_RPM);
+        engineIdleRpm = ForzaPacket.readFloat(bb, ForzaPacket.ENGINE_IDLE_RPM);
+        currentEngineRpm = ForzaPacket.readFloat(bb, ForzaPacket.CURRENT_ENGINE_RPM);
+        accelerationX = ForzaPacket.readFloat(bb, ForzaPacket.ACCELERATION_X);
+        accelerationY = ForzaPacket.readFloat(bb, ForzaPacket.ACCELERATION_Y);
+        accelerationZ = ForzaPacket.readFloat(bb, ForzaPacket.ACCELERATION_Z);
+        velocityX = ForzaPacket.readFloat(bb, ForzaPacket.VELOCITY_X);
+        velocityY = ForzaPacket.readFloat(bb, ForzaPacket.VELOCITY_Y);
+        velocityZ = ForzaPacket.readFloat(bb, ForzaPacket.VELOCITY_Z);
+        angularVelocityX = ForzaPacket.readFloat(bb, ForzaPacket.ANGULAR_VELOCITY_X);
+        angularVelocityY = ForzaPacket.readFloat(bb, ForzaPacket.ANGULAR_VELOCITY_Y);
+        angularVelocityZ = ForzaPacket.readFloat(bb, ForzaPacket.ANGULAR_VELOCITY_Z);
+        yaw = ForzaPacket.readFloat(bb, ForzaPacket.YAW);
+        pitch = ForzaPacket.readFloat(bb, ForzaPacket.PITCH);
+        roll = ForzaPacket.readFloat(bb, ForzaPacket.ROLL);
+        normalizedSuspensionTravelFrontLeft = ForzaPacket.readFloat(bb, ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_FRONT_LEFT);
+        normalizedSuspensionTravelFrontRight = ForzaPacket.readFloat(bb, ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_FRONT_RIGHT);
+        normalizedSuspensionTravelRearLeft = ForzaPacket.readFloat(bb, ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_REAR_LEFT);
+        normalizedSuspensionTravelRearRight = ForzaPacket.readFloat(bb, ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_REAR_RIGHT);
+        tireSlipRatioFrontLeft = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_SLIP_RATIO_FRONT_LEFT);
+        tireSlipRatioFrontRight = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_SLIP_RATIO_FRONT_RIGHT);
+        tireSlipRatioRearLeft = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_SLIP_RATIO_REAR_LEFT);
+        tireSlipRatioRearRight = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_SLIP_RATIO_REAR_RIGHT);
+        wheelRotationSpeedFrontLeft = ForzaPacket.readFloat(bb, ForzaPacket.WHEEL_ROTATION_SPEED_FRONT_LEFT);
+        wheelRotationSpeedFrontRight = ForzaPacket.readFloat(bb, ForzaPacket.WHEEL_ROTATION_SPEED_FRONT_RIGHT);
+        wheelRotationSpeedRearLeft = ForzaPacket.readFloat(bb, ForzaPacket.WHEEL_ROTATION_SPEED_REAR_LEFT);
+        wheelRotationSpeedRearRight = ForzaPacket.readFloat(bb, ForzaPacket.WHEEL_ROTATION_SPEED_REAR_RIGHT);
+        wheelOnRumbleStripFrontLeft = ForzaPacket.readInt(bb, ForzaPacket.WHEEL_ON_RUMBLE_STRIP_FRONT_LEFT);
+        wheelOnRumbleStripFrontRight = ForzaPacket.readInt(bb, ForzaPacket.WHEEL_ON_RUMBLE_STRIP_FRONT_RIGHT);
+        wheelOnRumbleStripRearLeft = ForzaPacket.readInt(bb, ForzaPacket.WHEEL_ON_RUMBLE_STRIP_REAR_LEFT);
+        wheelOnRumbleStripRearRight = ForzaPacket.readInt(bb, ForzaPacket.WHEEL_ON_RUMBLE_STRIP_REAR_RIGHT);
+        wheelInPuddleDepthFrontLeft = ForzaPacket.readFloat(bb, ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_FRONT_LEFT);
+        wheelInPuddleDepthFrontRight = ForzaPacket.readFloat(bb, ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_FRONT_RIGHT);
+        wheelInPuddleDepthRearLeft = ForzaPacket.readFloat(bb, ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_REAR_LEFT);
+        wheelInPuddleDepthRearRight = ForzaPacket.readFloat(bb, ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_REAR_RIGHT);
+        surfaceRumbleFrontLeft = ForzaPacket.readFloat(bb, ForzaPacket.SURFACE_RUMBLE_FRONT_LEFT);
+        surfaceRumbleFrontRight = ForzaPacket.readFloat(bb, ForzaPacket.SURFACE_RUMBLE_FRONT_RIGHT);
+        surfaceRumbleRearLeft = ForzaPacket.readFloat(bb, ForzaPacket.SURFACE_RUMBLE_REAR_LEFT);
+        surfaceRumbleRearRight = ForzaPacket.readFloat(bb, ForzaPacket.SURFACE_RUMBLE_REAR_RIGHT);
+        tireSlipAngleFrontLeft = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_SLIP_ANGLE_FRONT_LEFT);
+        tireSlipAngleFrontRight = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_SLIP_ANGLE_FRONT_RIGHT);
+        tireSlipAngleRearLeft = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_SLIP_ANGLE_REAR_LEFT);
+        tireSlipAngleRearRight = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_SLIP_ANGLE_REAR_RIGHT);
+        tireCombinedSlipFrontLeft = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_COMBINED_SLIP_FRONT_LEFT);
+        tireCombinedSlipFrontRight = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_COMBINED_SLIP_FRONT_RIGHT);
+        tireCombinedSlipRearLeft = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_COMBINED_SLIP_REAR_LEFT);
+        tireCombinedSlipRearRight = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_COMBINED_SLIP_REAR_RIGHT);
+        suspensionTravelMetersFrontLeft = ForzaPacket.readFloat(bb, ForzaPacket.SUSPENSION_TRAVEL_METERS_FRONT_LEFT);
+        suspensionTravelMetersFrontRight = ForzaPacket.readFloat(bb, ForzaPacket.SUSPENSION_TRAVEL_METERS_FRONT_RIGHT);
+        suspensionTravelMetersRearLeft = ForzaPacket.readFloat(bb, ForzaPacket.SUSPENSION_TRAVEL_METERS_REAR_LEFT);
+        suspensionTravelMetersRearRight = ForzaPacket.readFloat(bb, ForzaPacket.SUSPENSION_TRAVEL_METERS_REAR_RIGHT);
+        ordinal = ForzaPacket.readInt(bb, ForzaPacket.ORDINAL);
+        carClass = ForzaPacket.readInt(bb, ForzaPacket.CAR_CLASS);
+        carPerformanceIndex = ForzaPacket.readInt(bb, ForzaPacket.CAR_PERFORMANCE_INDEX);
+        drivetrainType = ForzaPacket.readInt(bb, ForzaPacket.DRIVETRAIN_TYPE);
+        numOfCylinders = ForzaPacket.readInt(bb, ForzaPacket.NUM_OF_CYLINDERS);
+        carType = format.hasCarType() ? ForzaPacket.readInt(bb, ForzaPacket.CAR_TYPE) : 0;
+        objectHit = format.hasCarType() ? ForzaPacket.readLong(bb, ForzaPacket.OBJECT_HIT) : 0;
+        positionX = ForzaPacket.readFloat(bb, ForzaPacket.POSITION_X + shift);
+        positionY = ForzaPacket.readFloat(bb, ForzaPacket.POSITION_Y + shift);
+        positionZ = ForzaPacket.readFloat(bb, ForzaPacket.POSITION_Z + shift);
+        speed = ForzaPacket.readFloat(bb, ForzaPacket.SPEED + shift);
+        power = ForzaPacket.readFloat(bb, ForzaPacket.POWER + shift);
+        torque = ForzaPacket.readFloat(bb, ForzaPacket.TORQUE + shift);
+        tireTempFrontLeft = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_TEMP_FRONT_LEFT + shift);
+        tireTempFrontRight = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_TEMP_FRONT_RIGHT + shift);
+        tireTempRearLeft = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_TEMP_REAR_LEFT + shift);
+        tireTempRearRight = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_TEMP_REAR_RIGHT + shift);
+        boost = ForzaPacket.readFloat(bb, ForzaPacket.BOOST + shift);
+        fuel = ForzaPacket.readFloat(bb, ForzaPacket.FUEL + shift);
+        distanceTraveled = ForzaPacket.readFloat(bb, ForzaPacket.DISTANCE_TRAVELED + shift);
+        bestLap = ForzaPacket.readFloat(bb, ForzaPacket.BEST_LAP + shift);
+        lastLap = ForzaPacket.readFloat(bb, ForzaPacket.LAST_LAP + shift);
+        currentLap = ForzaPacket.readFloat(bb, ForzaPacket.CURRENT_LAP + shift);
+        currentRaceTime = ForzaPacket.readFloat(bb, ForzaPacket.CURRENT_RACE_TIME + shift);
+        lapNumber = ForzaPacket.readShort(bb, ForzaPacket.LAP_NUMBER + shift);
+        racePosition = ForzaPacket.readByte(bb, ForzaPacket.RACE_POSITION + shift) & 0xff;
+        throttle = ForzaPacket.readByte(bb, ForzaPacket.THROTTLE + shift) & 0xff;
+        brake = ForzaPacket.readByte(bb, ForzaPacket.BRAKE + shift) & 0xff;
+        clutch = ForzaPacket.readByte(bb, ForzaPacket.CLUTCH + shift) & 0xff;
+        handbrake = ForzaPacket.readByte(bb, ForzaPacket.HANDBRAKE + shift) & 0xff;
+        gear = ForzaPacket.readByte(bb, ForzaPacket.GEAR + shift) & 0xff;
+        steer = ForzaPacket.readByte(bb, ForzaPacket.STEER + shift);
+        normalizedDrivingLine = ForzaPacket.readByte(bb, ForzaPacket.NORMALIZED_DRIVING_LINE + shift);
+        normalizedAIBrakeDifference = ForzaPacket.readByte(bb, ForzaPacket.NORMALIZED_AI_BRAKE_DIFFERENCE + shift);
+        if (format.hasTireWear()) {
+            tireWearFrontLeft = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_WEAR_FRONT_LEFT);
+            tireWearFrontRight = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_WEAR_FRONT_RIGHT);
+            tireWearRearLeft = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_WEAR_REAR_LEFT);
+            tireWearRearRight = ForzaPacket.readFloat(bb, ForzaPacket.TIRE_WEAR_REAR_RIGHT);
+            trackOrdinal = ForzaPacket.readInt(bb, ForzaPacket.TRACK_ORDINAL);
+        } else {
+            tireWearFrontLeft = tireWearFrontRight = tireWearRearLeft = tireWearRearRight = 0;
+            trackOrdinal = 0;
+        }
+    }
+
+    //Writes the frame back in the Horizon 5 packet layout to buffer[0, 323), the inverse of decode() for FH5
+    //packets. Fields that layout does not have (tire wear, track) are left out. The buffer order is switched
+    //to little endian and its position is left untouched.
+    public ByteBuffer encode(ByteBuffer bb) {
+        bb.order(ByteOrder.LITTLE_ENDIAN);
+        bb.putInt(ForzaPacket.IS_RACE_ON, isRaceOn ? 1 : 0);
+        bb.putInt(ForzaPacket.TIME_STAMP_MS, (int) timeStampMS);
+        bb.putFloat(ForzaPacket.ENGINE_MAX_RPM, engineMaxRpm);
+        bb.putFloat(ForzaPacket.ENGINE_IDLE_RPM, engineIdleRpm);
+        bb.putFloat(ForzaPacket.CURRENT_ENGINE_RPM, currentEngineRpm);
+        bb.putFloat(ForzaPacket.ACCELERATION_X, accelerationX);
+        bb.putFloat(ForzaPacket.ACCELERATION_Y, accelerationY);
+        bb.putFloat(ForzaPacket.ACCELERATION_Z, accelerationZ);
+        bb.putFloat(ForzaPacket.VELOCITY_X, velocityX);
+        bb.putFloat(ForzaPacket.VELOCITY_Y, velocityY);
+        bb.putFloat(ForzaPacket.VELOCITY_Z, velocityZ);
+        bb.putFloat(ForzaPacket.ANGULAR_VELOCITY_X, angularVelocityX);
+        bb.putFloat(ForzaPacket.ANGULAR_VELOCITY_Y, angularVelocityY);
+        bb.putFloat(ForzaPacket.ANGULAR_VELOCITY_Z, angularVelocityZ);
+        bb.putFloat(ForzaPacket.YAW, yaw);
+        bb.putFloat(ForzaPacket.PITCH, pitch);
+        bb.putFloat(ForzaPacket.ROLL, roll);
+        bb.putFloat(ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_FRONT_LEFT, normalizedSuspensionTravelFrontLeft);
+        bb.putFloat(ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_FRONT_RIGHT, normalizedSuspensionTravelFrontRight);
+        bb.putFloat(ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_REAR_LEFT, normalizedSuspensionTravelRearLeft);
+        bb.putFloat(ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_REAR_RIGHT, normalizedSuspensionTravelRearRight);
+        bb.putFloat(ForzaPacket.TIRE_SLIP_RATIO_FRONT_LEFT, tireSlipRatioFrontLeft);
+        bb.putFloat(ForzaPacket.TIRE_SLIP_RATIO_FRONT_RIGHT, tireSlipRatioFrontRight);
+        bb.putFloat(ForzaPacket.TIRE_SLIP_RATIO_REAR_LEFT, tireSlipRatioRearLeft);
+        bb.putFloat(ForzaPacket.TIRE_SLIP_RATIO_REAR_RIGHT, tireSlipRatioRearRight);
+        bb.putFloat(ForzaPacket.WHEEL_ROTATION_SPEED_FRONT_LEFT, wheelRotationSpeedFrontLeft);
+        bb.putFloat(ForzaPacket.WHEEL_ROTATION_SPEED_FRONT_RIGHT, wheelRotationSpeedFrontRight);
+        bb.putFloat(ForzaPacket.WHEEL_ROTATION_SPEED_REAR_LEFT, wheelRotationSpeedRearLeft);
+        bb.putFloat(ForzaPacket.WHEEL_ROTATION_SPEED_REAR_RIGHT, wheelRotationSpeedRearRight);
+        bb.putInt(ForzaPacket.WHEEL_ON_RUMBLE_STRIP_FRONT_LEFT, wheelOnRumbleStripFrontLeft);
+        bb.putInt(ForzaPacket.WHEEL_ON_RUMBLE_STRIP_FRONT_RIGHT, wheelOnRumbleStripFrontRight);
+        bb.putInt(ForzaPacket.WHEEL_ON_RUMBLE_STRIP_REAR_LEFT, wheelOnRumbleStripRearLeft);
+        bb.putInt(ForzaPacket.WHEEL_ON_RUMBLE_STRIP_REAR_RIGHT, wheelOnRumbleStripRearRight);
+        bb.putFloat(ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_FRONT_LEFT, wheelInPuddleDepthFrontLeft);
+        bb.putFloat(ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_FRONT_RIGHT, wheelInPuddleDepthFrontRight);
+        bb.putFloat(ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_REAR_LEFT, wheelInPuddleDepthRearLeft);
+        bb.putFloat(ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_REAR_RIGHT, wheelInPuddleDepthRearRight);
+        bb.putFloat(ForzaPacket.SURFACE_RUMBLE_FRONT_LEFT, surfaceRumbleFrontLeft);
+        bb.putFloat(ForzaPacket.SURFACE_RUMBLE_FRONT_RIGHT, surfaceRumbleFrontRight);
+        bb.putFloat(ForzaPacket.SURFACE_RUMBLE_REAR_LEFT, surfaceRumbleRearLeft);
+        bb.putFloat(ForzaPacket.SURFACE_RUMBLE_REAR_RIGHT, surfaceRumbleRearRight);
+        bb.putFloat(ForzaPacket.TIRE_SLIP_ANGLE_FRONT_LEFT, tireSlipAngleFrontLeft);
+        bb.putFloat(ForzaPacket.TIRE_SLIP_ANGLE_FRONT_RIGHT, tireSlipAngleFrontRight);
+        bb.putFloat(ForzaPacket.TIRE_SLIP_ANGLE_REAR_LEFT, tireSlipAngleRearLeft);
+        bb.putFloat(ForzaPacket.TIRE_SLIP_ANGLE_REAR_RIGHT, tireSlipAngleRearRight);
+        bb.putFloat(ForzaPacket.TIRE_COMBINED_SLIP_FRONT_LEFT, tireCombinedSlipFrontLeft);
+        bb.putFloat(ForzaPacket.TIRE_COMBINED_SLIP_FRONT_RIGHT, tireCombinedSlipFrontRight);
+        bb.putFloat(ForzaPacket.TIRE_COMBINED_SLIP_REAR_LEFT, tireCombinedSlipRearLeft);
+        bb.putFloat(ForzaPacket.TIRE_COMBINED_SLIP_REAR_RIGHT, tireCombinedSlipRearRight);
+        bb.putFloat(ForzaPacket.SUSPENSION_TRAVEL_METERS_FRONT_LEFT, suspensionTravelMetersFrontLeft);
+        bb.putFloat(ForzaPacket.SUSPENSION_TRAVEL_METERS_FRONT_RIGHT, suspensionTravelMetersFrontRight);
+        bb.putFloat(ForzaPacket.SUSPENSION_TRAVEL_METERS_REAR_LEFT, suspensionTravelMetersRearLeft);
+        bb.putFloat(ForzaPacket.SUSPENSION_TRAVEL_METERS_REAR_RIGHT, suspensionTravelMetersRearRight);
+        bb.putInt(ForzaPacket.ORDINAL, ordinal);
+        bb.putInt(ForzaPacket.CAR_CLASS, carClass);
+        bb.putInt(ForzaPacket.CAR_PERFORMANCE_INDEX, carPerformanceIndex);
+        bb.putInt(ForzaPacket.DRIVETRAIN_TYPE, drivetrainType);
+        bb.putInt(ForzaPacket.NUM_OF_CYLINDERS, numOfCylinders);
+        bb.putInt(ForzaPacket.CAR_TYPE, carType);
+        bb.putLong(ForzaPacket.OBJECT_HIT, objectHit);
+        bb.putFloat(ForzaPacket.POSITION_X, positionX);
+        bb.putFloat(ForzaPacket.POSITION_Y, positionY);
+        bb.putFloat(ForzaPacket.POSITION_Z, positionZ);
+        bb.putFloat(ForzaPacket.SPEED, speed);
+        bb.putFloat(ForzaPacket.POWER, power);
+        bb.putFloat(ForzaPacket.TORQUE, torque);
+        bb.putFloat(ForzaPacket.TIRE_TEMP_FRONT_LEFT, tireTempFrontLeft);
+        bb.putFloat(ForzaPacket.TIRE_TEMP_FRONT_RIGHT, tireTempFrontRight);
+        bb.putFloat(ForzaPacket.TIRE_TEMP_REAR_LEFT, tireTempRearLeft);
+        bb.putFloat(ForzaPacket.TIRE_TEMP_REAR_RIGHT, tireTempRearRight);
+        bb.putFloat(ForzaPacket.BOOST, boost);
+        bb.putFloat(ForzaPacket.FUEL, fuel);
+        bb.putFloat(ForzaPacket.DISTANCE_TRAVELED, distanceTraveled);
+        bb.putFloat(ForzaPacket.BEST_LAP, bestLap);
+        bb.putFloat(ForzaPacket.LAST_LAP, lastLap);
+        bb.putFloat(ForzaPacket.CURRENT_LAP, currentLap);
+        bb.putFloat(ForzaPacket.CURRENT_RACE_TIME, currentRaceTime);
+        bb.putShort(ForzaPacket.LAP_NUMBER, (short) lapNumber);
+        bb.put(ForzaPacket.RACE_POSITION, (byte) racePosition);
+        bb.put(ForzaPacket.THROTTLE, (byte) throttle);
+        bb.put(ForzaPacket.BRAKE, (byte) brake);
+        bb.put(ForzaPacket.CLUTCH, (byte) clutch);
+        bb.put(ForzaPacket.HANDBRAKE, (byte) handbrake);
+        bb.put(ForzaPacket.GEAR, (byte) gear);
+        bb.put(ForzaPacket.STEER, (byte) steer);
+        bb.put(ForzaPacket.NORMALIZED_DRIVING_LINE, (byte) normalizedDrivingLine);
+        bb.put(ForzaPacket.NORMALIZED_AI_BRAKE_DIFFERENCE, (byte) normalizedAIBrakeDifference);
+        return bb;
+    }
+
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[ForzaTelemetryApi.PACKET_SIZE];
+        encode(ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    public boolean getIsRaceOn() {
+        return isRaceOn;
+    }
+
+    public long getTimeStampMS() {
+        return timeStampMS;
+    }
+
+    public float getEngineMaxRpm() {
+        return engineMaxRpm;
+    }
+
+    public float getEngineIdleRpm() {
+        return engineIdleRpm;
+    }
+
+    public float getCurrentEngineRpm() {
+        return currentEngineRpm;
+    }
+
+    public float getAccelerationX() {
+        return accelerationX;
+    }
+
+    public float getAccelerationY() {
+        return accelerationY;
+    }
+
+    public float getAccelerationZ() {
+        return accelerationZ;
+    }
+
+    public float getVelocityX() {
+        return velocityX;
+    }
+
+    public float getVelocityY() {
+        return velocityY;
+    }
+
+    public float getVelocityZ() {
+        return velocityZ;
+    }
+
+    public float getAngularVelocityX() {
+        return angularVelocityX;
+    }
+
+    public float getAngularVelocityY() {
+        return angularVelocityY;
+    }
+
+    public float getAngularVelocityZ() {
+        return angularVelocityZ;
+    }
+
+    public float getYaw() {
+        return yaw;
+    }
+
+    public float getPitch() {
+        return pitch;
+    }
+
+    public float getRoll() {
+        return roll;
+    }
+
+    public float getNormalizedSuspensionTravelFrontLeft() {
+        return normalizedSuspensionTravelFrontLeft;
+    }
+
+    public float getNormalizedSuspensionTravelFrontRight() {
+        return normalizedSuspensionTravelFrontRight;
+    }
+
+    public float getNormalizedSuspensionTravelRearLeft() {
+        return normalizedSuspensionTravelRearLeft;
+    }
+
+    public float getNormalizedSuspensionTravelRearRight() {
+        return normalizedSuspensionTravelRearRight;
+    }
+
+    public float getTireSlipRatioFrontLeft() {
+        return tireSlipRatioFrontLeft;
+    }
+
+    public float getTireSlipRatioFrontRight() {
+        return tireSlipRatioFrontRight;
+    }
+
+    public float getTireSlipRatioRearLeft() {
+        return tireSlipRatioRearLeft;
+    }
+
+    public float getTireSlipRatioRearRight() {
+        return tireSlipRatioRearRight;
+    }
+
+    public float getWheelRotationSpeedFrontLeft() {
+        return wheelRotationSpeedFrontLeft;
+    }
+
+    public float getWheelRotationSpeedFrontRight() {
+        return wheelRotationSpeedFrontRight;
+    }
+
+    public float getWheelRotationSpeedRearLeft() {
+        return wheelRotationSpeedRearLeft;
+    }
+
+    public float getWheelRotationSpeedRearRight() {
+        return wheelRotationSpeedRearRight;
+    }
+
+    public int getWheelOnRumbleStripFrontLeft() {
+        return wheelOnRumbleStripFrontLeft;
+    }
+
+    public int getWheelOnRumbleStripFrontRight() {
+        return wheelOnRumbleStripFrontRight;
+    }
+
+    public int getWheelOnRumbleStripRearLeft() {
+        return wheelOnRumbleStripRearLeft;
+    }
+
+    public int getWheelOnRumbleStripRearRight() {
+        return wheelOnRumbleStripRearRight;
+    }
+
+    public float getWheelInPuddleDepthFrontLeft() {
+        return wheelInPuddleDepthFrontLeft;
+    }
+
+    public float getWheelInPuddleDepthFrontRight() {
+        return wheelInPuddleDepthFrontRight;
+    }
+
+    public float getWheelInPuddleDepthRearLeft() {
+        return wheelInPuddleDepthRearLeft;
+    }
+
+    public float getWheelInPuddleDepthRearRight() {
+        return wheelInPuddleDepthRearRight;
+    }
+
+    public float getSurfaceRumbleFrontLeft() {
+        return surfaceRumbleFrontLeft;
+    }
+
+    public float getSurfaceRumbleFrontRight() {
+        return surfaceRumbleFrontRight;
+    }
+
+    public float getSurfaceRumbleRearLeft() {
+        return surfaceRumbleRearLeft;
+    }
+
+    public float getSurfaceRumbleRearRight() {
+        return surfaceRumbleRearRight;
+    }
+
+    public float getTireSlipAngleFrontLeft() {
+        return tireSlipAngleFrontLeft;
+    }
+
+    public float getTireSlipAngleFrontRight() {
+        return tireSlipAngleFrontRight;
+    }
+
+    public float getTireSlipAngleRearLeft() {
+        return tireSlipAngleRearLeft;
+    }
+
+    public float getTireSlipAngleRearRight() {
+        return tireSlipAngleRearRight;
+    }
+
+    public float getTireCombinedSlipFrontLeft() {
+        return tireCombinedSlipFrontLeft;
+    }
+
+    public float getTireCombinedSlipFrontRight() {
+        return tireCombinedSlipFrontRight;
+    }
+
+    public float getTireCombinedSlipRearLeft() {
+        return tireCombinedSlipRearLeft;
+    }
+
+    public float getTireCombinedSlipRearRight() {
+        return tireCombinedSlipRearRight;
+    }
+
+    public float getSuspensionTravelMetersFrontLeft() {
+        return suspensionTravelMetersFrontLeft;
+    }
+
+    public float getSuspensionTravelMetersFrontRight() {
+        return suspensionTravelMetersFrontRight;
+    }
+
+    public float getSuspensionTravelMetersRearLeft() {
+        return suspensionTravelMetersRearLeft;
+    }
+
+    public float getSuspensionTravelMetersRearRight() {
+        return suspensionTravelMetersRearRight;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public int getCarClass() {
+        return carClass;
+    }
+
+    public int getCarPerformanceIndex() {
+        return carPerformanceIndex;
+    }
+
+    public int getDrivetrainType() {
+        return drivetrainType;
+    }
+
+    public int getNumOfCylinders() {
+        return numOfCylinders;
+    }
+
+    public int getCarType() {
+        return carType;
+    }
+
+    public long getObjectHit() {
+        return objectHit;
+    }
+
+    public float getPositionX() {
+        return positionX;
+    }
+
+    public float getPositionY() {
+        return positionY;
+    }
+
+    public float getPositionZ() {
+        return positionZ;
+    }
+
+    public float getSpeed() {
+        return speed;
+    }
+
+    public float getPower() {
+        return power;
+    }
+
+    public float getTorque() {
+        return torque;
+    }
+
+    public float getTireTempFrontLeft() {
+        return tireTempFrontLeft;
+    }
+
+    public float getTireTempFrontRight() {
+        return tireTempFrontRight;
+    }
+
+    public float getTireTempRearLeft() {
+        return tireTempRearLeft;
+    }
+
+    public float getTireTempRearRight() {
+        return tireTempRearRight;
+    }
+
+    public float getBoost() {
+        return boost;
+    }
+
+    public float getFuel() {
+        return fuel;
+    }
+
+    public float getDistanceTraveled() {
+        return distanceTraveled;
+    }
+
+    public float getBestLap() {
+        return bestLap;
+    }
+
+    public float getLastLap() {
+        return lastLap;
+    }
+
+    public float getCurrentLap() {
+        return currentLap;
+    }
+
+    public float getCurrentRaceTime() {
+        return currentRaceTime;
+    }
+
+    public int getLapNumber() {
+        return lapNumber;
+    }
+
+    public int getRacePosition() {
+        return racePosition;
+    }
+
+    public int getThrottle() {
+        return throttle;
+    }
+
+    public int getBrake() {
+        return brake;
+    }
+
+    public int getClutch() {
+        return clutch;
+    }
+
+    public int getHandbrake() {
+        return handbrake;
+    }
+
+    public int getGear() {
+        return gear;
+    }
+
+    public int getSteer() {
+        return steer;
+    }
+
+    public int getNormalizedDrivingLine() {
+        return normalizedDrivingLine;
+    }
+
+    public int getNormalizedAIBrakeDifference() {
+        return normalizedAIBrakeDifference;
+    }
+
+    //Layout the frame was decoded from
+    public ForzaPacketFormat getFormat() {
+        return format;
+    }
+
+    //0 (new) to 1 (worn out), Forza Motorsport (2023) only
+    public float getTireWearFrontLeft() {
+        return tireWearFrontLeft;
+    }
+
+    public float getTireWearFrontRight() {
+        return tireWearFrontRight;
+    }
+
+    public float getTireWearRearLeft() {
+        return tireWearRearLeft;
+    }
+
+    public float getTireWearRearRight() {
+        return tireWearRearRight;
+    }
+
+    //Forza Motorsport (2023) only
+    public int getTrackOrdinal() {
+        return trackOrdinal;
+    }
+}
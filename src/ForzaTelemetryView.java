@@ -0,0 +1,496 @@
+package root.forza.telemetry;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+//Lazy view over a received packet. Nothing is decoded up front, each getter reads its field from the
+//fixed offset when it is called, so a consumer reading 5 fields pays for 5 fields.
+//The length is validated once in wrap(), which also picks the ForzaPacketFormat; complete packets then
+//skip the per field bounds checks.
+//Like the listener frame, a view is re-bound for every packet and is only valid until the callback returns.
+public class ForzaTelemetryView {
+    private final ForzaTelemetryFrame frame = new ForzaTelemetryFrame();
+    private ByteBuffer bb;
+    private boolean complete;
+    private boolean unchecked;
+    private ForzaPacketFormat format = ForzaPacketFormat.FH5_DASH;
+    private int boundLength = -1;
+    private int dashShift;
+    private boolean frameDecoded;
+
+    public ForzaTelemetryView() {}
+
+    public ForzaTelemetryView(byte[] bytes) {
+        wrap(bytes, bytes.length);
+    }
+
+    public ForzaTelemetryView(ByteBuffer buffer) {
+        wrap(buffer);
+    }
+
+    public ForzaTelemetryView wrap(byte[] bytes, int length) {
+        if (bb == null || !bb.hasArray() || bb.array() != bytes) {
+            bb = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        bb.clear().limit(length);
+        return bind();
+    }
+
+    //The packet is expected in buffer[0, limit)
+    public ForzaTelemetryView wrap(ByteBuffer buffer) {
+        bb = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return bind();
+    }
+
+    //The format is only looked up again when the length changes, so a stream from one game keeps its
+    //offsets bound from the first packet on
+    private ForzaTelemetryView bind() {
+        int length = bb.limit();
+        if (length != boundLength) {
+            format = ForzaPacketFormat.detect(length);
+            dashShift = format.getDashShift();
+            boundLength = length;
+        }
+        complete = length >= format.getLength();
+        //Sled packets read their (missing) dash fields past the end, those reads need the bounds check
+        unchecked = complete && format.hasDash();
+        frameDecoded = false;
+        return this;
+    }
+
+    //False when fewer bytes were received than the detected format has, missing fields then read as 0
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public ForzaPacketFormat getFormat() {
+        return format;
+    }
+
+    public int getLength() {
+        return bb.limit();
+    }
+
+    //Copy of the raw packet bytes, for callers that need to keep them past the callback
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[bb.limit()];
+        bb.get(0, bytes);
+        return bytes;
+    }
+
+    //Full eager decode of the current packet into a frame owned by this view, done at most once per packet
+    public ForzaTelemetryFrame frame() {
+        if (!frameDecoded) {
+            frame.decode(bb);
+            frameDecoded = true;
+        }
+        return frame;
+    }
+
+    ByteBuffer buffer() {
+        return bb;
+    }
+
+    //Full decode of the current packet into a caller owned frame, bypassing the view's own frame
+    public ForzaTelemetryFrame decodeInto(ForzaTelemetryFrame target) {
+        return target.decode(bb);
+    }
+
+    private float readFloat(int offset) {
+        return unchecked ? bb.getFloat(offset) : ForzaPacket.readFloat(bb, offset);
+    }
+
+    private int readInt(int offset) {
+        return unchecked ? bb.getInt(offset) : ForzaPacket.readInt(bb, offset);
+    }
+
+    private long readLong(int offset) {
+        return unchecked ? bb.getLong(offset) : ForzaPacket.readLong(bb, offset);
+    }
+
+    private short readShort(int offset) {
+        return unchecked ? bb.getShort(offset) : ForzaPacket.readShort(bb, offset);
+    }
+
+    private byte readByte(int offset) {
+        return unchecked ? bb.get(offset) : ForzaPacket.readByte(bb, offset);
+    }
+
+    public boolean getIsRaceOn() {
+        return readInt(ForzaPacket.IS_RACE_ON) == 1;
+    }
+
+    public long getTimeStampMS() {
+        return Integer.toUnsignedLong(readInt(ForzaPacket.TIME_STAMP_MS));
+    }
+
+    public float getEngineMaxRpm() {
+        return readFloat(ForzaPacket.ENGINE_MAX_RPM);
+    }
+
+    public float getEngineIdleRpm() {
+        return readFloat(ForzaPacket.ENGINE_IDLE_RPM);
+    }
+
+    public float getCurrentEngineRpm() {
+        return readFloat(ForzaPacket.CURRENT_ENGINE_RPM);
+    }
+
+    public float getAccelerationX() {
+        return readFloat(ForzaPacket.ACCELERATION_X);
+    }
+
+    public float getAccelerationY() {
+        return readFloat(ForzaPacket.ACCELERATION_Y);
+    }
+
+    public float getAccelerationZ() {
+        return readFloat(ForzaPacket.ACCELERATION_Z);
+    }
+
+    public float getVelocityX() {
+        return readFloat(ForzaPacket.VELOCITY_X);
+    }
+
+    public float getVelocityY() {
+        return readFloat(ForzaPacket.VELOCITY_Y);
+    }
+
+    public float getVelocityZ() {
+        return readFloat(ForzaPacket.VELOCITY_Z);
+    }
+
+    public float getAngularVelocityX() {
+        return readFloat(ForzaPacket.ANGULAR_VELOCITY_X);
+    }
+
+    public float getAngularVelocityY() {
+        return readFloat(ForzaPacket.ANGULAR_VELOCITY_Y);
+    }
+
+    public float getAngularVelocityZ() {
+        return readFloat(ForzaPacket.ANGULAR_VELOCITY_Z);
+    }
+
+    public float getYaw() {
+        return readFloat(ForzaPacket.YAW);
+    }
+
+    public float getPitch() {
+        return readFloat(ForzaPacket.PITCH);
+    }
+
+    public float getRoll() {
+        return readFloat(ForzaPacket.ROLL);
+    }
+
+    public float getNormalizedSuspensionTravelFrontLeft() {
+        return readFloat(ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_FRONT_LEFT);
+    }
+
+    public float getNormalizedSuspensionTravelFrontRight() {
+        return readFloat(ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_FRONT_RIGHT);
+    }
+
+    public float getNormalizedSuspensionTravelRearLeft() {
+        return readFloat(ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_REAR_LEFT);
+    }
+
+    public float getNormalizedSuspensionTravelRearRight() {
+        return readFloat(ForzaPacket.NORMALIZED_SUSPENSION_TRAVEL_REAR_RIGHT);
+    }
+
+    public float getTireSlipRatioFrontLeft() {
+        return readFloat(ForzaPacket.TIRE_SLIP_RATIO_FRONT_LEFT);
+    }
+
+    public float getTireSlipRatioFrontRight() {
+        return readFloat(ForzaPacket.TIRE_SLIP_RATIO_FRONT_RIGHT);
+    }
+
+    public float getTireSlipRatioRearLeft() {
+        return readFloat(ForzaPacket.TIRE_SLIP_RATIO_REAR_LEFT);
+    }
+
+    public float getTireSlipRatioRearRight() {
+        return readFloat(ForzaPacket.TIRE_SLIP_RATIO_REAR_RIGHT);
+    }
+
+    public float getWheelRotationSpeedFrontLeft() {
+        return readFloat(ForzaPacket.WHEEL_ROTATION_SPEED_FRONT_LEFT);
+    }
+
+    public float getWheelRotationSpeedFrontRight() {
+        return readFloat(ForzaPacket.WHEEL_ROTATION_SPEED_FRONT_RIGHT);
+    }
+
+    public float getWheelRotationSpeedRearLeft() {
+        return readFloat(ForzaPacket.WHEEL_ROTATION_SPEED_REAR_LEFT);
+    }
+
+    public float getWheelRotationSpeedRearRight() {
+        return readFloat(ForzaPacket.WHEEL_ROTATION_SPEED_REAR_RIGHT);
+    }
+
+    public int getWheelOnRumbleStripFrontLeft() {
+        return readInt(ForzaPacket.WHEEL_ON_RUMBLE_STRIP_FRONT_LEFT);
+    }
+
+    public int getWheelOnRumbleStripFrontRight() {
+        return readInt(ForzaPacket.WHEEL_ON_RUMBLE_STRIP_FRONT_RIGHT);
+    }
+
+    public int getWheelOnRumbleStripRearLeft() {
+        return readInt(ForzaPacket.WHEEL_ON_RUMBLE_STRIP_REAR_LEFT);
+    }
+
+    public int getWheelOnRumbleStripRearRight() {
+        return readInt(ForzaPacket.WHEEL_ON_RUMBLE_STRIP_REAR_RIGHT);
+    }
+
+    public float getWheelInPuddleDepthFrontLeft() {
+        return readFloat(ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_FRONT_LEFT);
+    }
+
+    public float getWheelInPuddleDepthFrontRight() {
+        return readFloat(ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_FRONT_RIGHT);
+    }
+
+    public float getWheelInPuddleDepthRearLeft() {
+        return readFloat(ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_REAR_LEFT);
+    }
+
+    public float getWheelInPuddleDepthRearRight() {
+        return readFloat(ForzaPacket.WHEEL_IN_PUDDLE_DEPTH_REAR_RIGHT);
+    }
+
+    public float getSurfaceRumbleFrontLeft() {
+        return readFloat(ForzaPacket.SURFACE_RUMBLE_FRONT_LEFT);
+    }
+
+    public float getSurfaceRumbleFrontRight() {
+        return readFloat(ForzaPacket.SURFACE_RUMBLE_FRONT_RIGHT);
+    }
+
+    public float getSurfaceRumbleRearLeft() {
+        return readFloat(ForzaPacket.SURFACE_RUMBLE_REAR_LEFT);
+    }
+
+    public float getSurfaceRumbleRearRight() {
+        return readFloat(ForzaPacket.SURFACE_RUMBLE_REAR_RIGHT);
+    }
+
+    public float getTireSlipAngleFrontLeft() {
+        return readFloat(ForzaPacket.TIRE_SLIP_ANGLE_FRONT_LEFT);
+    }
+
+    public float getTireSlipAngleFrontRight() {
+        return readFloat(ForzaPacket.TIRE_SLIP_ANGLE_FRONT_RIGHT);
+    }
+
+    public float getTireSlipAngleRearLeft() {
+        return readFloat(ForzaPacket.TIRE_SLIP_ANGLE_REAR_LEFT);
+    }
+
+    public float getTireSlipAngleRearRight() {
+        return readFloat(ForzaPacket.TIRE_SLIP_ANGLE_REAR_RIGHT);
+    }
+
+    public float getTireCombinedSlipFrontLeft() {
+        return readFloat(ForzaPacket.TIRE_COMBINED_SLIP_FRONT_LEFT);
+    }
+
+    public float getTireCombinedSlipFrontRight() {
+        return readFloat(ForzaPacket.TIRE_COMBINED_SLIP_FRONT_RIGHT);
+    }
+
+    public float getTireCombinedSlipRearLeft() {
+        return readFloat(ForzaPacket.TIRE_COMBINED_SLIP_REAR_LEFT);
+    }
+
+    public float getTireCombinedSlipRearRight() {
+        return readFloat(ForzaPacket.TIRE_COMBINED_SLIP_REAR_RIGHT);
+    }
+
+    public float getSuspensionTravelMetersFrontLeft() {
+        return readFloat(ForzaPacket.SUSPENSION_TRAVEL_METERS_FRONT_LEFT);
+    }
+
+    public float getSuspensionTravelMetersFrontRight() {
+        return readFloat(ForzaPacket.SUSPENSION_TRAVEL_METERS_FRONT_RIGHT);
+    }
+
+    public float getSuspensionTravelMetersRearLeft() {
+        return readFloat(ForzaPacket.SUSPENSION_TRAVEL_METERS_REAR_LEFT);
+    }
+
+    public float getSuspensionTravelMetersRearRight() {
+        return readFloat(ForzaPacket.SUSPENSION_TRAVEL_METERS_REAR_RIGHT);
+    }
+
+    public int getOrdinal() {
+        return readInt(ForzaPacket.ORDINAL);
+    }
+
+    public int getCarClass() {
+        return readInt(ForzaPacket.CAR_CLASS);
+    }
+
+    public int getCarPerformanceIndex() {
+        return readInt(ForzaPacket.CAR_PERFORMANCE_INDEX);
+    }
+
+    public int getDrivetrainType() {
+        return readInt(ForzaPacket.DRIVETRAIN_TYPE);
+    }
+
+    public int getNumOfCylinders() {
+        return readInt(ForzaPacket.NUM_OF_CYLINDERS);
+    }
+
+    public int getCarType() {
+        return format.hasCarType() ? readInt(ForzaPacket.CAR_TYPE) : 0;
+    }
+
+    public long getObjectHit() {
+        return format.hasCarType() ? readLong(ForzaPacket.OBJECT_HIT) : 0;
+    }
+
+    public float getPositionX() {
+        return readFloat(ForzaPacket.POSITION_X + dashShift);
+    }
+
+    public float getPositionY() {
+        return readFloat(ForzaPacket.POSITION_Y + dashShift);
+    }
+
+    public float getPositionZ() {
+        return readFloat(ForzaPacket.POSITION_Z + dashShift);
+    }
+
+    public float getSpeed() {
+        return readFloat(ForzaPacket.SPEED + dashShift);
+    }
+
+    public float getSpeedKph() {
+        return getSpeed() * 3.6f;
+    }
+
+    public float getSpeedMph() {
+        return getSpeed() * 2.23694f;
+    }
+
+    public float getPower() {
+        return readFloat(ForzaPacket.POWER + dashShift);
+    }
+
+    public float getTorque() {
+        return readFloat(ForzaPacket.TORQUE + dashShift);
+    }
+
+    public float getTireTempFrontLeft() {
+        return readFloat(ForzaPacket.TIRE_TEMP_FRONT_LEFT + dashShift);
+    }
+
+    public float getTireTempFrontRight() {
+        return readFloat(ForzaPacket.TIRE_TEMP_FRONT_RIGHT + dashShift);
+    }
+
+    public float getTireTempRearLeft() {
+        return readFloat(ForzaPacket.TIRE_TEMP_REAR_LEFT + dashShift);
+    }
+
+    public float getTireTempRearRight() {
+        return readFloat(ForzaPacket.TIRE_TEMP_REAR_RIGHT + dashShift);
+    }
+
+    public float getBoost() {
+        return readFloat(ForzaPacket.BOOST + dashShift);
+    }
+
+    public float getFuel() {
+        return readFloat(ForzaPacket.FUEL + dashShift);
+    }
+
+    public float getDistanceTraveled() {
+        return readFloat(ForzaPacket.DISTANCE_TRAVELED + dashShift);
+    }
+
+    public float getBestLap() {
+        return readFloat(ForzaPacket.BEST_LAP + dashShift);
+    }
+
+    public float getLastLap() {
+        return readFloat(ForzaPacket.LAST_LAP + dashShift);
+    }
+
+    public float getCurrentLap() {
+        return readFloat(ForzaPacket.CURRENT_LAP + dashShift);
+    }
+
+    public float getCurrentRaceTime() {
+        return readFloat(ForzaPacket.CURRENT_RACE_TIME + dashShift);
+    }
+
+    public int getLapNumber() {
+        return readShort(ForzaPacket.LAP_NUMBER + dashShift);
+    }
+
+    public int getRacePosition() {
+        return readByte(ForzaPacket.RACE_POSITION + dashShift) & 0xff;
+    }
+
+    public int getThrottle() {
+        return readByte(ForzaPacket.THROTTLE + dashShift) & 0xff;
+    }
+
+    public int getBrake() {
+        return readByte(ForzaPacket.BRAKE + dashShift) & 0xff;
+    }
+
+    public int getClutch() {
+        return readByte(ForzaPacket.CLUTCH + dashShift) & 0xff;
+    }
+
+    public int getHandbrake() {
+        return readByte(ForzaPacket.HANDBRAKE + dashShift) & 0xff;
+    }
+
+    public int getGear() {
+        return readByte(ForzaPacket.GEAR + dashShift) & 0xff;
+    }
+
+    public int getSteer() {
+        return readByte(ForzaPacket.STEER + dashShift);
+    }
+
+    public int getNormalizedDrivingLine() {
+        return readByte(ForzaPacket.NORMALIZED_DRIVING_LINE + dashShift);
+    }
+
+    public int getNormalizedAIBrakeDifference() {
+        return readByte(ForzaPacket.NORMALIZED_AI_BRAKE_DIFFERENCE + dashShift);
+    }
+
+    //0 (new) to 1 (worn out), Forza Motorsport (2023) only
+    public float getTireWearFrontLeft() {
+        return format.hasTireWear() ? readFloat(ForzaPacket.TIRE_WEAR_FRONT_LEFT) : 0;
+    }
+
+    public float getTireWearFrontRight() {
+        return format.hasTireWear() ? readFloat(ForzaPacket.TIRE_WEAR_FRONT_RIGHT) : 0;
+    }
+
+    public float getTireWearRearLeft() {
+        return format.hasTireWear() ? readFloat(ForzaPacket.TIRE_WEAR_REAR_LEFT) : 0;
+    }
+
+    public float getTireWearRearRight() {
+        return format.hasTireWear() ? readFloat(ForzaPacket.TIRE_WEAR_REAR_RIGHT) : 0;
+    }
+
+    //Forza Motorsport (2023) only
+    public int getTrackOrdinal() {
+        return format.hasTireWear() ? readInt(ForzaPacket.TRACK_ORDINAL) : 0;
+    }
+}
@@ -0,0 +1,49 @@
+package root.forza.telemetry;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+//Thread factory for receive sessions. The API targets Java 17, so virtual threads (Java 21+) are looked up
+//at runtime and sessions fall back to platform daemon threads on older runtimes.
+final class ForzaThreads {
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle UNSTARTED;
+
+    static {
+        MethodHandle ofVirtual = null, name = null, unstarted = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(Class.forName("java.lang.Thread$Builder$OfVirtual")));
+            name = lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class));
+            unstarted = lookup.findVirtual(builder, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+        } catch (ReflectiveOperationException ignored) {
+            //Pre Java 21 runtime
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        UNSTARTED = unstarted;
+    }
+
+    private ForzaThreads() {}
+
+    static boolean isVirtualSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    static Thread newThread(Runnable runnable, String name, boolean virtual) {
+        if (virtual && OF_VIRTUAL != null) {
+            try {
+                Object builder = NAME.invoke(OF_VIRTUAL.invoke(), name);
+                return (Thread) UNSTARTED.invoke(builder, runnable);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not create virtual thread", e);
+            }
+        }
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(virtual);
+        return thread;
+    }
+}
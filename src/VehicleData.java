@@ -1,32 +1,104 @@
 package root.forza.telemetry;
 
-public record VehicleData(ForzaTelemetryApi forzaApi) {
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Static values of a car, copied out of the packet so it no longer keeps a whole ForzaTelemetryApi alive.
+//Snapshots are cached per ordinal (least recently used first out), so switching back to a car seen
+//before hands out the same instance. A car that was upgraded since (new class or PI) gets a new one.
+public record VehicleData(int ordinal, int carClassCode, int performanceIndex, int drivetrainCode,
+                          int numOfCylinders, int carTypeCode, float engineMaxRpm, float engineIdleRpm) {
+    private static final int CACHE_SIZE = 64;
+    private static final Map<Integer, VehicleData> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, VehicleData> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    public VehicleData(ForzaTelemetryApi forzaApi) {
+        this(forzaApi.getFrame());
+    }
+
+    public VehicleData(ForzaTelemetryFrame frame) {
+        this(frame.getOrdinal(), frame.getCarClass(), frame.getCarPerformanceIndex(), frame.getDrivetrainType(),
+                frame.getNumOfCylinders(), frame.getCarType(), frame.getEngineMaxRpm(), frame.getEngineIdleRpm());
+    }
+
+    //Cached snapshot of the car in the packet, read straight from the view without a full decode
+    public static VehicleData of(ForzaTelemetryView view) {
+        synchronized (CACHE) {
+            VehicleData data = CACHE.get(view.getOrdinal());
+            if (data != null && data.carClassCode == view.getCarClass() && data.performanceIndex == view.getCarPerformanceIndex()
+                    && data.drivetrainCode == view.getDrivetrainType() && data.numOfCylinders == view.getNumOfCylinders()
+                    && data.carTypeCode == view.getCarType() && data.engineMaxRpm == view.getEngineMaxRpm()
+                    && data.engineIdleRpm == view.getEngineIdleRpm()) {
+                return data;
+            }
+            data = new VehicleData(view.getOrdinal(), view.getCarClass(), view.getCarPerformanceIndex(), view.getDrivetrainType(),
+                    view.getNumOfCylinders(), view.getCarType(), view.getEngineMaxRpm(), view.getEngineIdleRpm());
+            CACHE.put(data.ordinal, data);
+            return data;
+        }
+    }
 
     public String getCarName() {
-        return forzaApi.getCarName();
+        return ForzaCarDatabase.getDefault().getCarName(ordinal);
     }
 
     public String getCarClass() {
-        return forzaApi.getCarClass();
+        return CarClass.fromCode(carClassCode).getDisplayName();
+    }
+
+    public CarClass getCarClassEnum() {
+        return CarClass.fromCode(carClassCode);
+    }
+
+    public int getCarClassCode() {
+        return carClassCode;
     }
 
     public Integer getPerformanceIndex() {
-        return forzaApi.getPerformanceIndex();
+        return performanceIndex;
     }
 
     public String getDrivetrain() {
-        return forzaApi.getDrivetrain();
+        return Drivetrain.fromCode(drivetrainCode).getDisplayName();
+    }
+
+    public Drivetrain getDrivetrainEnum() {
+        return Drivetrain.fromCode(drivetrainCode);
+    }
+
+    public int getDrivetrainCode() {
+        return drivetrainCode;
     }
 
     public Integer getNumOfCylinders() {
-        return forzaApi.getNumOfCylinders();
+        return numOfCylinders;
     }
 
     public String getCarType() {
-        return forzaApi.getCarType();
+        return CarCategory.getDisplayName(carTypeCode);
+    }
+
+    public CarCategory getCarCategory() {
+        return CarCategory.fromCode(carTypeCode);
+    }
+
+    public int getCarTypeCode() {
+        return carTypeCode;
     }
 
     public Integer getOrdinal() {
-        return forzaApi.getOrdinal();
+        return ordinal;
+    }
+
+    public Integer getEngineMaxRpm() {
+        return Math.round(engineMaxRpm);
+    }
+
+    public Integer getEngineIdleRpm() {
+        return Math.round(engineIdleRpm);
     }
 }